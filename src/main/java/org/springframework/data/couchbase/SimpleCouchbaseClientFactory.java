@@ -15,6 +15,8 @@
  */
 package org.springframework.data.couchbase;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import org.springframework.dao.support.PersistenceExceptionTranslator;
@@ -42,6 +44,12 @@ public class SimpleCouchbaseClientFactory implements CouchbaseClientFactory {
 	private final Bucket bucket;
 	private final Scope scope;
 	private final PersistenceExceptionTranslator exceptionTranslator;
+	/**
+	 * The factories of the scopes of the bucket, shared by all of them.
+	 */
+	private final Map<String, SimpleCouchbaseClientFactory> scopedFactories;
+	private final Map<String, Collection> collections = new ConcurrentHashMap<>();
+	private volatile Collection defaultCollection;
 
 	public SimpleCouchbaseClientFactory(final String connectionString, final Authenticator authenticator,
 			final String bucketName) {
@@ -72,11 +80,27 @@ public class SimpleCouchbaseClientFactory implements CouchbaseClientFactory {
 		this.bucket = cluster.get().bucket(bucketName);
 		this.scope = scopeName == null ? bucket.defaultScope() : bucket.scope(scopeName);
 		this.exceptionTranslator = new CouchbaseExceptionTranslator();
+		this.scopedFactories = new ConcurrentHashMap<>();
+		this.scopedFactories.put(scope.name(), this);
 	}
 
+	private SimpleCouchbaseClientFactory(final SimpleCouchbaseClientFactory parent, final String scopeName) {
+		this.cluster = parent.cluster;
+		this.bucket = parent.bucket;
+		this.scope = bucket.scope(scopeName);
+		this.exceptionTranslator = parent.exceptionTranslator;
+		this.scopedFactories = parent.scopedFactories;
+	}
+
+	/**
+	 * The factory of each scope is created once and shared, so are the {@link Collection} handles it hands out.
+	 */
 	@Override
 	public CouchbaseClientFactory withScope(final String scopeName) {
-		return new SimpleCouchbaseClientFactory(cluster, bucket.name(), scopeName != null ? scopeName : getScope().name());
+		if (scopeName == null || scopeName.equals(scope.name())) {
+			return this;
+		}
+		return scopedFactories.computeIfAbsent(scopeName, name -> new SimpleCouchbaseClientFactory(this, name));
 	}
 
 	@Override
@@ -101,9 +125,13 @@ public class SimpleCouchbaseClientFactory implements CouchbaseClientFactory {
 			if (!scope.name().equals(CollectionIdentifier.DEFAULT_SCOPE)) {
 				throw new IllegalStateException("A collectionName must be provided if a non-default scope is used!");
 			}
-			return getBucket().defaultCollection();
+			Collection collection = defaultCollection;
+			if (collection == null) {
+				collection = defaultCollection = getBucket().defaultCollection();
+			}
+			return collection;
 		}
-		return scope.collection(collectionName);
+		return collections.computeIfAbsent(collectionName, scope::collection);
 	}
 
 	@Override
@@ -15,41 +15,82 @@
  */
 package org.springframework.data.couchbase.cache;
 
+import reactor.core.publisher.Mono;
+
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.cache.support.SimpleValueWrapper;
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 
 public class CouchbaseCache extends AbstractValueAdaptingCache {
 
+	/**
+	 * Key suffix of the counter document holding the current generation, see
+	 * {@link CouchbaseCacheConfiguration#clearByGeneration(java.time.Duration)}.
+	 */
+	static final String GENERATION_KEY = "__generation";
+
 	private final String name;
 	private final CouchbaseCacheWriter cacheWriter;
+	private final ReactiveCouchbaseCacheWriter reactiveCacheWriter;
 	private final CouchbaseCacheConfiguration cacheConfig;
 	private final ConversionService conversionService;
+	private final CouchbaseNearCache nearCache;
+
+	/**
+	 * Loads currently running through {@link #get(Object, Callable)}, by cache key. Concurrent misses on the same key
+	 * wait for the same load, while misses on different keys load in parallel.
+	 */
+	private final Map<String, Load> inFlightLoads = new ConcurrentHashMap<>();
+
+	private volatile Generation generation;
 
 	protected CouchbaseCache(final String name, final CouchbaseCacheWriter cacheWriter,
 			final CouchbaseCacheConfiguration cacheConfig) {
+		this(name, cacheWriter, null, cacheConfig);
+	}
+
+	/**
+	 * @param reactiveCacheWriter used by {@link #retrieve(Object)} and {@link #retrieve(Object, Supplier)}, can be
+	 *          {@literal null} if asynchronous retrieval is not needed.
+	 */
+	protected CouchbaseCache(final String name, final CouchbaseCacheWriter cacheWriter,
+			@Nullable final ReactiveCouchbaseCacheWriter reactiveCacheWriter, final CouchbaseCacheConfiguration cacheConfig) {
 		super(cacheConfig.getAllowCacheNullValues());
 
 		Assert.notNull(name, "Name must not be null!");
 		Assert.notNull(cacheWriter, "CacheWriter must not be null!");
 		Assert.notNull(cacheConfig, "CacheConfig must not be null!");
+		if (cacheConfig.usesGenerations()) {
+			Assert.isTrue(cacheConfig.usePrefix(), "Clearing by generation requires prefixed cache keys!");
+			Assert.isTrue(!cacheConfig.getExpiry().isZero(), "Clearing by generation requires an entry expiry!");
+		}
 
 		this.name = name;
 		this.cacheWriter = cacheWriter;
+		this.reactiveCacheWriter = reactiveCacheWriter;
 		this.cacheConfig = cacheConfig;
 		this.conversionService = cacheConfig.getConversionService();
+		this.nearCache = cacheConfig.usesNearCache() ? new CouchbaseNearCache(cacheConfig.getNearCacheMaximumSize(),
+				cacheConfig.getNearCacheTimeToLive(), cacheConfig.getNearCacheRevalidator()) : null;
 	}
 
 	private static <T> T valueFromLoader(Object key, Callable<T> valueLoader) {
@@ -72,7 +113,25 @@ public class CouchbaseCache extends AbstractValueAdaptingCache {
 
 	@Override
 	protected Object lookup(final Object key) {
-		return cacheWriter.get(cacheConfig.getCollectionName(), createCacheKey(key), cacheConfig.getValueTranscoder());
+		String cacheKey = createCacheKey(key);
+		if (nearCache == null) {
+			return cacheWriter.get(cacheConfig.getCollectionName(), cacheKey, cacheConfig.getValueTranscoder());
+		}
+
+		Object value = nearCache.get(cacheKey);
+		if (value == null) {
+			// only keep what was read if the key was not written or evicted locally meanwhile
+			Object reservation = nearCache.reserve(cacheKey);
+			try {
+				value = cacheWriter.get(cacheConfig.getCollectionName(), cacheKey, cacheConfig.getValueTranscoder());
+				if (value != null) {
+					nearCache.fill(cacheKey, reservation, value);
+				}
+			} finally {
+				nearCache.release(cacheKey, reservation);
+			}
+		}
+		return value;
 	}
 
 	/**
@@ -82,20 +141,165 @@ public class CouchbaseCache extends AbstractValueAdaptingCache {
 		return cacheConfig;
 	}
 
+	/**
+	 * Returns the in-process tier of this {@link CouchbaseCache}, or {@literal null} if it is not enabled through
+	 * {@link CouchbaseCacheConfiguration#enableNearCache(int, java.time.Duration)}.
+	 */
+	public CouchbaseNearCache getNearCache() {
+		return nearCache;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
-	public synchronized <T> T get(final Object key, final Callable<T> valueLoader) {
+	public <T> T get(final Object key, final Callable<T> valueLoader) {
 		ValueWrapper result = get(key);
 
 		if (result != null) {
 			return (T) result.get();
 		}
 
+		String cacheKey = createCacheKey(key);
+		Load load = new Load(Thread.currentThread());
+		Load inFlight = inFlightLoads.putIfAbsent(cacheKey, load);
+		if (inFlight != null) {
+			if (inFlight.owner == Thread.currentThread()) {
+				// the loader itself asked for the key, load it again like the former synchronized method did
+				return loadValue(key, valueLoader);
+			}
+			return (T) awaitLoad(inFlight);
+		}
+
+		try {
+			// another load may have completed between the miss and the registration of this one
+			result = get(key);
+			T value = result != null ? (T) result.get() : loadValue(key, valueLoader);
+			load.complete(value);
+			return value;
+		} catch (Throwable ex) {
+			load.completeExceptionally(ex);
+			throw ex;
+		} finally {
+			inFlightLoads.remove(cacheKey, load);
+		}
+	}
+
+	private <T> T loadValue(final Object key, final Callable<T> valueLoader) {
 		T value = valueFromLoader(key, valueLoader);
 		put(key, value);
 		return value;
 	}
 
+	private static Object awaitLoad(final CompletableFuture<Object> load) {
+		try {
+			return load.join();
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			if (ex.getCause() instanceof Error) {
+				throw (Error) ex.getCause();
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Look up the value for the given key without blocking the calling thread.
+	 *
+	 * @param key the key whose associated value is to be returned.
+	 * @return a future completed with the value, or with {@literal null} if there is no mapping for the key. If the
+	 *         cache allows {@literal null} values, the future is completed with a {@link ValueWrapper} instead.
+	 * @throws UnsupportedOperationException if the cache was created without a {@link ReactiveCouchbaseCacheWriter}.
+	 */
+	public CompletableFuture<?> retrieve(final Object key) {
+		return createCacheKeyAsync(key).flatMap(this::lookupAsync)
+				.mapNotNull(value -> isAllowNullValues() ? toValueWrapper(value) : fromStoreValue(value)).toFuture();
+	}
+
+	/**
+	 * Look up the value for the given key without blocking the calling thread, obtaining it from the given loader on a
+	 * miss. Like {@link #get(Object, Callable)}, concurrent misses on the same key share one load.
+	 *
+	 * @param key the key whose associated value is to be returned.
+	 * @param valueLoader supplies the value on a miss.
+	 * @return a future completed with the cached or loaded value, {@literal null} for a cached {@literal null}.
+	 * @throws UnsupportedOperationException if the cache was created without a {@link ReactiveCouchbaseCacheWriter}.
+	 */
+	public <T> CompletableFuture<T> retrieve(final Object key, final Supplier<CompletableFuture<T>> valueLoader) {
+		return createCacheKeyAsync(key).flatMap(cacheKey -> this.<T> lookupStoredAsync(cacheKey)
+				.switchIfEmpty(Mono.defer(() -> loadAsync(cacheKey, valueLoader)))).toFuture()
+				.thenApply(value -> value != null ? value.orElse(null) : null);
+	}
+
+	/**
+	 * Like {@link #createCacheKey(Object)}, but refreshes the generation without blocking if it is due.
+	 */
+	private Mono<String> createCacheKeyAsync(final Object key) {
+		if (reactiveCacheWriter == null) {
+			throw new UnsupportedOperationException(
+					String.format("Cache '%s' has no ReactiveCouchbaseCacheWriter for asynchronous retrieval.", name));
+		}
+		if (!cacheConfig.usesGenerations() || isGenerationCurrent()) {
+			return Mono.fromSupplier(() -> createCacheKey(key));
+		}
+		return reactiveCacheWriter.getGeneration(cacheConfig.getCollectionName(), generationKey())
+				.doOnNext(this::useGeneration).then(Mono.fromSupplier(() -> createCacheKey(key)));
+	}
+
+	private Mono<Object> lookupAsync(final String cacheKey) {
+		return Mono.defer(() -> {
+			if (nearCache == null) {
+				return reactiveCacheWriter.get(cacheConfig.getCollectionName(), cacheKey, cacheConfig.getValueTranscoder());
+			}
+			Object value = nearCache.get(cacheKey);
+			if (value != null) {
+				return Mono.just(value);
+			}
+			Object reservation = nearCache.reserve(cacheKey);
+			return reactiveCacheWriter.get(cacheConfig.getCollectionName(), cacheKey, cacheConfig.getValueTranscoder())
+					.doOnNext(found -> nearCache.fill(cacheKey, reservation, found))
+					.doFinally(signal -> nearCache.release(cacheKey, reservation));
+		});
+	}
+
+	/**
+	 * Looks up a stored value, a hit on a cached {@literal null} being an empty {@link Optional}.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Mono<Optional<T>> lookupStoredAsync(final String cacheKey) {
+		return lookupAsync(cacheKey).map(value -> Optional.ofNullable((T) fromStoreValue(value)));
+	}
+
+	/**
+	 * Loads and stores the value of a missed key, or waits for the load already running for it.
+	 *
+	 * @return the loaded value, empty if the loader supplied {@literal null}.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Mono<Optional<T>> loadAsync(final String cacheKey, final Supplier<CompletableFuture<T>> valueLoader) {
+		Load load = new Load(null);
+		Load inFlight = inFlightLoads.putIfAbsent(cacheKey, load);
+		if (inFlight != null) {
+			// a dependent stage, so that a cancelled subscriber cannot cancel the shared load
+			return Mono.fromFuture(inFlight.thenApply(value -> Optional.ofNullable((T) value)));
+		}
+
+		// another load may have completed between the miss and the registration of this one
+		return this.<T> lookupStoredAsync(cacheKey)
+				.switchIfEmpty(Mono.defer(() -> Mono.fromFuture(valueLoader)
+						.flatMap(value -> reactiveCacheWriter
+								.put(cacheConfig.getCollectionName(), cacheKey, value, cacheConfig.getExpiry(),
+										cacheConfig.getValueTranscoder())
+								.then(Mono.fromRunnable(() -> storeLocally(cacheKey, value))).thenReturn(Optional.of(value)))
+						.defaultIfEmpty(Optional.empty())))
+				.doOnSuccess(value -> load.complete(value != null ? value.orElse(null) : null))
+				.doOnError(load::completeExceptionally).doFinally(signal -> {
+					inFlightLoads.remove(cacheKey, load);
+					// a cancelled load must not leave the loads waiting for it hanging
+					load.completeExceptionally(new CancellationException("load of " + cacheKey + " was cancelled"));
+				});
+	}
+
 	@Override
 	public void put(final Object key, final Object value) {
 		if (!isAllowNullValues() && value == null) {
@@ -106,8 +310,10 @@ public class CouchbaseCache extends AbstractValueAdaptingCache {
 					name));
 		}
 
-		cacheWriter.put(cacheConfig.getCollectionName(), createCacheKey(key), value, cacheConfig.getExpiry(),
+		String cacheKey = createCacheKey(key);
+		cacheWriter.put(cacheConfig.getCollectionName(), cacheKey, value, cacheConfig.getExpiry(),
 				cacheConfig.getValueTranscoder());
+		storeLocally(cacheKey, value);
 	}
 
 	@Override
@@ -116,34 +322,71 @@ public class CouchbaseCache extends AbstractValueAdaptingCache {
 			return get(key);
 		}
 
-		Object result = cacheWriter.putIfAbsent(cacheConfig.getCollectionName(), createCacheKey(key), value,
-				cacheConfig.getExpiry(), cacheConfig.getValueTranscoder());
-
-		if (result == null) {
-			return null;
+		String cacheKey = createCacheKey(key);
+		Object reservation = nearCache != null ? nearCache.reserve(cacheKey) : null;
+		Object result;
+		try {
+			result = cacheWriter.putIfAbsent(cacheConfig.getCollectionName(), cacheKey, value, cacheConfig.getExpiry(),
+					cacheConfig.getValueTranscoder());
+			if (result == null) {
+				storeLocally(cacheKey, value);
+			} else if (nearCache != null) {
+				nearCache.fill(cacheKey, reservation, result);
+			}
+		} finally {
+			if (nearCache != null) {
+				nearCache.release(cacheKey, reservation);
+			}
 		}
 
-		return new SimpleValueWrapper(result);
+		return result == null ? null : new SimpleValueWrapper(result);
 	}
 
 	@Override
 	public void evict(final Object key) {
-		cacheWriter.remove(cacheConfig.getCollectionName(), createCacheKey(key));
+		evictIfPresent(key);
 	}
 
 	@Override
 	public boolean evictIfPresent(final Object key) {
-		return cacheWriter.remove(cacheConfig.getCollectionName(), createCacheKey(key));
+		String cacheKey = createCacheKey(key);
+		// remove locally after Couchbase, so that a concurrent read of the old value cannot store it again
+		boolean removed = cacheWriter.remove(cacheConfig.getCollectionName(), cacheKey);
+		if (nearCache != null) {
+			nearCache.remove(cacheKey);
+		}
+		return removed;
 	}
 
 	@Override
 	public boolean invalidate() {
-		return cacheWriter.clear(cacheConfig.getKeyPrefixFor(name)) > 0;
+		boolean cleared;
+		if (cacheConfig.usesGenerations()) {
+			useGeneration(cacheWriter.nextGeneration(cacheConfig.getCollectionName(), generationKey()));
+			cleared = true;
+		} else {
+			cleared = cacheWriter.clear(cacheConfig.getKeyPrefixFor(name)) > 0;
+		}
+		if (nearCache != null) {
+			nearCache.clear();
+		}
+		return cleared;
 	}
 
 	@Override
 	public void clear() {
-		cacheWriter.clear(cacheConfig.getKeyPrefixFor(name));
+		invalidate();
+	}
+
+	private void storeLocally(final String cacheKey, final Object value) {
+		if (nearCache == null) {
+			return;
+		}
+		if (value == null) {
+			nearCache.remove(cacheKey);
+		} else {
+			nearCache.put(cacheKey, value);
+		}
 	}
 
 	/**
@@ -199,9 +442,41 @@ public class CouchbaseCache extends AbstractValueAdaptingCache {
 
 	private String prefixCacheKey(final String key) {
 		// allow contextual cache names by computing the key prefix on every call.
+		if (cacheConfig.usesGenerations()) {
+			return cacheConfig.getKeyPrefixFor(name) + currentGeneration() + CacheKeyPrefix.SEPARATOR + key;
+		}
 		return cacheConfig.getKeyPrefixFor(name) + key;
 	}
 
+	private String generationKey() {
+		return cacheConfig.getKeyPrefixFor(name) + GENERATION_KEY;
+	}
+
+	/**
+	 * The key prefix of all entries of a cache, given the key of its generation counter.
+	 */
+	static String generationPrefix(final String generationKey) {
+		Assert.isTrue(generationKey.endsWith(GENERATION_KEY), () -> "Not a generation key: " + generationKey);
+		return generationKey.substring(0, generationKey.length() - GENERATION_KEY.length());
+	}
+
+	private long currentGeneration() {
+		if (!isGenerationCurrent()) {
+			useGeneration(cacheWriter.getGeneration(cacheConfig.getCollectionName(), generationKey()));
+		}
+		return generation.value;
+	}
+
+	private boolean isGenerationCurrent() {
+		Generation current = generation;
+		return current != null
+				&& System.nanoTime() - current.readAt < cacheConfig.getGenerationRefreshInterval().toNanos();
+	}
+
+	private void useGeneration(final long value) {
+		generation = new Generation(value, System.nanoTime());
+	}
+
 	private boolean isCollectionLikeOrMap(final TypeDescriptor source) {
 		return source.isArray() || source.isCollection() || source.isMap();
 	}
@@ -231,4 +506,32 @@ public class CouchbaseCache extends AbstractValueAdaptingCache {
 		throw new IllegalArgumentException(String.format("Cannot convert cache key %s to String.", key));
 	}
 
+	/**
+	 * A load of {@link #inFlightLoads}.
+	 */
+	private static final class Load extends CompletableFuture<Object> {
+
+		/**
+		 * The thread running the loader of {@link #get(Object, Callable)}, {@literal null} for asynchronous loads.
+		 */
+		private final @Nullable Thread owner;
+
+		private Load(@Nullable final Thread owner) {
+			this.owner = owner;
+		}
+
+	}
+
+	private static final class Generation {
+
+		private final long value;
+		private final long readAt;
+
+		private Generation(final long value, final long readAt) {
+			this.value = value;
+			this.readAt = readAt;
+		}
+
+	}
+
 }
@@ -38,10 +38,15 @@ public class CouchbaseCacheConfiguration {
 	private final Transcoder valueTranscoder;
 	private final ConversionService conversionService;
 	private final String collectionName;
+	private final int nearCacheMaximumSize;
+	private final Duration nearCacheTimeToLive;
+	private final CouchbaseNearCache.Revalidator nearCacheRevalidator;
+	private final Duration generationRefreshInterval;
 
 	private CouchbaseCacheConfiguration(final Duration expiry, final boolean cacheNullValues, final boolean usePrefix,
 			final CacheKeyPrefix keyPrefix, final ConversionService conversionService, final Transcoder valueTranscoder,
-			final String collectionName) {
+			final String collectionName, final int nearCacheMaximumSize, final Duration nearCacheTimeToLive,
+			final CouchbaseNearCache.Revalidator nearCacheRevalidator, final Duration generationRefreshInterval) {
 		this.expiry = expiry;
 		this.cacheNullValues = cacheNullValues;
 		this.usePrefix = usePrefix;
@@ -49,6 +54,10 @@ public class CouchbaseCacheConfiguration {
 		this.conversionService = conversionService;
 		this.valueTranscoder = valueTranscoder;
 		this.collectionName = collectionName;
+		this.nearCacheMaximumSize = nearCacheMaximumSize;
+		this.nearCacheTimeToLive = nearCacheTimeToLive;
+		this.nearCacheRevalidator = nearCacheRevalidator;
+		this.generationRefreshInterval = generationRefreshInterval;
 	}
 
 	public static CouchbaseCacheConfiguration defaultCacheConfig() {
@@ -56,7 +65,7 @@ public class CouchbaseCacheConfiguration {
 		registerDefaultConverters(conversionService);
 
 		return new CouchbaseCacheConfiguration(Duration.ZERO, true, true, CacheKeyPrefix.simple(), conversionService,
-				SerializableTranscoder.INSTANCE, null);
+				SerializableTranscoder.INSTANCE, null, 0, null, null, null);
 	}
 
 	/**
@@ -82,7 +91,8 @@ public class CouchbaseCacheConfiguration {
 	public CouchbaseCacheConfiguration entryExpiry(final Duration expiry) {
 		Assert.notNull(expiry, "Expiry duration must not be null!");
 		return new CouchbaseCacheConfiguration(expiry, cacheNullValues, usePrefix, keyPrefix, conversionService,
-				valueTranscoder, collectionName);
+				valueTranscoder, collectionName, nearCacheMaximumSize, nearCacheTimeToLive, nearCacheRevalidator,
+				generationRefreshInterval);
 	}
 
 	/**
@@ -94,7 +104,8 @@ public class CouchbaseCacheConfiguration {
 	public CouchbaseCacheConfiguration valueTranscoder(final Transcoder valueTranscoder) {
 		Assert.notNull(valueTranscoder, "Transcoder must not be null!");
 		return new CouchbaseCacheConfiguration(expiry, cacheNullValues, usePrefix, keyPrefix, conversionService,
-				valueTranscoder, collectionName);
+				valueTranscoder, collectionName, nearCacheMaximumSize, nearCacheTimeToLive, nearCacheRevalidator,
+				generationRefreshInterval);
 	}
 
 	/**
@@ -107,7 +118,8 @@ public class CouchbaseCacheConfiguration {
 	 */
 	public CouchbaseCacheConfiguration disableCachingNullValues() {
 		return new CouchbaseCacheConfiguration(expiry, false, usePrefix, keyPrefix, conversionService, valueTranscoder,
-				collectionName);
+				collectionName, nearCacheMaximumSize, nearCacheTimeToLive, nearCacheRevalidator,
+				generationRefreshInterval);
 	}
 
 	/**
@@ -134,7 +146,63 @@ public class CouchbaseCacheConfiguration {
 	public CouchbaseCacheConfiguration computePrefixWith(CacheKeyPrefix cacheKeyPrefix) {
 		Assert.notNull(cacheKeyPrefix, "Function for computing prefix must not be null!");
 		return new CouchbaseCacheConfiguration(expiry, cacheNullValues, true, cacheKeyPrefix, conversionService,
-				valueTranscoder, collectionName);
+				valueTranscoder, collectionName, nearCacheMaximumSize, nearCacheTimeToLive, nearCacheRevalidator,
+				generationRefreshInterval);
+	}
+
+	/**
+	 * Keep up to {@code maximumSize} entries of each cache in process and serve them for {@code timeToLive} without going
+	 * to Couchbase. Writes and evictions through the same cache update the local entries; changes made elsewhere become
+	 * visible once the local entry expires.
+	 *
+	 * @param maximumSize the maximum number of entries held per cache, must be greater than 0.
+	 * @param timeToLive how long a local entry is served, must be positive.
+	 * @return new {@link CouchbaseCacheConfiguration}.
+	 * @see CouchbaseCache#getNearCache()
+	 */
+	public CouchbaseCacheConfiguration enableNearCache(final int maximumSize, final Duration timeToLive) {
+		return enableNearCache(maximumSize, timeToLive, CouchbaseNearCache.Revalidator.NONE);
+	}
+
+	/**
+	 * Like {@link #enableNearCache(int, Duration)}, but every local hit is additionally checked with the given
+	 * {@link CouchbaseNearCache.Revalidator}.
+	 *
+	 * @param maximumSize the maximum number of entries held per cache, must be greater than 0.
+	 * @param timeToLive how long a local entry is served at most, must be positive.
+	 * @param revalidator must not be {@literal null}.
+	 * @return new {@link CouchbaseCacheConfiguration}.
+	 */
+	public CouchbaseCacheConfiguration enableNearCache(final int maximumSize, final Duration timeToLive,
+			final CouchbaseNearCache.Revalidator revalidator) {
+		Assert.isTrue(maximumSize > 0, "Maximum size must be greater than 0!");
+		Assert.notNull(timeToLive, "Time to live must not be null!");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "Time to live must be positive!");
+		Assert.notNull(revalidator, "Revalidator must not be null!");
+		return new CouchbaseCacheConfiguration(expiry, cacheNullValues, usePrefix, keyPrefix, conversionService,
+				valueTranscoder, collectionName, maximumSize, timeToLive, revalidator, generationRefreshInterval);
+	}
+
+	/**
+	 * Clear caches by moving them to a new generation instead of deleting their documents through a N1QL query. Every
+	 * cache keeps a counter document next to its entries, and the current generation becomes part of each cache key. A
+	 * clear increments the counter with a single KV operation, so the query service and a primary index are not needed.
+	 * Entries of older generations are no longer reachable and are removed by Couchbase once they expire, which is why
+	 * an {@link #entryExpiry(Duration) entry expiry} has to be configured.
+	 * <p>
+	 * The generation is read from Couchbase at most once per {@code refreshInterval}. A clear through the same cache is
+	 * visible immediately, a clear from another process once the interval has elapsed. Use {@link Duration#ZERO} to read
+	 * the generation on every cache operation.
+	 *
+	 * @param refreshInterval must not be {@literal null} or negative.
+	 * @return new {@link CouchbaseCacheConfiguration}.
+	 */
+	public CouchbaseCacheConfiguration clearByGeneration(final Duration refreshInterval) {
+		Assert.notNull(refreshInterval, "Refresh interval must not be null!");
+		Assert.isTrue(!refreshInterval.isNegative(), "Refresh interval must not be negative!");
+		return new CouchbaseCacheConfiguration(expiry, cacheNullValues, usePrefix, keyPrefix, conversionService,
+				valueTranscoder, collectionName, nearCacheMaximumSize, nearCacheTimeToLive, nearCacheRevalidator,
+				refreshInterval);
 	}
 
 	/**
@@ -190,4 +258,48 @@ public class CouchbaseCacheConfiguration {
 		return collectionName;
 	}
 
+	/**
+	 * @return {@literal true} if caches keep an in-process tier in front of Couchbase.
+	 */
+	public boolean usesNearCache() {
+		return nearCacheMaximumSize > 0;
+	}
+
+	/**
+	 * The maximum number of entries held in process per cache, {@literal 0} if the near cache is disabled.
+	 */
+	public int getNearCacheMaximumSize() {
+		return nearCacheMaximumSize;
+	}
+
+	/**
+	 * How long an entry is served from the near cache, {@literal null} if the near cache is disabled.
+	 */
+	public Duration getNearCacheTimeToLive() {
+		return nearCacheTimeToLive;
+	}
+
+	/**
+	 * The {@link CouchbaseNearCache.Revalidator} applied on near cache hits, {@literal null} if the near cache is
+	 * disabled.
+	 */
+	public CouchbaseNearCache.Revalidator getNearCacheRevalidator() {
+		return nearCacheRevalidator;
+	}
+
+	/**
+	 * @return {@literal true} if caches are cleared by moving to a new generation.
+	 * @see #clearByGeneration(Duration)
+	 */
+	public boolean usesGenerations() {
+		return generationRefreshInterval != null;
+	}
+
+	/**
+	 * How often the cache generation is read from Couchbase, {@literal null} if caches are cleared through N1QL.
+	 */
+	public Duration getGenerationRefreshInterval() {
+		return generationRefreshInterval;
+	}
+
 }
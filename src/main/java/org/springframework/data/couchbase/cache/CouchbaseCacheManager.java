@@ -34,6 +34,7 @@ import org.springframework.util.Assert;
 public class CouchbaseCacheManager extends AbstractTransactionSupportingCacheManager {
 
 	private final CouchbaseCacheWriter cacheWriter;
+	private final ReactiveCouchbaseCacheWriter reactiveCacheWriter;
 	private final CouchbaseCacheConfiguration defaultCacheConfig;
 	private final Map<String, CouchbaseCacheConfiguration> initialCacheConfiguration;
 	private final boolean allowInFlightCacheCreation;
@@ -43,11 +44,13 @@ public class CouchbaseCacheManager extends AbstractTransactionSupportingCacheMan
 	 * {@link CouchbaseCacheConfiguration}.
 	 *
 	 * @param cacheWriter must not be {@literal null}.
+	 * @param reactiveCacheWriter can be {@literal null}.
 	 * @param defaultCacheConfiguration must not be {@literal null}. Maybe just use
 	 *          {@link CouchbaseCacheConfiguration#defaultCacheConfig()}.
 	 * @param allowInFlightCacheCreation allow create unconfigured caches.
 	 */
 	private CouchbaseCacheManager(final CouchbaseCacheWriter cacheWriter,
+			@Nullable final ReactiveCouchbaseCacheWriter reactiveCacheWriter,
 			final CouchbaseCacheConfiguration defaultCacheConfiguration,
 			final Map<String, CouchbaseCacheConfiguration> initialCacheConfiguration,
 			final boolean allowInFlightCacheCreation) {
@@ -56,6 +59,7 @@ public class CouchbaseCacheManager extends AbstractTransactionSupportingCacheMan
 		Assert.notNull(defaultCacheConfiguration, "DefaultCacheConfiguration must not be null!");
 
 		this.cacheWriter = cacheWriter;
+		this.reactiveCacheWriter = reactiveCacheWriter;
 		this.defaultCacheConfig = defaultCacheConfiguration;
 		this.initialCacheConfiguration = initialCacheConfiguration;
 		this.allowInFlightCacheCreation = allowInFlightCacheCreation;
@@ -70,7 +74,8 @@ public class CouchbaseCacheManager extends AbstractTransactionSupportingCacheMan
 	public static CouchbaseCacheManager create(CouchbaseClientFactory clientFactory) {
 		Assert.notNull(clientFactory, "ConnectionFactory must not be null!");
 		return new CouchbaseCacheManager(new DefaultCouchbaseCacheWriter(clientFactory),
-				CouchbaseCacheConfiguration.defaultCacheConfig(), new LinkedHashMap<>(), true);
+				new DefaultReactiveCouchbaseCacheWriter(clientFactory), CouchbaseCacheConfiguration.defaultCacheConfig(),
+				new LinkedHashMap<>(), true);
 	}
 
 	/**
@@ -120,12 +125,14 @@ public class CouchbaseCacheManager extends AbstractTransactionSupportingCacheMan
 	 */
 	protected CouchbaseCache createCouchbaseCache(final String name,
 			@Nullable final CouchbaseCacheConfiguration cacheConfig) {
-		return new CouchbaseCache(name, cacheWriter, cacheConfig != null ? cacheConfig : defaultCacheConfig);
+		return new CouchbaseCache(name, cacheWriter, reactiveCacheWriter,
+				cacheConfig != null ? cacheConfig : defaultCacheConfig);
 	}
 
 	public static class CouchbaseCacheManagerBuilder {
 
 		private final CouchbaseCacheWriter cacheWriter;
+		private ReactiveCouchbaseCacheWriter reactiveCacheWriter;
 		private final Map<String, CouchbaseCacheConfiguration> initialCaches = new LinkedHashMap<>();
 		boolean allowInFlightCacheCreation = true;
 		private CouchbaseCacheConfiguration defaultCacheConfiguration = CouchbaseCacheConfiguration.defaultCacheConfig();
@@ -143,7 +150,8 @@ public class CouchbaseCacheManager extends AbstractTransactionSupportingCacheMan
 		 */
 		public static CouchbaseCacheManagerBuilder fromConnectionFactory(CouchbaseClientFactory clientFactory) {
 			Assert.notNull(clientFactory, "ConnectionFactory must not be null!");
-			return builder(new DefaultCouchbaseCacheWriter(clientFactory));
+			return builder(new DefaultCouchbaseCacheWriter(clientFactory))
+					.reactiveCacheWriter(new DefaultReactiveCouchbaseCacheWriter(clientFactory));
 		}
 
 		/**
@@ -157,6 +165,19 @@ public class CouchbaseCacheManager extends AbstractTransactionSupportingCacheMan
 			return new CouchbaseCacheManagerBuilder(cacheWriter);
 		}
 
+		/**
+		 * Use the given {@link ReactiveCouchbaseCacheWriter} for the asynchronous {@link CouchbaseCache} retrieve methods.
+		 * Set by default when building from a {@link CouchbaseClientFactory}.
+		 *
+		 * @param reactiveCacheWriter must not be {@literal null}.
+		 * @return this {@link CouchbaseCacheManagerBuilder}.
+		 */
+		public CouchbaseCacheManagerBuilder reactiveCacheWriter(ReactiveCouchbaseCacheWriter reactiveCacheWriter) {
+			Assert.notNull(reactiveCacheWriter, "ReactiveCacheWriter must not be null!");
+			this.reactiveCacheWriter = reactiveCacheWriter;
+			return this;
+		}
+
 		/**
 		 * Define a default {@link CouchbaseCacheConfiguration} applied to dynamically created {@link CouchbaseCache}s.
 		 *
@@ -267,8 +288,8 @@ public class CouchbaseCacheManager extends AbstractTransactionSupportingCacheMan
 		 * @return new instance of {@link CouchbaseCacheManager}.
 		 */
 		public CouchbaseCacheManager build() {
-			CouchbaseCacheManager cm = new CouchbaseCacheManager(cacheWriter, defaultCacheConfiguration, initialCaches,
-					allowInFlightCacheCreation);
+			CouchbaseCacheManager cm = new CouchbaseCacheManager(cacheWriter, reactiveCacheWriter, defaultCacheConfiguration,
+					initialCaches, allowInFlightCacheCreation);
 			cm.setTransactionAware(enableTransactions);
 			return cm;
 		}
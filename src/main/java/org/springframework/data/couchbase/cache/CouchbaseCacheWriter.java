@@ -76,4 +76,33 @@ public interface CouchbaseCacheWriter {
 	 */
 	long clear(String pattern);
 
+	/**
+	 * Read the generation counter stored under the given key. Writers that do not keep a counter stay on generation
+	 * {@literal 0}, see {@link #nextGeneration(String, String)}.
+	 *
+	 * @param collectionName The cache name must not be {@literal null}.
+	 * @param key The key of the counter document. Must not be {@literal null}.
+	 * @return the current generation, {@literal 0} if the counter does not exist yet.
+	 * @see CouchbaseCacheConfiguration#clearByGeneration(Duration)
+	 */
+	default long getGeneration(String collectionName, String key) {
+		return 0;
+	}
+
+	/**
+	 * Atomically increment the generation counter stored under the given key, creating it if it does not exist.
+	 * <p>
+	 * The default implementation keeps no counter: it stays on generation {@literal 0} and clears the entries of the
+	 * cache through {@link #clear(String)} instead.
+	 *
+	 * @param collectionName The cache name must not be {@literal null}.
+	 * @param key The key of the counter document. Must not be {@literal null}.
+	 * @return the new generation.
+	 * @see CouchbaseCacheConfiguration#clearByGeneration(Duration)
+	 */
+	default long nextGeneration(String collectionName, String key) {
+		clear(CouchbaseCache.generationPrefix(key));
+		return 0;
+	}
+
 }
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Bounded in-process tier that a {@link CouchbaseCache} consults before going to Couchbase.
+ * <p>
+ * Reads and writes are lock-free. Once {@link #getMaximumSize()} entries are held, the oldest entry is evicted. Entries
+ * expire after {@link #getTimeToLive()}, and the configured {@link Revalidator} gets a chance to reject an entry on
+ * every hit. Writes and evictions made through the owning cache update this tier directly; changes made by other
+ * processes only become visible once the local entry expires or is rejected by the {@link Revalidator}.
+ * <p>
+ * A value read from Couchbase after a local miss is only stored if the key was neither written nor evicted locally
+ * while it was read, see {@link #reserve(String)}, so a concurrent write is never replaced by the value it overwrote.
+ *
+ * @since 4.3
+ */
+public class CouchbaseNearCache {
+
+	private final int maximumSize;
+	private final Duration timeToLive;
+	private final long timeToLiveNanos;
+	private final Revalidator revalidator;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * The slots of the entries, oldest first. Slots of entries removed other than by eviction stay until they reach the
+	 * head or until {@link #staleSlots} exceeds the maximum size.
+	 */
+	private final Queue<Slot> insertionOrder = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final AtomicInteger staleSlots = new AtomicInteger();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	CouchbaseNearCache(final int maximumSize, final Duration timeToLive, final Revalidator revalidator) {
+		Assert.isTrue(maximumSize > 0, "Maximum size must be greater than 0!");
+		Assert.notNull(timeToLive, "Time to live must not be null!");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "Time to live must be positive!");
+		Assert.notNull(revalidator, "Revalidator must not be null!");
+		this.maximumSize = maximumSize;
+		this.timeToLive = timeToLive;
+		this.timeToLiveNanos = timeToLive.toNanos();
+		this.revalidator = revalidator;
+	}
+
+	/**
+	 * Returns the locally held value for the key, or {@literal null} if there is none or it is no longer valid.
+	 */
+	Object get(final String key) {
+		Entry entry = entries.get(key);
+		if (entry == null || entry.isReservation()) {
+			misses.increment();
+			return null;
+		}
+		long age = System.nanoTime() - entry.storedAt;
+		if (age >= timeToLiveNanos || !revalidator.isCurrent(key, entry.value, Duration.ofNanos(age))) {
+			if (remove(key, entry)) {
+				evictions.increment();
+			}
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry.value;
+	}
+
+	/**
+	 * Reserves the key before its value is read from Couchbase after a local miss. Any {@link #put}, {@link #remove} or
+	 * {@link #clear} of the key cancels the reservation.
+	 *
+	 * @return the reservation to pass to {@link #fill} and {@link #release}, {@literal null} if the key was written
+	 *         locally since the miss and must not be filled.
+	 */
+	@Nullable
+	Object reserve(final String key) {
+		Entry reservation = Entry.reservation();
+		Entry existing = entries.putIfAbsent(key, reservation);
+		if (existing == null) {
+			return reservation;
+		}
+		return existing.isReservation() ? existing : null;
+	}
+
+	/**
+	 * Stores the value read from Couchbase, unless the reservation was cancelled meanwhile.
+	 */
+	void fill(final String key, @Nullable final Object reservation, final Object value) {
+		if (reservation == null) {
+			return;
+		}
+		Entry entry = new Entry(value, System.nanoTime(), new Slot(key));
+		if (entries.replace(key, (Entry) reservation, entry)) {
+			added(entry.slot);
+		}
+	}
+
+	/**
+	 * Gives up a reservation that was not filled, for instance because Couchbase has no value for the key.
+	 */
+	void release(final String key, @Nullable final Object reservation) {
+		if (reservation != null) {
+			entries.remove(key, reservation);
+		}
+	}
+
+	void put(final String key, final Object value) {
+		Slot slot = new Slot(key);
+		Entry stored = entries.compute(key, (k, current) -> new Entry(value, System.nanoTime(),
+				current == null || current.isReservation() ? slot : current.slot));
+		if (stored.slot == slot) {
+			added(slot);
+		}
+	}
+
+	void remove(final String key) {
+		Entry removed = entries.remove(key);
+		if (removed != null && !removed.isReservation()) {
+			removedOutOfOrder();
+		}
+	}
+
+	private boolean remove(final String key, final Entry entry) {
+		if (entries.remove(key, entry)) {
+			removedOutOfOrder();
+			return true;
+		}
+		return false;
+	}
+
+	void clear() {
+		for (String key : entries.keySet()) {
+			remove(key);
+		}
+	}
+
+	private void added(final Slot slot) {
+		insertionOrder.add(slot);
+		size.incrementAndGet();
+		while (size.get() > maximumSize) {
+			Slot oldest = insertionOrder.poll();
+			if (oldest == null) {
+				return;
+			}
+			if (evict(oldest)) {
+				size.decrementAndGet();
+				evictions.increment();
+			}
+		}
+	}
+
+	/**
+	 * Removes the entry of the slot, if the slot still belongs to the entry of its key.
+	 */
+	private boolean evict(final Slot slot) {
+		for (;;) {
+			Entry entry = entries.get(slot.key);
+			if (entry == null || entry.slot != slot) {
+				return false;
+			}
+			if (entries.remove(slot.key, entry)) {
+				return true;
+			}
+		}
+	}
+
+	private void removedOutOfOrder() {
+		size.decrementAndGet();
+		if (staleSlots.incrementAndGet() > maximumSize) {
+			staleSlots.set(0);
+			insertionOrder.removeIf(slot -> {
+				Entry entry = entries.get(slot.key);
+				return entry == null || entry.slot != slot;
+			});
+		}
+	}
+
+	/**
+	 * The maximum number of entries held locally.
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * How long an entry is served locally before it is read from Couchbase again.
+	 */
+	public Duration getTimeToLive() {
+		return timeToLive;
+	}
+
+	/**
+	 * The number of entries currently held locally.
+	 */
+	public int size() {
+		return Math.max(size.get(), 0);
+	}
+
+	/**
+	 * The number of lookups answered locally.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * The number of lookups that had to go to Couchbase.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * The number of entries dropped because the size bound was reached, they expired or were rejected by the
+	 * {@link Revalidator}.
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Decides whether a locally held entry that has not yet expired may still be served. Implementations can for example
+	 * compare the CAS of the document in Couchbase, or apply a shorter time to live to selected keys.
+	 */
+	@FunctionalInterface
+	public interface Revalidator {
+
+		/**
+		 * Revalidator that accepts every entry until it expires.
+		 */
+		Revalidator NONE = (key, value, age) -> true;
+
+		/**
+		 * @param key the Couchbase document key of the entry.
+		 * @param value the locally held value.
+		 * @param age the time since the value was stored locally.
+		 * @return {@literal true} if the value may be served, {@literal false} to drop it and read from Couchbase.
+		 */
+		boolean isCurrent(String key, Object value, Duration age);
+
+	}
+
+	private static final class Entry {
+
+		private final Object value;
+		private final long storedAt;
+
+		/**
+		 * The position of the entry in the insertion order, kept when the value of the key is replaced. {@literal null}
+		 * for a reservation.
+		 */
+		private final Slot slot;
+
+		private Entry(final Object value, final long storedAt, final Slot slot) {
+			this.value = value;
+			this.storedAt = storedAt;
+			this.slot = slot;
+		}
+
+		private static Entry reservation() {
+			return new Entry(null, 0, null);
+		}
+
+		private boolean isReservation() {
+			return slot == null;
+		}
+
+	}
+
+	private static final class Slot {
+
+		private final String key;
+
+		private Slot(final String key) {
+			this.key = key;
+		}
+
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.data.couchbase.cache;
 
 import static com.couchbase.client.java.kv.GetOptions.*;
+import static com.couchbase.client.java.kv.IncrementOptions.*;
 import static com.couchbase.client.java.kv.InsertOptions.*;
 import static com.couchbase.client.java.kv.UpsertOptions.*;
 import static com.couchbase.client.java.query.QueryOptions.*;
@@ -109,6 +110,20 @@ public class DefaultCouchbaseCacheWriter implements CouchbaseCacheWriter {
 		return result.metaData().metrics().map(QueryMetrics::mutationCount).orElse(0L);
 	}
 
+	@Override
+	public long getGeneration(final String collectionName, final String key) {
+		try {
+			return getCollection(collectionName).get(key).contentAs(Long.class);
+		} catch (DocumentNotFoundException ex) {
+			return 0;
+		}
+	}
+
+	@Override
+	public long nextGeneration(final String collectionName, final String key) {
+		return getCollection(collectionName).binary().increment(key, incrementOptions().initial(1)).content();
+	}
+
 	private Collection getCollection(final String collectionName) {
 		final Scope scope = clientFactory.getScope();
 		if (collectionName == null) {
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.cache;
+
+import static com.couchbase.client.java.kv.GetOptions.*;
+import static com.couchbase.client.java.kv.InsertOptions.*;
+import static com.couchbase.client.java.kv.UpsertOptions.*;
+import static com.couchbase.client.java.query.QueryOptions.*;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import org.springframework.data.couchbase.CouchbaseClientFactory;
+
+import com.couchbase.client.core.error.DocumentExistsException;
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.java.ReactiveCollection;
+import com.couchbase.client.java.Scope;
+import com.couchbase.client.java.codec.Transcoder;
+import com.couchbase.client.java.json.JsonObject;
+import com.couchbase.client.java.kv.InsertOptions;
+import com.couchbase.client.java.kv.UpsertOptions;
+import com.couchbase.client.java.query.QueryMetrics;
+import com.couchbase.client.java.query.ReactiveQueryResult;
+
+/**
+ * {@link ReactiveCouchbaseCacheWriter} on top of the {@link ReactiveCollection} API.
+ *
+ * @since 4.3
+ */
+public class DefaultReactiveCouchbaseCacheWriter implements ReactiveCouchbaseCacheWriter {
+
+	private final CouchbaseClientFactory clientFactory;
+
+	public DefaultReactiveCouchbaseCacheWriter(final CouchbaseClientFactory clientFactory) {
+		this.clientFactory = clientFactory;
+	}
+
+	@Override
+	public Mono<Void> put(final String collectionName, final String key, final Object value, final Duration expiry,
+			final Transcoder transcoder) {
+		UpsertOptions options = upsertOptions();
+
+		if (expiry != null) {
+			options.expiry(expiry);
+		}
+		if (transcoder != null) {
+			options.transcoder(transcoder);
+		}
+
+		return Mono.defer(() -> getCollection(collectionName).upsert(key, value, options)).then();
+	}
+
+	@Override
+	public Mono<Object> putIfAbsent(final String collectionName, final String key, final Object value,
+			final Duration expiry, final Transcoder transcoder) {
+		InsertOptions options = insertOptions();
+
+		if (expiry != null) {
+			options.expiry(expiry);
+		}
+		if (transcoder != null) {
+			options.transcoder(transcoder);
+		}
+
+		return Mono.defer(() -> getCollection(collectionName).insert(key, value, options)).then(Mono.empty())
+				// If the document exists, return the current one per contract
+				.onErrorResume(DocumentExistsException.class, ex -> get(collectionName, key, transcoder));
+	}
+
+	@Override
+	public Mono<Object> get(final String collectionName, final String key, final Transcoder transcoder) {
+		return Mono.defer(() -> getCollection(collectionName).get(key, getOptions().transcoder(transcoder)))
+				// a JSON null document is a miss, as for the blocking writer
+				.mapNotNull(result -> result.contentAs(Object.class))
+				.onErrorResume(DocumentNotFoundException.class, ex -> Mono.empty());
+	}
+
+	@Override
+	public Mono<Boolean> remove(final String collectionName, final String key) {
+		return Mono.defer(() -> getCollection(collectionName).remove(key)).thenReturn(true)
+				.onErrorResume(DocumentNotFoundException.class, ex -> Mono.just(false));
+	}
+
+	@Override
+	public Mono<Long> clear(final String pattern) {
+		return Mono.defer(() -> clientFactory.getCluster().reactive().query(
+				"DELETE FROM `" + clientFactory.getBucket().name() + "` where meta().id LIKE $pattern",
+				queryOptions().metrics(true).parameters(JsonObject.create().put("pattern", pattern + "%"))))
+				.flatMap(ReactiveQueryResult::metaData)
+				.map(metaData -> metaData.metrics().map(QueryMetrics::mutationCount).orElse(0L));
+	}
+
+	@Override
+	public Mono<Long> getGeneration(final String collectionName, final String key) {
+		return Mono.defer(() -> getCollection(collectionName).get(key)).map(result -> result.contentAs(Long.class))
+				.onErrorResume(DocumentNotFoundException.class, ex -> Mono.just(0L));
+	}
+
+	private ReactiveCollection getCollection(final String collectionName) {
+		final Scope scope = clientFactory.getScope();
+		if (collectionName == null) {
+			if (!scope.name().equals(CollectionIdentifier.DEFAULT_SCOPE)) {
+				throw new IllegalStateException("A collectionName must be provided if a non-default scope is used!");
+			}
+			return clientFactory.getBucket().defaultCollection().reactive();
+		}
+		return scope.collection(collectionName).reactive();
+	}
+}
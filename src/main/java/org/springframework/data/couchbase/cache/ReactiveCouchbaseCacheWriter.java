@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import org.springframework.lang.Nullable;
+
+import com.couchbase.client.java.codec.Transcoder;
+
+/**
+ * Non-blocking counterpart of {@link CouchbaseCacheWriter}, used by the {@link CouchbaseCache} retrieve methods.
+ *
+ * @since 4.3
+ */
+public interface ReactiveCouchbaseCacheWriter {
+
+	/**
+	 * Write the given key/value pair to Couchbase an set the expiration time if defined.
+	 *
+	 * @param collectionName The cache name must not be {@literal null}.
+	 * @param key The key for the cache entry. Must not be {@literal null}.
+	 * @param value The value stored for the key. Must not be {@literal null}.
+	 * @param expiry Optional expiration time. Can be {@literal null}.
+	 * @param transcoder Optional transcoder to use. Can be {@literal null}.
+	 * @return completes once the value is written.
+	 */
+	Mono<Void> put(String collectionName, String key, Object value, @Nullable Duration expiry,
+			@Nullable Transcoder transcoder);
+
+	/**
+	 * Write the given value to Couchbase if the key does not already exist.
+	 *
+	 * @param collectionName The cache name must not be {@literal null}.
+	 * @param key The key for the cache entry. Must not be {@literal null}.
+	 * @param value The value stored for the key. Must not be {@literal null}.
+	 * @param expiry Optional expiration time. Can be {@literal null}.
+	 * @param transcoder Optional transcoder to use. Can be {@literal null}.
+	 * @return the existing value, or empty if the given value was written.
+	 */
+	Mono<Object> putIfAbsent(String collectionName, String key, Object value, @Nullable Duration expiry,
+			@Nullable Transcoder transcoder);
+
+	/**
+	 * Get the value stored in Couchbase for the given key.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 * @param key must not be {@literal null}.
+	 * @param transcoder Optional transcoder to use. Can be {@literal null}.
+	 * @return the value, or empty if key does not exist.
+	 */
+	Mono<Object> get(String collectionName, String key, @Nullable Transcoder transcoder);
+
+	/**
+	 * Remove the given key from Couchbase.
+	 *
+	 * @param collectionName The cache name must not be {@literal null}.
+	 * @param key The key for the cache entry. Must not be {@literal null}.
+	 * @return true if the document existed on removal, false otherwise.
+	 */
+	Mono<Boolean> remove(String collectionName, String key);
+
+	/**
+	 * Clears the cache with the given key pattern prefix.
+	 *
+	 * @param pattern the pattern to clear.
+	 * @return the number of cleared items.
+	 */
+	Mono<Long> clear(String pattern);
+
+	/**
+	 * Read the generation counter stored under the given key. Writers that do not keep a counter stay on generation
+	 * {@literal 0}, see {@link CouchbaseCacheWriter#nextGeneration(String, String)}.
+	 *
+	 * @param collectionName The cache name must not be {@literal null}.
+	 * @param key The key of the counter document. Must not be {@literal null}.
+	 * @return the current generation, {@literal 0} if the counter does not exist yet.
+	 * @see CouchbaseCacheConfiguration#clearByGeneration(Duration)
+	 */
+	default Mono<Long> getGeneration(String collectionName, String key) {
+		return Mono.just(0L);
+	}
+
+}
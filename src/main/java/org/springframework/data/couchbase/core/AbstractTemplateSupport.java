@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core;
+
+import org.springframework.data.couchbase.core.convert.CouchbaseConverter;
+import org.springframework.data.couchbase.core.convert.join.N1qlJoinResolver;
+import org.springframework.data.couchbase.core.convert.translation.TranslationService;
+import org.springframework.data.couchbase.core.mapping.CouchbaseDocument;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentProperty;
+import org.springframework.data.couchbase.core.support.TemplateUtils;
+import org.springframework.data.couchbase.repository.support.MappingCouchbaseEntityInformation;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
+
+/**
+ * Decoding shared by {@link CouchbaseTemplateSupport} and {@link ReactiveCouchbaseTemplateSupport}. The subclasses
+ * only add the resolution of eager joins and the events and entity callbacks, blocking or reactive.
+ */
+abstract class AbstractTemplateSupport {
+
+	protected final CouchbaseConverter converter;
+	protected final MappingContext<? extends CouchbasePersistentEntity<?>, CouchbasePersistentProperty> mappingContext;
+	protected final TranslationService translationService;
+
+	AbstractTemplateSupport(final CouchbaseConverter converter, final TranslationService translationService) {
+		this.converter = converter;
+		this.mappingContext = converter.getMappingContext();
+		this.translationService = translationService;
+	}
+
+	/**
+	 * The template the lazy joins of decoded entities are loaded with.
+	 */
+	abstract ReactiveCouchbaseTemplate getReactiveTemplate();
+
+	<T> T decodeEntityBase(String id, String source, long cas, Class<T> entityClass) {
+		CouchbasePersistentEntity<?> persistentEntity = mappingContext.getRequiredPersistentEntity(entityClass);
+		CouchbaseDocument converted = (CouchbaseDocument) translationService.decode(source,
+				newDocument(id, cas, persistentEntity));
+		return readEntity(id, converted, cas, entityClass, persistentEntity);
+	}
+
+	<T> T decodeEntityBase(String id, byte[] source, long cas, Class<T> entityClass) {
+		CouchbasePersistentEntity<?> persistentEntity = mappingContext.getRequiredPersistentEntity(entityClass);
+		CouchbaseDocument converted = (CouchbaseDocument) translationService.decode(source,
+				newDocument(id, cas, persistentEntity));
+		return readEntity(id, converted, cas, entityClass, persistentEntity);
+	}
+
+	/**
+	 * Decodes a query row straight from its JSON bytes, see {@link TemplateUtils#decodeRow}.
+	 */
+	<T> T decodeRowBase(byte[] row, boolean withMeta, String statement, Class<T> entityClass) {
+		CouchbasePersistentEntity<?> persistentEntity = mappingContext.getRequiredPersistentEntity(entityClass);
+		CouchbaseDocument converted = new CouchbaseDocument();
+		long cas = TemplateUtils.decodeRow(translationService, row, withMeta, statement, persistentEntity, converted);
+		return readEntity(converted.getId(), converted, cas, entityClass, persistentEntity);
+	}
+
+	/**
+	 * Decodes an analytics row straight from its JSON bytes, see {@link TemplateUtils#decodeAnalyticsRow}.
+	 */
+	<T> T decodeAnalyticsRowBase(byte[] row, String statement, Class<T> entityClass) {
+		CouchbasePersistentEntity<?> persistentEntity = mappingContext.getRequiredPersistentEntity(entityClass);
+		CouchbaseDocument converted = new CouchbaseDocument();
+		long cas = TemplateUtils.decodeAnalyticsRow(translationService, row, statement, persistentEntity, converted);
+		return readEntity(converted.getId(), converted, cas, entityClass, persistentEntity);
+	}
+
+	private CouchbaseDocument newDocument(String id, long cas, CouchbasePersistentEntity<?> persistentEntity) {
+		final CouchbaseDocument converted = new CouchbaseDocument(id);
+		converted.setId(id);
+		if (cas != 0 && persistentEntity.getVersionProperty() != null) {
+			converted.put(persistentEntity.getVersionProperty().getName(), cas);
+		}
+		return converted;
+	}
+
+	private <T> T readEntity(String id, CouchbaseDocument converted, long cas, Class<T> entityClass,
+			CouchbasePersistentEntity<?> persistentEntity) {
+		T readEntity = converter.read(entityClass, converted);
+		final ConvertingPropertyAccessor<T> accessor = getPropertyAccessor(readEntity);
+
+		if (persistentEntity.getVersionProperty() != null) {
+			accessor.setProperty(persistentEntity.getVersionProperty(), cas);
+		}
+		N1qlJoinResolver.handleLazyProperties(persistentEntity, accessor, getReactiveTemplate(), id);
+		return accessor.getBean();
+	}
+
+	public String getJavaNameForEntity(final Class<?> clazz) {
+		final CouchbasePersistentEntity<?> persistentEntity = mappingContext.getRequiredPersistentEntity(clazz);
+		MappingCouchbaseEntityInformation<?, Object> info = new MappingCouchbaseEntityInformation<>(persistentEntity);
+		return info.getJavaType().getName();
+	}
+
+	<T> ConvertingPropertyAccessor<T> getPropertyAccessor(final T source) {
+		CouchbasePersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(source.getClass());
+		PersistentPropertyAccessor<T> accessor = entity.getPropertyAccessor(source);
+		return new ConvertingPropertyAccessor<>(accessor, converter.getConversionService());
+	}
+
+}
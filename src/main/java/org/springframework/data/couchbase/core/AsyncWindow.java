@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Keeps a bounded number of SDK async calls outstanding for the blocking operations and finishes them on the calling
+ * thread, in the order they were added.
+ * <p>
+ * The caller only ever waits in {@link CompletableFuture#join()}, so no monitor is held while waiting for I/O and
+ * virtual threads can unmount instead of pinning their carrier.
+ * <p>
+ * Entities are encoded on the calling thread too, one after the other, and not in parallel: encoding publishes the
+ * before convert and before save events and runs the entity callbacks, which are application code that may rely on
+ * the calling thread, such as a security or transaction context, and on being called in order. Encoding is also cheap
+ * next to a round trip, and with the window full it overlaps with the writes already in flight.
+ *
+ * @param <T> the type of the collected results.
+ */
+final class AsyncWindow<T> {
+
+	private final int size;
+	private final Deque<Pending<?, T>> inFlight = new ArrayDeque<>();
+	private final List<T> results;
+
+	AsyncWindow(final int size, final int expected) {
+		this.size = size;
+		this.results = new ArrayList<>(expected);
+	}
+
+	/**
+	 * Adds an outstanding call, first finishing the oldest one if the window is full.
+	 *
+	 * @param call the outstanding call.
+	 * @param onSuccess maps the call result, invoked on the calling thread. A {@literal null} result is dropped.
+	 * @param onError maps the failure of the call, invoked on the calling thread. It may rethrow, see
+	 *          {@link #rethrow(Throwable)}. A {@literal null} result is dropped.
+	 */
+	<R> void add(final CompletableFuture<R> call, final Function<? super R, ? extends T> onSuccess,
+			final Function<Throwable, ? extends T> onError) {
+		if (inFlight.size() >= size) {
+			finishNext();
+		}
+		inFlight.add(new Pending<>(call, onSuccess, onError));
+	}
+
+	/**
+	 * Waits for all outstanding calls and returns the collected results.
+	 */
+	List<T> finish() {
+		while (!inFlight.isEmpty()) {
+			finishNext();
+		}
+		return results;
+	}
+
+	private void finishNext() {
+		T result = inFlight.poll().finish();
+		if (result != null) {
+			results.add(result);
+		}
+	}
+
+	/**
+	 * Returns a future that failed with the given exception, for calls that could not even be started.
+	 */
+	static <R> CompletableFuture<R> failed(final Throwable error) {
+		CompletableFuture<R> future = new CompletableFuture<>();
+		future.completeExceptionally(error);
+		return future;
+	}
+
+	/**
+	 * Error handler that rethrows the failure of a call.
+	 */
+	static <T> T rethrow(final Throwable error) {
+		if (error instanceof RuntimeException) {
+			throw (RuntimeException) error;
+		} else if (error instanceof Error) {
+			throw (Error) error;
+		}
+		throw new CompletionException(error);
+	}
+
+	private static final class Pending<R, T> {
+
+		private final CompletableFuture<R> call;
+		private final Function<? super R, ? extends T> onSuccess;
+		private final Function<Throwable, ? extends T> onError;
+
+		private Pending(final CompletableFuture<R> call, final Function<? super R, ? extends T> onSuccess,
+				final Function<Throwable, ? extends T> onError) {
+			this.call = call;
+			this.onSuccess = onSuccess;
+			this.onError = onError;
+		}
+
+		private T finish() {
+			R value;
+			try {
+				value = call.join();
+			} catch (CompletionException ex) {
+				return onError.apply(ex.getCause() != null ? ex.getCause() : ex);
+			} catch (RuntimeException ex) {
+				return onError.apply(ex);
+			}
+			return onSuccess.apply(value);
+		}
+
+	}
+
+}
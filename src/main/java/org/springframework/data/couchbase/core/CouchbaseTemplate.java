@@ -179,6 +179,24 @@ public class CouchbaseTemplate implements CouchbaseOperations, ApplicationContex
 		return reactiveCouchbaseTemplate;
 	}
 
+	/**
+	 * The statements of the query operations of this template that are recently used, see
+	 * {@link ReactiveCouchbaseTemplate#getPreparedStatementCache()}.
+	 */
+	public PreparedStatementCache getPreparedStatementCache() {
+		return reactiveCouchbaseTemplate.getPreparedStatementCache();
+	}
+
+	/**
+	 * Resolves again which mapping events and entity callbacks have listeners in the application context. Events and
+	 * callbacks without listeners are skipped, so this must be called after listeners were added to or removed from a
+	 * context that was already refreshed. Refreshing the context does this too.
+	 */
+	public void refreshMappingListeners() {
+		templateSupport.refreshMappingListeners();
+		reactiveCouchbaseTemplate.refreshMappingListeners();
+	}
+
 	@Override
 	public void setApplicationContext(final ApplicationContext applicationContext) throws BeansException {
 		prepareIndexCreator(applicationContext);
@@ -17,6 +17,8 @@
 
 package org.springframework.data.couchbase.core;
 
+import java.util.Collections;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
@@ -34,10 +36,7 @@ import org.springframework.data.couchbase.core.mapping.event.BeforeConvertCallba
 import org.springframework.data.couchbase.core.mapping.event.BeforeConvertEvent;
 import org.springframework.data.couchbase.core.mapping.event.BeforeSaveEvent;
 import org.springframework.data.couchbase.core.mapping.event.CouchbaseMappingEvent;
-import org.springframework.data.couchbase.repository.support.MappingCouchbaseEntityInformation;
-import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.callback.EntityCallbacks;
-import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
 import org.springframework.util.Assert;
 
@@ -50,53 +49,72 @@ import org.springframework.util.Assert;
  * @author Carlos Espinaco
  * @since 3.0
  */
-class CouchbaseTemplateSupport implements ApplicationContextAware, TemplateSupport {
+class CouchbaseTemplateSupport extends AbstractTemplateSupport
+		implements ApplicationContextAware, TemplateSupport {
 
 	private static final Logger LOG = LoggerFactory.getLogger(CouchbaseTemplateSupport.class);
 
 	private final CouchbaseTemplate template;
-	private final CouchbaseConverter converter;
-	private final MappingContext<? extends CouchbasePersistentEntity<?>, CouchbasePersistentProperty> mappingContext;
-	private final TranslationService translationService;
 	private EntityCallbacks entityCallbacks;
+	private boolean entityCallbacksFromContext;
 	private ApplicationContext applicationContext;
+	private MappingListeners mappingListeners;
 
 	public CouchbaseTemplateSupport(final CouchbaseTemplate template, final CouchbaseConverter converter,
 			final TranslationService translationService) {
+		super(converter, translationService);
 		this.template = template;
-		this.converter = converter;
-		this.mappingContext = converter.getMappingContext();
-		this.translationService = translationService;
+	}
+
+	@Override
+	ReactiveCouchbaseTemplate getReactiveTemplate() {
+		return template.reactive();
 	}
 
 	@Override
 	public CouchbaseDocument encodeEntity(final Object entityToEncode) {
-		maybeEmitEvent(new BeforeConvertEvent<>(entityToEncode));
+		if (hasListeners(BeforeConvertEvent.class, entityToEncode)) {
+			maybeEmitEvent(new BeforeConvertEvent<>(entityToEncode));
+		}
 		Object maybeNewEntity = maybeCallBeforeConvert(entityToEncode, "");
 		final CouchbaseDocument converted = new CouchbaseDocument();
 		converter.write(maybeNewEntity, converted);
 		maybeCallAfterConvert(entityToEncode, converted, "");
-		maybeEmitEvent(new BeforeSaveEvent<>(entityToEncode, converted));
+		if (hasListeners(BeforeSaveEvent.class, entityToEncode)) {
+			maybeEmitEvent(new BeforeSaveEvent<>(entityToEncode, converted));
+		}
 		return converted;
 	}
 
+	@Override
+	public byte[] encodeContent(final CouchbaseDocument converted) {
+		return translationService.encodeToBytes(converted);
+	}
+
 	@Override
 	public <T> T decodeEntity(String id, String source, long cas, Class<T> entityClass) {
-		final CouchbaseDocument converted = new CouchbaseDocument(id);
-		converted.setId(id);
-		CouchbasePersistentEntity<?> persistentEntity = mappingContext.getRequiredPersistentEntity(entityClass);
-		if (cas != 0 && persistentEntity.getVersionProperty() != null) {
-			converted.put(persistentEntity.getVersionProperty().getName(), cas);
-		}
+		return resolveEagerJoins(decodeEntityBase(id, source, cas, entityClass));
+	}
 
-		T readEntity = converter.read(entityClass, (CouchbaseDocument) translationService.decode(source, converted));
-		final ConvertingPropertyAccessor<T> accessor = getPropertyAccessor(readEntity);
+	@Override
+	public <T> T decodeEntity(String id, byte[] source, long cas, Class<T> entityClass) {
+		return resolveEagerJoins(decodeEntityBase(id, source, cas, entityClass));
+	}
 
-		if (persistentEntity.getVersionProperty() != null) {
-			accessor.setProperty(persistentEntity.getVersionProperty(), cas);
-		}
-		N1qlJoinResolver.handleProperties(persistentEntity, accessor, template.reactive(), id);
-		return accessor.getBean();
+	@Override
+	public <T> T decodeRow(byte[] row, boolean withMeta, String statement, Class<T> entityClass) {
+		return decodeRowBase(row, withMeta, statement, entityClass);
+	}
+
+	@Override
+	public <T> T decodeAnalyticsRow(byte[] row, String statement, Class<T> entityClass) {
+		return decodeAnalyticsRowBase(row, statement, entityClass);
+	}
+
+	private <T> T resolveEagerJoins(T entity) {
+		return N1qlJoinResolver.resolveEager(template.reactive(),
+				mappingContext.getRequiredPersistentEntity(entity.getClass()), Collections.singletonList(entity)).block()
+				.get(0);
 	}
 
 	@Override
@@ -112,7 +130,9 @@ class CouchbaseTemplateSupport implements ApplicationContextAware, TemplateSuppo
 		} else {
 			returnValue = entity;
 		}
-		maybeEmitEvent(new AfterSaveEvent(returnValue, converted));
+		if (hasListeners(AfterSaveEvent.class, returnValue)) {
+			maybeEmitEvent(new AfterSaveEvent(returnValue, converted));
+		}
 
 		return returnValue;
 	}
@@ -146,24 +166,23 @@ class CouchbaseTemplateSupport implements ApplicationContextAware, TemplateSuppo
 		return cas;
 	}
 
-	@Override
-	public String getJavaNameForEntity(final Class<?> clazz) {
-		final CouchbasePersistentEntity<?> persistentEntity = mappingContext.getRequiredPersistentEntity(clazz);
-		MappingCouchbaseEntityInformation<?, Object> info = new MappingCouchbaseEntityInformation<>(persistentEntity);
-		return info.getJavaType().getName();
-	}
-
-	private <T> ConvertingPropertyAccessor<T> getPropertyAccessor(final T source) {
-		CouchbasePersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(source.getClass());
-		PersistentPropertyAccessor<T> accessor = entity.getPropertyAccessor(source);
-		return new ConvertingPropertyAccessor<>(accessor, converter.getConversionService());
-	}
-
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
 		this.applicationContext = applicationContext;
+		this.mappingListeners = new MappingListeners(applicationContext);
 		if (entityCallbacks == null) {
 			setEntityCallbacks(EntityCallbacks.create(applicationContext));
+			this.entityCallbacksFromContext = true;
+		}
+	}
+
+	/**
+	 * Resolves again which mapping events and entity callbacks have listeners, see
+	 * {@link CouchbaseTemplate#refreshMappingListeners()}.
+	 */
+	void refreshMappingListeners() {
+		if (mappingListeners != null) {
+			mappingListeners.refresh();
 		}
 	}
 
@@ -180,6 +199,7 @@ class CouchbaseTemplateSupport implements ApplicationContextAware, TemplateSuppo
 	public void setEntityCallbacks(EntityCallbacks entityCallbacks) {
 		Assert.notNull(entityCallbacks, "EntityCallbacks must not be null!");
 		this.entityCallbacks = entityCallbacks;
+		this.entityCallbacksFromContext = false;
 	}
 
 	public void maybeEmitEvent(CouchbaseMappingEvent<?> event) {
@@ -200,8 +220,23 @@ class CouchbaseTemplateSupport implements ApplicationContextAware, TemplateSuppo
 		return this.applicationContext != null;
 	}
 
+	/**
+	 * Is there a listener for the event about the entity? Also true without application context, so that
+	 * {@link #maybeEmitEvent(CouchbaseMappingEvent)} reports it.
+	 */
+	private boolean hasListeners(Class<?> eventType, Object entity) {
+		return mappingListeners == null || mappingListeners.hasListeners(eventType, entity.getClass());
+	}
+
+	private boolean hasCallbacks(Class<?> callbackType, Object entity) {
+		return !entityCallbacksFromContext || mappingListeners.hasCallbacks(callbackType, entity.getClass());
+	}
+
 	protected <T> T maybeCallBeforeConvert(T object, String collection) {
 		if (entityCallbacks != null) {
+			if (!hasCallbacks(BeforeConvertCallback.class, object)) {
+				return object;
+			}
 			return entityCallbacks.callback(BeforeConvertCallback.class, object, collection);
 		} else {
 			LOG.info("maybeCallBeforeConvert called, but CouchbaseTemplate not initialized with applicationContext");
@@ -211,6 +246,9 @@ class CouchbaseTemplateSupport implements ApplicationContextAware, TemplateSuppo
 
 	protected <T> T maybeCallAfterConvert(T object, CouchbaseDocument document, String collection) {
 		if (null != entityCallbacks) {
+			if (!hasCallbacks(AfterConvertCallback.class, object)) {
+				return object;
+			}
 			return entityCallbacks.callback(AfterConvertCallback.class, object, document, collection);
 		} else {
 			LOG.info("maybeCallAfterConvert called, but CouchbaseTemplate not initialized with applicationContext");
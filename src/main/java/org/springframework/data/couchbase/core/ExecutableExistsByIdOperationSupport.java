@@ -16,15 +16,22 @@
 package org.springframework.data.couchbase.core;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.couchbase.core.ReactiveExistsByIdOperationSupport.ReactiveExistsByIdSupport;
+import org.springframework.data.couchbase.core.support.PseudoArgs;
 import org.springframework.util.Assert;
 
+import com.couchbase.client.java.AsyncCollection;
 import com.couchbase.client.java.kv.ExistsOptions;
 
 public class ExecutableExistsByIdOperationSupport implements ExecutableExistsByIdOperation {
 
+	private static final Logger LOG = LoggerFactory.getLogger(ExecutableExistsByIdOperationSupport.class);
+
 	private final CouchbaseTemplate template;
 
 	ExecutableExistsByIdOperationSupport(CouchbaseTemplate template) {
@@ -64,12 +71,38 @@ public class ExecutableExistsByIdOperationSupport implements ExecutableExistsByI
 
 		@Override
 		public boolean one(final String id) {
-			return reactiveSupport.one(id).block();
+			PseudoArgs<ExistsOptions> pArgs = reactiveSupport.pseudoArgs();
+			LOG.trace("existsById {}", pArgs);
+			try {
+				return getCollection(pArgs).exists(id, reactiveSupport.buildOptions(pArgs.getOptions())).exists();
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
 		}
 
 		@Override
 		public Map<String, Boolean> all(final Collection<String> ids) {
-			return reactiveSupport.all(ids).block();
+			PseudoArgs<ExistsOptions> pArgs = reactiveSupport.pseudoArgs();
+			LOG.trace("existsById all {}", pArgs);
+			AsyncCollection async = getCollection(pArgs).async();
+			AsyncWindow<Boolean> window = new AsyncWindow<>(ReactiveCouchbaseTemplate.DEFAULT_BATCH_CONCURRENCY, ids.size());
+			Map<String, Boolean> exists = new LinkedHashMap<>(ids.size());
+			try {
+				for (String id : ids) {
+					window.add(async.exists(id, reactiveSupport.buildOptions(pArgs.getOptions())), result -> {
+						exists.put(id, result.exists());
+						return null;
+					}, AsyncWindow::rethrow);
+				}
+				window.finish();
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
+			return exists;
+		}
+
+		private com.couchbase.client.java.Collection getCollection(PseudoArgs<ExistsOptions> pArgs) {
+			return template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getCollection(pArgs.getCollection());
 		}
 
 		@Override
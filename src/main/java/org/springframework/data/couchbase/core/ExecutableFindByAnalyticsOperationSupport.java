@@ -15,15 +15,22 @@
  */
 package org.springframework.data.couchbase.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Stream;
 
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.data.couchbase.core.ReactiveFindByAnalyticsOperationSupport.ReactiveFindByAnalyticsSupport;
+import org.springframework.data.couchbase.core.convert.join.N1qlJoinResolver;
 import org.springframework.data.couchbase.core.query.AnalyticsQuery;
 import org.springframework.util.Assert;
 
 import com.couchbase.client.java.analytics.AnalyticsOptions;
+import com.couchbase.client.java.analytics.AnalyticsResult;
 import com.couchbase.client.java.analytics.AnalyticsScanConsistency;
+import com.couchbase.client.java.json.JsonObject;
 
 public class ExecutableFindByAnalyticsOperationSupport implements ExecutableFindByAnalyticsOperation {
 
@@ -69,17 +76,47 @@ public class ExecutableFindByAnalyticsOperationSupport implements ExecutableFind
 
 		@Override
 		public T oneValue() {
-			return reactiveSupport.one().block();
+			List<T> all = all();
+			if (all.size() > 1) {
+				throw new IncorrectResultSizeDataAccessException(1, all.size());
+			}
+			return all.isEmpty() ? null : all.get(0);
 		}
 
 		@Override
 		public T firstValue() {
-			return reactiveSupport.first().block();
+			String statement = reactiveSupport.assembleEntityQuery(false);
+			Iterator<byte[]> rows = query(statement).rowsAs(byte[].class).iterator();
+			if (!rows.hasNext()) {
+				return null;
+			}
+			return decode(Collections.singletonList(rows.next()), statement).get(0);
 		}
 
 		@Override
 		public List<T> all() {
-			return reactiveSupport.all().collectList().block();
+			String statement = reactiveSupport.assembleEntityQuery(false);
+			return decode(query(statement).rowsAs(byte[].class), statement);
+		}
+
+		/**
+		 * Runs the statement on the blocking API of the SDK.
+		 */
+		private AnalyticsResult query(String statement) {
+			try {
+				return template.getCouchbaseClientFactory().getCluster().analyticsQuery(statement,
+						reactiveSupport.buildAnalyticsOptions());
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
+		}
+
+		private List<T> decode(List<byte[]> rows, String statement) {
+			List<T> entities = new ArrayList<>(rows.size());
+			for (byte[] row : rows) {
+				entities.add(template.support().decodeAnalyticsRow(row, statement, returnType));
+			}
+			return N1qlJoinResolver.resolveEagerBlocking(template.reactive(), returnType, entities);
 		}
 
 		@Override
@@ -129,12 +166,17 @@ public class ExecutableFindByAnalyticsOperationSupport implements ExecutableFind
 
 		@Override
 		public Stream<T> stream() {
-			return reactiveSupport.all().toStream();
+			return all().stream();
 		}
 
 		@Override
 		public long count() {
-			return reactiveSupport.count().block();
+			String statement = reactiveSupport.assembleEntityQuery(true);
+			List<JsonObject> rows = query(statement).rowsAsObject();
+			if (rows.isEmpty()) {
+				throw new CouchbaseQueryExecutionException("count query did not return a count : " + statement);
+			}
+			return rows.get(0).getLong("__count");
 		}
 
 		@Override
@@ -17,6 +17,7 @@ package org.springframework.data.couchbase.core;
 
 import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
 
 import org.springframework.data.couchbase.core.support.OneAndAllId;
 import org.springframework.data.couchbase.core.support.InCollection;
@@ -65,6 +66,19 @@ public interface ExecutableFindByIdOperation {
 		 */
 		Collection<? extends T> all(Collection<String> ids);
 
+		/**
+		 * Loads a large number of documents with at most {@code concurrency} requests outstanding at any time. Unlike
+		 * {@link #all(Collection)}, a missing document or a failed request does not end the batch, every id is reported
+		 * with its own {@link FindByIdResult}.
+		 *
+		 * @param ids the document ids.
+		 * @param concurrency the maximum number of requests in flight, must be greater than 0.
+		 * @param ordered {@literal true} to return the results in the order of {@code ids}, {@literal false} to return them
+		 *          in completion order.
+		 * @return one result per id.
+		 */
+		List<FindByIdResult<T>> batch(Collection<String> ids, int concurrency, boolean ordered);
+
 	}
 
 	/**
@@ -19,14 +19,29 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.couchbase.core.ReactiveFindByIdOperationSupport.ReactiveFindByIdSupport;
+import org.springframework.data.couchbase.core.support.PseudoArgs;
 import org.springframework.util.Assert;
 
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.java.AsyncCollection;
+import com.couchbase.client.java.kv.GetAndTouchOptions;
 import com.couchbase.client.java.kv.GetOptions;
+import com.couchbase.client.java.kv.GetResult;
 
+/**
+ * {@link ExecutableFindByIdOperation} implementations for Couchbase. Gets are issued through the SDK's blocking and
+ * async collection APIs and decoded on the calling thread; options and collection resolution are shared with
+ * {@link ReactiveFindByIdOperationSupport}.
+ */
 public class ExecutableFindByIdOperationSupport implements ExecutableFindByIdOperation {
 
+	private static final Logger LOG = LoggerFactory.getLogger(ExecutableFindByIdOperationSupport.class);
+
 	private final CouchbaseTemplate template;
 
 	ExecutableFindByIdOperationSupport(CouchbaseTemplate template) {
@@ -64,12 +79,85 @@ public class ExecutableFindByIdOperationSupport implements ExecutableFindByIdOpe
 
 		@Override
 		public T one(final String id) {
-			return reactiveSupport.one(id).block();
+			PseudoArgs<?> pArgs = reactiveSupport.pseudoArgs();
+			LOG.trace("findById {}", pArgs);
+			Object gOptions = pArgs.getOptions();
+			try {
+				com.couchbase.client.java.Collection coll = getCollection(pArgs);
+				GetResult result = gOptions instanceof GetAndTouchOptions
+						? coll.getAndTouch(id, reactiveSupport.expiryToUse(), (GetAndTouchOptions) gOptions)
+						: coll.get(id, (GetOptions) gOptions);
+				return decode(id, result);
+			} catch (DocumentNotFoundException ex) {
+				return null;
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
 		}
 
 		@Override
 		public Collection<? extends T> all(final Collection<String> ids) {
-			return reactiveSupport.all(ids).collectList().block();
+			PseudoArgs<?> pArgs = reactiveSupport.pseudoArgs();
+			LOG.trace("findById all {}", pArgs);
+			try {
+				AsyncCollection async = getCollection(pArgs).async();
+				AsyncWindow<T> window = new AsyncWindow<>(ReactiveCouchbaseTemplate.DEFAULT_BATCH_CONCURRENCY, ids.size());
+				for (String id : ids) {
+					window.add(get(async, pArgs.getOptions(), id), result -> decode(id, result),
+							error -> error instanceof DocumentNotFoundException ? null : AsyncWindow.rethrow(error));
+				}
+				return window.finish();
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
+		}
+
+		/**
+		 * Results are always returned in the order of the ids, which also satisfies an unordered batch.
+		 */
+		@Override
+		public List<FindByIdResult<T>> batch(final Collection<String> ids, final int concurrency, final boolean ordered) {
+			Assert.notNull(ids, "Ids must not be null.");
+			Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0.");
+			PseudoArgs<?> pArgs = reactiveSupport.pseudoArgs();
+			LOG.trace("findById batch of {} {}", ids.size(), pArgs);
+			AsyncCollection async = getCollection(pArgs).async();
+			AsyncWindow<FindByIdResult<T>> window = new AsyncWindow<>(concurrency, ids.size());
+			for (String id : ids) {
+				window.add(get(async, pArgs.getOptions(), id), result -> {
+					try {
+						return FindByIdResult.found(id, decode(id, result));
+					} catch (RuntimeException ex) {
+						return FindByIdResult.failed(id, template.reactive().potentiallyConvertRuntimeException(ex));
+					}
+				}, error -> error instanceof DocumentNotFoundException ? FindByIdResult.notFound(id)
+						: FindByIdResult.failed(id, potentiallyConvert(error)));
+			}
+			return window.finish();
+		}
+
+		private com.couchbase.client.java.Collection getCollection(PseudoArgs<?> pArgs) {
+			return template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getCollection(pArgs.getCollection());
+		}
+
+		private CompletableFuture<GetResult> get(AsyncCollection async, Object options, String id) {
+			try {
+				return options instanceof GetAndTouchOptions
+						? async.getAndTouch(id, reactiveSupport.expiryToUse(), (GetAndTouchOptions) options)
+						: async.get(id, (GetOptions) options);
+			} catch (RuntimeException ex) {
+				return AsyncWindow.failed(ex);
+			}
+		}
+
+		private Throwable potentiallyConvert(Throwable throwable) {
+			return throwable instanceof RuntimeException
+					? template.reactive().potentiallyConvertRuntimeException((RuntimeException) throwable)
+					: throwable;
+		}
+
+		private T decode(String id, GetResult result) {
+			return template.support().decodeEntity(id, result.contentAs(byte[].class), result.cas(), domainType);
 		}
 
 		@Override
@@ -15,14 +15,24 @@
  */
 package org.springframework.data.couchbase.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.data.couchbase.core.ReactiveFindByQueryOperationSupport.ReactiveFindByQuerySupport;
+import org.springframework.data.couchbase.core.convert.join.N1qlJoinResolver;
 import org.springframework.data.couchbase.core.query.Query;
+import org.springframework.data.couchbase.core.support.PseudoArgs;
 import org.springframework.util.Assert;
 
+import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.query.QueryOptions;
+import com.couchbase.client.java.query.QueryResult;
 import com.couchbase.client.java.query.QueryScanConsistency;
 
 /**
@@ -33,6 +43,8 @@ import com.couchbase.client.java.query.QueryScanConsistency;
  */
 public class ExecutableFindByQueryOperationSupport implements ExecutableFindByQueryOperation {
 
+	private static final Logger LOG = LoggerFactory.getLogger(ExecutableFindByQueryOperationSupport.class);
+
 	private static final Query ALL_QUERY = new Query();
 
 	private final CouchbaseTemplate template;
@@ -81,17 +93,52 @@ public class ExecutableFindByQueryOperationSupport implements ExecutableFindByQu
 
 		@Override
 		public T oneValue() {
-			return reactiveSupport.one().block();
+			List<T> all = all();
+			if (all.size() > 1) {
+				throw new IncorrectResultSizeDataAccessException(1, all.size());
+			}
+			return all.isEmpty() ? null : all.get(0);
 		}
 
 		@Override
 		public T firstValue() {
-			return reactiveSupport.first().block();
+			PseudoArgs<QueryOptions> pArgs = reactiveSupport.pseudoArgs();
+			String statement = reactiveSupport.statement(pArgs, false);
+			Iterator<byte[]> rows = query(pArgs, statement).rowsAs(byte[].class).iterator();
+			if (!rows.hasNext()) {
+				return null;
+			}
+			return decode(Collections.singletonList(rows.next()), statement).get(0);
 		}
 
 		@Override
 		public List<T> all() {
-			return reactiveSupport.all().collectList().block();
+			PseudoArgs<QueryOptions> pArgs = reactiveSupport.pseudoArgs();
+			String statement = reactiveSupport.statement(pArgs, false);
+			return decode(query(pArgs, statement).rowsAs(byte[].class), statement);
+		}
+
+		/**
+		 * Runs the statement on the blocking API of the SDK, in the scope of the pseudoArgs if there is one.
+		 */
+		private QueryResult query(PseudoArgs<QueryOptions> pArgs, String statement) {
+			LOG.trace("findByQuery {} statement: {}", pArgs, statement);
+			QueryOptions opts = reactiveSupport.buildOptions(pArgs, statement);
+			try {
+				return pArgs.getScope() == null ? template.getCouchbaseClientFactory().getCluster().query(statement, opts)
+						: template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getScope().query(statement, opts);
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
+		}
+
+		private List<T> decode(List<byte[]> rows, String statement) {
+			boolean withMeta = reactiveSupport.withMeta();
+			List<T> entities = new ArrayList<>(rows.size());
+			for (byte[] row : rows) {
+				entities.add(template.support().decodeRow(row, withMeta, statement, returnType));
+			}
+			return withMeta ? N1qlJoinResolver.resolveEagerBlocking(template.reactive(), returnType, entities) : entities;
 		}
 
 		@Override
@@ -148,16 +195,18 @@ public class ExecutableFindByQueryOperationSupport implements ExecutableFindByQu
 
 		@Override
 		public Stream<T> stream() {
-			return reactiveSupport.all().toStream();
+			return all().stream();
 		}
 
 		@Override
 		public long count() {
-			Long l = reactiveSupport.count().block();
-			if (l == null) {
+			PseudoArgs<QueryOptions> pArgs = reactiveSupport.pseudoArgs();
+			List<JsonObject> rows = query(pArgs, reactiveSupport.statement(pArgs, true)).rowsAsObject();
+			if (rows.isEmpty()) {
 				throw new CouchbaseQueryExecutionException("count query did not return a count : " + query.export());
 			}
-			return l;
+			JsonObject row = rows.get(0);
+			return row.getLong(row.getNames().iterator().next());
 		}
 
 		@Override
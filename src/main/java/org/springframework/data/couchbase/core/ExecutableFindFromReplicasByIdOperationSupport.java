@@ -17,13 +17,20 @@ package org.springframework.data.couchbase.core;
 
 import java.util.Collection;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.couchbase.core.ReactiveFindFromReplicasByIdOperationSupport.ReactiveFindFromReplicasByIdSupport;
+import org.springframework.data.couchbase.core.support.PseudoArgs;
 import org.springframework.util.Assert;
 
+import com.couchbase.client.java.AsyncCollection;
 import com.couchbase.client.java.kv.GetAnyReplicaOptions;
+import com.couchbase.client.java.kv.GetReplicaResult;
 
 public class ExecutableFindFromReplicasByIdOperationSupport implements ExecutableFindFromReplicasByIdOperation {
 
+	private static final Logger LOG = LoggerFactory.getLogger(ExecutableFindFromReplicasByIdOperationSupport.class);
+
 	private final CouchbaseTemplate template;
 
 	ExecutableFindFromReplicasByIdOperationSupport(CouchbaseTemplate template) {
@@ -59,12 +66,35 @@ public class ExecutableFindFromReplicasByIdOperationSupport implements Executabl
 
 		@Override
 		public T any(String id) {
-			return reactiveSupport.any(id).block();
+			PseudoArgs<GetAnyReplicaOptions> pArgs = reactiveSupport.pseudoArgs();
+			LOG.trace("getAnyReplica {}", pArgs);
+			try {
+				GetReplicaResult result = getCollection(pArgs).getAnyReplica(id, pArgs.getOptions());
+				return template.support().decodeEntity(id, result.contentAs(byte[].class), result.cas(), returnType);
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
 		}
 
 		@Override
 		public Collection<? extends T> any(Collection<String> ids) {
-			return reactiveSupport.any(ids).collectList().block();
+			PseudoArgs<GetAnyReplicaOptions> pArgs = reactiveSupport.pseudoArgs();
+			LOG.trace("getAnyReplica all {}", pArgs);
+			AsyncCollection async = getCollection(pArgs).async();
+			AsyncWindow<T> window = new AsyncWindow<>(ReactiveCouchbaseTemplate.DEFAULT_BATCH_CONCURRENCY, ids.size());
+			try {
+				for (String id : ids) {
+					window.add(async.getAnyReplica(id, pArgs.getOptions()), result -> template.support().decodeEntity(id,
+							result.contentAs(byte[].class), result.cas(), returnType), AsyncWindow::rethrow);
+				}
+				return window.finish();
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
+		}
+
+		private com.couchbase.client.java.Collection getCollection(PseudoArgs<GetAnyReplicaOptions> pArgs) {
+			return template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getCollection(pArgs.getCollection());
 		}
 
 		@Override
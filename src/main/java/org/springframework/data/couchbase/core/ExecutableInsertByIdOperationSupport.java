@@ -17,17 +17,27 @@ package org.springframework.data.couchbase.core;
 
 import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.couchbase.core.ReactiveInsertByIdOperationSupport.ReactiveInsertByIdSupport;
+import org.springframework.data.couchbase.core.mapping.CouchbaseDocument;
+import org.springframework.data.couchbase.core.support.PseudoArgs;
 import org.springframework.util.Assert;
 
 import com.couchbase.client.core.msg.kv.DurabilityLevel;
+import com.couchbase.client.java.AsyncCollection;
 import com.couchbase.client.java.kv.InsertOptions;
 import com.couchbase.client.java.kv.PersistTo;
 import com.couchbase.client.java.kv.ReplicateTo;
 
 public class ExecutableInsertByIdOperationSupport implements ExecutableInsertByIdOperation {
 
+	private static final Logger LOG = LoggerFactory.getLogger(ExecutableInsertByIdOperationSupport.class);
+
 	private final CouchbaseTemplate template;
 
 	public ExecutableInsertByIdOperationSupport(final CouchbaseTemplate template) {
@@ -72,12 +82,81 @@ public class ExecutableInsertByIdOperationSupport implements ExecutableInsertByI
 
 		@Override
 		public T one(final T object) {
-			return reactiveSupport.one(object).block();
+			PseudoArgs<InsertOptions> pArgs = reactiveSupport.pseudoArgs();
+			LOG.trace("insertById {}", pArgs);
+			try {
+				CouchbaseDocument converted = template.support().encodeEntity(object);
+				InsertOptions insertOptions = reactiveSupport.buildOptions(pArgs.getOptions(), converted);
+				long cas = pArgs.recordMutation(getCollection(pArgs)
+						.insert(converted.getId(), reactiveSupport.encodeContent(insertOptions, converted), insertOptions)).cas();
+				return applyResult(object, converted, cas);
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
 		}
 
 		@Override
 		public Collection<? extends T> all(Collection<? extends T> objects) {
-			return reactiveSupport.all(objects).collectList().block();
+			PseudoArgs<InsertOptions> pArgs = reactiveSupport.pseudoArgs();
+			LOG.trace("insertById all {}", pArgs);
+			try {
+				return insert(pArgs, objects, ReactiveCouchbaseTemplate.DEFAULT_BATCH_CONCURRENCY,
+						(object, result) -> result, (object, error) -> AsyncWindow.rethrow(error));
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
+		}
+
+		@Override
+		public List<MutationResult<T>> batch(Collection<? extends T> objects, int concurrency) {
+			Assert.notNull(objects, "Objects must not be null.");
+			Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0.");
+			PseudoArgs<InsertOptions> pArgs = reactiveSupport.pseudoArgs();
+			LOG.trace("insertById batch of {} {}", objects.size(), pArgs);
+			return insert(pArgs, objects, concurrency, MutationResult::succeeded,
+					(object, error) -> MutationResult.failed(object, error instanceof RuntimeException
+							? template.reactive().potentiallyConvertRuntimeException((RuntimeException) error)
+							: error));
+		}
+
+		/**
+		 * Encodes each object on the calling thread, see {@link AsyncWindow}, and keeps up to {@code concurrency} writes
+		 * outstanding on the async collection, finishing them in input order.
+		 */
+		private <O> List<O> insert(PseudoArgs<InsertOptions> pArgs, Collection<? extends T> objects, int concurrency,
+				BiFunction<T, T, O> onSuccess, BiFunction<T, Throwable, O> onError) {
+			AsyncCollection async = getCollection(pArgs).async();
+			AsyncWindow<O> window = new AsyncWindow<>(concurrency, objects.size());
+			for (T object : objects) {
+				CouchbaseDocument converted = null;
+				CompletableFuture<com.couchbase.client.java.kv.MutationResult> call;
+				try {
+					converted = template.support().encodeEntity(object);
+					InsertOptions insertOptions = reactiveSupport.buildOptions(pArgs.getOptions(), converted);
+					call = async.insert(converted.getId(),
+							reactiveSupport.encodeContent(insertOptions, converted), insertOptions);
+				} catch (RuntimeException ex) {
+					call = AsyncWindow.failed(ex);
+				}
+				CouchbaseDocument written = converted;
+				window.add(call, result -> {
+					try {
+						return onSuccess.apply(object, applyResult(object, written, pArgs.recordMutation(result).cas()));
+					} catch (RuntimeException ex) {
+						return onError.apply(object, ex);
+					}
+				}, error -> onError.apply(object, error));
+			}
+			return window.finish();
+		}
+
+		private T applyResult(T object, CouchbaseDocument converted, long cas) {
+			T updatedObject = template.support().applyUpdatedId(object, converted.getId());
+			return template.support().applyUpdatedCas(updatedObject, converted, cas);
+		}
+
+		private com.couchbase.client.java.Collection getCollection(PseudoArgs<InsertOptions> pArgs) {
+			return template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getCollection(pArgs.getCollection());
 		}
 
 		@Override
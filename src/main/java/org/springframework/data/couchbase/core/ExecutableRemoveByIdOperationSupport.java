@@ -18,16 +18,22 @@ package org.springframework.data.couchbase.core;
 import java.util.Collection;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.couchbase.core.ReactiveRemoveByIdOperationSupport.ReactiveRemoveByIdSupport;
+import org.springframework.data.couchbase.core.support.PseudoArgs;
 import org.springframework.util.Assert;
 
 import com.couchbase.client.core.msg.kv.DurabilityLevel;
+import com.couchbase.client.java.AsyncCollection;
 import com.couchbase.client.java.kv.PersistTo;
 import com.couchbase.client.java.kv.RemoveOptions;
 import com.couchbase.client.java.kv.ReplicateTo;
 
 public class ExecutableRemoveByIdOperationSupport implements ExecutableRemoveByIdOperation {
 
+	private static final Logger LOG = LoggerFactory.getLogger(ExecutableRemoveByIdOperationSupport.class);
+
 	private final CouchbaseTemplate template;
 
 	public ExecutableRemoveByIdOperationSupport(final CouchbaseTemplate template) {
@@ -77,12 +83,34 @@ public class ExecutableRemoveByIdOperationSupport implements ExecutableRemoveByI
 
 		@Override
 		public RemoveResult one(final String id) {
-			return reactiveRemoveByIdSupport.one(id).block();
+			PseudoArgs<RemoveOptions> pArgs = reactiveRemoveByIdSupport.pseudoArgs();
+			LOG.trace("removeById {}", pArgs);
+			try {
+				return RemoveResult.from(id, pArgs.recordMutation(
+						template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getCollection(pArgs.getCollection())
+								.remove(id, reactiveRemoveByIdSupport.buildRemoveOptions(pArgs.getOptions()))));
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
 		}
 
 		@Override
 		public List<RemoveResult> all(final Collection<String> ids) {
-			return reactiveRemoveByIdSupport.all(ids).collectList().block();
+			PseudoArgs<RemoveOptions> pArgs = reactiveRemoveByIdSupport.pseudoArgs();
+			LOG.trace("removeById all {}", pArgs);
+			AsyncCollection async = template.getCouchbaseClientFactory().withScope(pArgs.getScope())
+					.getCollection(pArgs.getCollection()).async();
+			AsyncWindow<RemoveResult> window = new AsyncWindow<>(ReactiveCouchbaseTemplate.DEFAULT_BATCH_CONCURRENCY,
+					ids.size());
+			try {
+				for (String id : ids) {
+					window.add(async.remove(id, reactiveRemoveByIdSupport.buildRemoveOptions(pArgs.getOptions())),
+							result -> RemoveResult.from(id, pArgs.recordMutation(result)), AsyncWindow::rethrow);
+				}
+				return window.finish();
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
 		}
 
 		@Override
@@ -16,16 +16,25 @@
 package org.springframework.data.couchbase.core;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.couchbase.core.ReactiveRemoveByQueryOperationSupport.ReactiveRemoveByQuerySupport;
 import org.springframework.data.couchbase.core.query.Query;
+import org.springframework.data.couchbase.core.support.PseudoArgs;
+import org.springframework.data.couchbase.core.support.TemplateUtils;
 import org.springframework.util.Assert;
 
 import com.couchbase.client.java.query.QueryOptions;
+import com.couchbase.client.java.query.QueryResult;
 import com.couchbase.client.java.query.QueryScanConsistency;
 
 public class ExecutableRemoveByQueryOperationSupport implements ExecutableRemoveByQueryOperation {
 
+	private static final Logger LOG = LoggerFactory.getLogger(ExecutableRemoveByQueryOperationSupport.class);
+
 	private static final Query ALL_QUERY = new Query();
 
 	private final CouchbaseTemplate template;
@@ -65,7 +74,23 @@ public class ExecutableRemoveByQueryOperationSupport implements ExecutableRemove
 
 		@Override
 		public List<RemoveResult> all() {
-			return reactiveSupport.all().collectList().block();
+			PseudoArgs<QueryOptions> pArgs = reactiveSupport.pseudoArgs();
+			String statement = reactiveSupport.statement(pArgs);
+			LOG.trace("removeByQuery {} statement: {}", pArgs, statement);
+			QueryOptions queryOptions = reactiveSupport.buildQueryOptions(pArgs, statement);
+			QueryResult result;
+			try {
+				result = pArgs.getScope() == null
+						? template.getCouchbaseClientFactory().getCluster().query(statement, queryOptions)
+						: template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getScope().query(statement,
+								queryOptions);
+			} catch (RuntimeException ex) {
+				throw template.reactive().potentiallyConvertRuntimeException(ex);
+			}
+			return result.rowsAsObject().stream()
+					.map(row -> new RemoveResult(row.getString(TemplateUtils.SELECT_ID), row.getLong(TemplateUtils.SELECT_CAS),
+							Optional.empty()))
+					.collect(Collectors.toList());
 		}
 
 		@Override
@@ -17,6 +17,7 @@ package org.springframework.data.couchbase.core;
 
 import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
 
 import org.springframework.data.couchbase.core.support.InCollection;
 import org.springframework.data.couchbase.core.support.InScope;
@@ -66,6 +67,17 @@ public interface ExecutableUpsertByIdOperation {
 		@Override
 		Collection<? extends T> all(Collection<? extends T> objects);
 
+		/**
+		 * Upsert a large number of entities with at most {@code concurrency} mutations in flight. Unlike
+		 * {@link #all(Collection)}, a failed mutation does not end the batch, every entity is reported with its own
+		 * {@link MutationResult}, in the order of {@code objects}.
+		 *
+		 * @param objects the entities to upsert.
+		 * @param concurrency the maximum number of mutations in flight, must be greater than 0.
+		 * @return one result per entity.
+		 */
+		List<MutationResult<T>> batch(Collection<? extends T> objects, int concurrency);
+
 	}
 
 	/**
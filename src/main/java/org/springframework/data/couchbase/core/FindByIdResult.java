@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Outcome of loading a single id as part of a batch, see {@link ReactiveFindByIdOperation.TerminatingFindById#batch}.
+ * Exactly one of found, not found or failed applies.
+ *
+ * @param <T> the entity type.
+ * @since 4.3
+ */
+public final class FindByIdResult<T> {
+
+	private final String id;
+	private final T entity;
+	private final Throwable error;
+
+	private FindByIdResult(final String id, final T entity, final Throwable error) {
+		this.id = id;
+		this.entity = entity;
+		this.error = error;
+	}
+
+	static <T> FindByIdResult<T> found(final String id, final T entity) {
+		return new FindByIdResult<>(id, entity, null);
+	}
+
+	static <T> FindByIdResult<T> notFound(final String id) {
+		return new FindByIdResult<>(id, null, null);
+	}
+
+	static <T> FindByIdResult<T> failed(final String id, final Throwable error) {
+		return new FindByIdResult<>(id, null, error);
+	}
+
+	/**
+	 * The id that was loaded.
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * The loaded entity, {@literal null} if the document does not exist or could not be loaded.
+	 */
+	@Nullable
+	public T getEntity() {
+		return entity;
+	}
+
+	/**
+	 * The error that prevented loading the document, {@literal null} if it was loaded or does not exist.
+	 */
+	@Nullable
+	public Throwable getError() {
+		return error;
+	}
+
+	public boolean isFound() {
+		return entity != null;
+	}
+
+	public boolean isFailed() {
+		return error != null;
+	}
+
+	@Override
+	public String toString() {
+		return "FindByIdResult{id=" + id + (isFound() ? ", found" : isFailed() ? ", error=" + error : ", not found") + "}";
+	}
+
+}
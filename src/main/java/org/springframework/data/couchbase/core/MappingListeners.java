@@ -0,0 +1,207 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.GenericApplicationListener;
+import org.springframework.context.event.GenericApplicationListenerAdapter;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.couchbase.core.mapping.event.AbstractCouchbaseEventListener;
+import org.springframework.data.couchbase.core.mapping.event.CouchbaseMappingEvent;
+import org.springframework.data.mapping.callback.EntityCallback;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Knows which {@link CouchbaseMappingEvent}s and {@link EntityCallback}s of an {@link ApplicationContext} have
+ * listeners for a domain type, so that events and callbacks nobody listens to are neither created nor dispatched.
+ * <p>
+ * The listeners are resolved on first use after the context is refreshed, and again after each refresh of the
+ * context or {@link #refresh()}. Until the context is refreshed, and for contexts whose listeners cannot be listed,
+ * everything is assumed to have listeners.
+ */
+final class MappingListeners implements ApplicationListener<ContextRefreshedEvent> {
+
+	private final ApplicationContext applicationContext;
+	private final Map<Class<?>, Map<Class<?>, Boolean>> resolved = new ConcurrentHashMap<>();
+	private volatile boolean refreshed;
+	private volatile Listeners listeners;
+
+	MappingListeners(final ApplicationContext applicationContext) {
+		this.applicationContext = applicationContext;
+		if (applicationContext instanceof ConfigurableApplicationContext) {
+			((ConfigurableApplicationContext) applicationContext).addApplicationListener(this);
+		}
+	}
+
+	@Override
+	public void onApplicationEvent(final ContextRefreshedEvent event) {
+		if (event.getApplicationContext() == applicationContext) {
+			refresh();
+		}
+	}
+
+	/**
+	 * Forgets the resolved listeners, for instance after listeners were added to or removed from the context. Also
+	 * starts resolving them for a context that was already refreshed when this was created.
+	 */
+	void refresh() {
+		listeners = null;
+		resolved.clear();
+		refreshed = true;
+	}
+
+	/**
+	 * Are there {@link ApplicationListener}s for events of the given type about entities of the given type?
+	 *
+	 * @param eventType a {@link CouchbaseMappingEvent} type.
+	 */
+	boolean hasListeners(final Class<?> eventType, final Class<?> domainType) {
+		Assert.isAssignable(CouchbaseMappingEvent.class, eventType);
+		if (!refreshed) {
+			return true;
+		}
+		return resolved.computeIfAbsent(eventType, t -> new ConcurrentHashMap<>()).computeIfAbsent(domainType,
+				t -> resolveListeners(eventType, domainType));
+	}
+
+	/**
+	 * Are there {@link EntityCallback} beans of the given type for entities of the given type?
+	 *
+	 * @param callbackType an {@link EntityCallback} type.
+	 */
+	boolean hasCallbacks(final Class<?> callbackType, final Class<?> domainType) {
+		Assert.isAssignable(EntityCallback.class, callbackType);
+		if (!refreshed) {
+			return true;
+		}
+		return resolved.computeIfAbsent(callbackType, t -> new ConcurrentHashMap<>()).computeIfAbsent(domainType,
+				t -> resolveCallbacks(callbackType, domainType));
+	}
+
+	private boolean resolveListeners(final Class<?> eventType, final Class<?> domainType) {
+		Listeners candidates = listeners;
+		if (candidates == null) {
+			candidates = listApplicationListeners();
+			if (candidates == null) {
+				return true;
+			}
+			listeners = candidates;
+		}
+		ResolvableType type = ResolvableType.forClass(eventType);
+		for (ApplicationListener<?> listener : candidates.instances) {
+			GenericApplicationListener adapter = listener instanceof GenericApplicationListener
+					? (GenericApplicationListener) listener
+					: new GenericApplicationListenerAdapter(listener);
+			if (adapter.supportsEventType(type) && adapter.supportsSourceType(domainType)
+					&& listensTo(listener.getClass(), domainType)) {
+				return true;
+			}
+		}
+		for (Class<?> beanType : candidates.beanTypes) {
+			if (supportsEventType(beanType, type) && listensTo(beanType, domainType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Like {@link GenericApplicationListenerAdapter#supportsEventType(ResolvableType)}, but for a listener bean that is
+	 * not created for this. Listeners that decide at runtime are assumed to support every event.
+	 */
+	private static boolean supportsEventType(final Class<?> listenerType, final ResolvableType eventType) {
+		if (GenericApplicationListener.class.isAssignableFrom(listenerType)
+				|| SmartApplicationListener.class.isAssignableFrom(listenerType)) {
+			return true;
+		}
+		ResolvableType declared = ResolvableType.forClass(listenerType).as(ApplicationListener.class).getGeneric();
+		return declared == ResolvableType.NONE || declared.isAssignableFrom(eventType);
+	}
+
+	private static boolean listensTo(final Class<?> listenerType, final Class<?> domainType) {
+		if (!AbstractCouchbaseEventListener.class.isAssignableFrom(listenerType)) {
+			return true;
+		}
+		Class<?> listenedType = GenericTypeResolver.resolveTypeArgument(listenerType,
+				AbstractCouchbaseEventListener.class);
+		return listenedType == null || listenedType.isAssignableFrom(domainType);
+	}
+
+	/**
+	 * The listeners events published to the context are multicast to, including those of its ancestors. Listener beans
+	 * are only looked at by type, so that prototype and scoped beans are not created just to find out about them.
+	 * {@literal null} if they cannot be listed.
+	 */
+	@Nullable
+	private Listeners listApplicationListeners() {
+		List<ApplicationListener<?>> instances = new ArrayList<>();
+		List<Class<?>> beanTypes = new ArrayList<>();
+		for (ApplicationContext context = applicationContext; context != null; context = context.getParent()) {
+			if (!(context instanceof AbstractApplicationContext)) {
+				return null;
+			}
+			instances.addAll(((AbstractApplicationContext) context).getApplicationListeners());
+			for (String name : context.getBeanNamesForType(ApplicationListener.class, true, false)) {
+				Class<?> beanType = context.getType(name, false);
+				if (beanType == null) {
+					return null;
+				}
+				beanTypes.add(ClassUtils.getUserClass(beanType));
+			}
+		}
+		return new Listeners(instances, beanTypes);
+	}
+
+	private boolean resolveCallbacks(final Class<?> callbackType, final Class<?> domainType) {
+		for (String name : BeanFactoryUtils.beanNamesForTypeIncludingAncestors(applicationContext, callbackType)) {
+			Class<?> beanType = applicationContext.getType(name);
+			if (beanType == null) {
+				return true;
+			}
+			Class<?> entityType = ResolvableType.forClass(beanType).as(callbackType).getGeneric(0).resolve(Object.class);
+			if (entityType.isAssignableFrom(domainType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static final class Listeners {
+
+		private final List<ApplicationListener<?>> instances;
+		private final List<Class<?>> beanTypes;
+
+		private Listeners(final List<ApplicationListener<?>> instances, final List<Class<?>> beanTypes) {
+			this.instances = instances;
+			this.beanTypes = beanTypes;
+		}
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Outcome of writing a single entity as part of a batch, see for example
+ * {@link ReactiveUpsertByIdOperation.TerminatingUpsertById#batch}.
+ *
+ * @param <T> the entity type.
+ * @since 4.3
+ */
+public final class MutationResult<T> {
+
+	private final T object;
+	private final T result;
+	private final Throwable error;
+
+	private MutationResult(final T object, final T result, final Throwable error) {
+		this.object = object;
+		this.result = result;
+		this.error = error;
+	}
+
+	/**
+	 * Runs the given mutation of {@code object}, turning its outcome into a {@link MutationResult}.
+	 */
+	static <T> Mono<MutationResult<T>> of(final T object, final Mono<T> mutation) {
+		return mutation.map(result -> succeeded(object, result)).onErrorResume(error -> Mono.just(failed(object, error)));
+	}
+
+	static <T> MutationResult<T> succeeded(final T object, final T result) {
+		return new MutationResult<>(object, result, null);
+	}
+
+	static <T> MutationResult<T> failed(final T object, final Throwable error) {
+		return new MutationResult<>(object, null, error);
+	}
+
+	/**
+	 * The entity that was passed in.
+	 */
+	public T getObject() {
+		return object;
+	}
+
+	/**
+	 * The written entity, with its updated id, CAS and version, {@literal null} if the mutation failed.
+	 */
+	@Nullable
+	public T getResult() {
+		return result;
+	}
+
+	/**
+	 * The error that prevented the mutation, {@literal null} if it succeeded.
+	 */
+	@Nullable
+	public Throwable getError() {
+		return error;
+	}
+
+	public boolean isSuccessful() {
+		return error == null;
+	}
+
+	@Override
+	public String toString() {
+		return "MutationResult{object=" + object + (isSuccessful() ? "" : ", error=" + error) + "}";
+	}
+
+}
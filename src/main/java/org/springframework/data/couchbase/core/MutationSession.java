@@ -0,0 +1,144 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.function.Supplier;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.couchbase.client.core.msg.kv.MutationToken;
+import com.couchbase.client.java.kv.MutationState;
+
+/**
+ * Read-your-own-writes for a unit of work. The insert, upsert, replace and remove by id operations run within a
+ * session record the {@link MutationToken}s of their results, and the query operations (find, count and remove by
+ * query) run within it wait for the index to contain those mutations only, with
+ * {@link com.couchbase.client.java.query.QueryOptions#consistentWith(MutationState)}, instead of for all mutations of
+ * the bucket as with {@link com.couchbase.client.java.query.QueryScanConsistency#REQUEST_PLUS}. Queries that ask for
+ * {@code REQUEST_PLUS} keep it.
+ * <p>
+ * Operations of {@link CouchbaseTemplate} and of blocking repositories run within a session when called by
+ * {@link #execute(Supplier)}, operations of {@link ReactiveCouchbaseTemplate} and of reactive repositories when their
+ * subscriber has the session in its Reactor context, see {@link #putIn(Context)}. A session can be used by many
+ * operations at once.
+ * <p>
+ * Mutation tokens must be enabled in the environment of the cluster, which is the default.
+ */
+public final class MutationSession {
+
+	/**
+	 * Key of the session in the Reactor {@link Context} of a reactive operation.
+	 */
+	public static final Object CONTEXT_KEY = MutationSession.class;
+
+	private static final ThreadLocal<MutationSession> CURRENT = new NamedThreadLocal<>("Couchbase mutation session");
+
+	private volatile @Nullable MutationState mutationState;
+
+	/**
+	 * The session bound to the calling thread by {@link #execute(Supplier)}, {@literal null} if there is none.
+	 */
+	@Nullable
+	public static MutationSession current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * The session in the Reactor context of a subscriber, the one bound to the calling thread if there is none.
+	 */
+	@Nullable
+	public static MutationSession current(final ContextView context) {
+		return context.getOrDefault(CONTEXT_KEY, current());
+	}
+
+	/**
+	 * Calls the callback with this session bound to the calling thread, restoring the previous binding afterwards.
+	 *
+	 * @param callback the unit of work.
+	 * @return the result of the callback.
+	 */
+	public <T> T execute(final Supplier<T> callback) {
+		Assert.notNull(callback, "Callback must not be null!");
+		MutationSession previous = CURRENT.get();
+		CURRENT.set(this);
+		try {
+			return callback.get();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Adds this session to a Reactor context, as in {@code flux.contextWrite(session::putIn)}.
+	 */
+	public Context putIn(final Context context) {
+		return context.put(CONTEXT_KEY, this);
+	}
+
+	/**
+	 * Records the mutation token of the result, if it has one.
+	 */
+	public void record(final com.couchbase.client.java.kv.MutationResult result) {
+		result.mutationToken().ifPresent(this::record);
+	}
+
+	/**
+	 * Records the mutation token. Only the most recent token of each partition is kept.
+	 */
+	public void record(final MutationToken token) {
+		MutationState state = mutationState;
+		if (state == null) {
+			synchronized (this) {
+				state = mutationState;
+				if (state == null) {
+					mutationState = MutationState.from(token);
+					return;
+				}
+			}
+		}
+		state.add(token);
+	}
+
+	/**
+	 * Did the session record any mutation token yet?
+	 */
+	public boolean isEmpty() {
+		return mutationState == null;
+	}
+
+	/**
+	 * The mutation tokens recorded so far, live. {@literal null} until a token is recorded.
+	 */
+	@Nullable
+	public MutationState getMutationState() {
+		return mutationState;
+	}
+
+	@Override
+	public String toString() {
+		return "MutationSession{" + mutationState + "}";
+	}
+
+}
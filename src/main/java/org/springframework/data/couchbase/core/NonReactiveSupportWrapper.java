@@ -39,11 +39,31 @@ public class NonReactiveSupportWrapper implements ReactiveTemplateSupport {
 		return Mono.fromSupplier(() -> support.encodeEntity(entityToEncode));
 	}
 
+	@Override
+	public byte[] encodeContent(CouchbaseDocument converted) {
+		return support.encodeContent(converted);
+	}
+
 	@Override
 	public <T> Mono<T> decodeEntity(String id, String source, long cas, Class<T> entityClass) {
 		return Mono.fromSupplier(() -> support.decodeEntity(id, source, cas, entityClass));
 	}
 
+	@Override
+	public <T> Mono<T> decodeEntity(String id, byte[] source, long cas, Class<T> entityClass) {
+		return Mono.fromSupplier(() -> support.decodeEntity(id, source, cas, entityClass));
+	}
+
+	@Override
+	public <T> Mono<T> decodeRow(byte[] row, boolean withMeta, String statement, Class<T> entityClass) {
+		return Mono.fromSupplier(() -> support.decodeRow(row, withMeta, statement, entityClass));
+	}
+
+	@Override
+	public <T> Mono<T> decodeAnalyticsRow(byte[] row, String statement, Class<T> entityClass) {
+		return Mono.fromSupplier(() -> support.decodeAnalyticsRow(row, statement, entityClass));
+	}
+
 	@Override
 	public Mono<Object> applyUpdatedCas(Object entity, CouchbaseDocument converted, long cas) {
 		return Mono.fromSupplier(() -> support.applyUpdatedCas(entity, converted, cas));
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+import com.couchbase.client.java.query.QueryOptions;
+
+/**
+ * Remembers the most recently used N1QL statements of a {@link ReactiveCouchbaseTemplate} so that statements which are
+ * sent repeatedly are executed with {@code adhoc(false)}, letting the query service reuse its prepared plan instead of
+ * parsing and planning them again.
+ * <p>
+ * A statement is only prepared from its second execution on, one-off statements never take a prepared slot on the
+ * server. The number of remembered statements is bounded, the least recently used one is forgotten first.
+ * <p>
+ * Repeated statements run with {@code adhoc(false)} even if the caller's {@link QueryOptions} set {@code adhoc(true)}:
+ * the options do not expose their adhoc flag, so an explicit {@code adhoc(true)} cannot be told from the default. A
+ * cache of size 0 leaves the flag alone, see {@link ReactiveCouchbaseTemplate#setPreparedStatementCache}.
+ */
+public final class PreparedStatementCache {
+
+	public static final int DEFAULT_MAX_SIZE = 1024;
+
+	private final int maxSize;
+	private final Map<String, Boolean> statements;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public PreparedStatementCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	public PreparedStatementCache(final int maxSize) {
+		Assert.isTrue(maxSize >= 0, "maxSize must not be negative.");
+		this.maxSize = maxSize;
+		this.statements = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+				return size() > PreparedStatementCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Records an execution of the statement and sets {@code adhoc(false)} on the options if it was executed before,
+	 * overriding an {@code adhoc(true)} of the caller.
+	 *
+	 * @param statement the statement about to be executed.
+	 * @param options the options it is executed with.
+	 * @return the options.
+	 */
+	QueryOptions prepareIfRepeated(final String statement, final QueryOptions options) {
+		if (maxSize == 0) {
+			return options;
+		}
+		boolean repeated;
+		synchronized (statements) {
+			repeated = statements.put(statement, Boolean.TRUE) != null;
+		}
+		if (repeated) {
+			hits.increment();
+			options.adhoc(false);
+		} else {
+			misses.increment();
+		}
+		return options;
+	}
+
+	/**
+	 * The number of executions of a statement that was executed before, and therefore ran as prepared statement.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * The number of executions of a statement that was not remembered, and therefore ran adhoc.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * The number of statements currently remembered.
+	 */
+	public int size() {
+		synchronized (statements) {
+			return statements.size();
+		}
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Forgets all statements and resets the hit and miss counts.
+	 */
+	public void clear() {
+		synchronized (statements) {
+			statements.clear();
+		}
+		hits.reset();
+		misses.reset();
+	}
+
+}
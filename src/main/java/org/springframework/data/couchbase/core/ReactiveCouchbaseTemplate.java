@@ -26,6 +26,7 @@ import org.springframework.data.couchbase.core.convert.CouchbaseConverter;
 import org.springframework.data.couchbase.core.convert.translation.JacksonTranslationService;
 import org.springframework.data.couchbase.core.convert.translation.TranslationService;
 import org.springframework.data.couchbase.core.support.PseudoArgs;
+import org.springframework.util.Assert;
 
 import com.couchbase.client.java.Collection;
 import com.couchbase.client.java.query.QueryScanConsistency;
@@ -40,12 +41,18 @@ import com.couchbase.client.java.query.QueryScanConsistency;
  */
 public class ReactiveCouchbaseTemplate implements ReactiveCouchbaseOperations, ApplicationContextAware {
 
+	/**
+	 * Maximum number of KV requests a single {@code all(..)} terminal keeps in flight.
+	 */
+	static final int DEFAULT_BATCH_CONCURRENCY = 128;
+
 	private final CouchbaseClientFactory clientFactory;
 	private final CouchbaseConverter converter;
 	private final PersistenceExceptionTranslator exceptionTranslator;
 	private final ReactiveCouchbaseTemplateSupport templateSupport;
-	private ThreadLocal<PseudoArgs<?>> threadLocalArgs = new ThreadLocal<>();
+	private final ThreadLocal<PseudoArgs<?>> threadLocalArgs = new ThreadLocal<>();
 	private QueryScanConsistency scanConsistency;
+	private volatile PreparedStatementCache preparedStatementCache = new PreparedStatementCache();
 
 	public ReactiveCouchbaseTemplate(final CouchbaseClientFactory clientFactory, final CouchbaseConverter converter) {
 		this(clientFactory, converter, new JacksonTranslationService());
@@ -170,24 +177,37 @@ public class ReactiveCouchbaseTemplate implements ReactiveCouchbaseOperations, A
 		return resolved == null ? ex : resolved;
 	}
 
+	/**
+	 * Resolves again which mapping events and entity callbacks have listeners in the application context. Events and
+	 * callbacks without listeners are skipped, so this must be called after listeners were added to or removed from a
+	 * context that was already refreshed. Refreshing the context does this too.
+	 */
+	public void refreshMappingListeners() {
+		templateSupport.refreshMappingListeners();
+	}
+
 	@Override
 	public void setApplicationContext(final ApplicationContext applicationContext) throws BeansException {
 		templateSupport.setApplicationContext(applicationContext);
 	}
 
 	/**
-	 * @return the pseudoArgs from the ThreadLocal field
+	 * @return the pseudoArgs bound to the calling thread, {@literal null} if there are none
 	 */
 	public PseudoArgs<?> getPseudoArgs() {
-		return threadLocalArgs == null ? null : threadLocalArgs.get();
+		return threadLocalArgs.get();
 	}
 
 	/**
-	 * set the ThreadLocal field
+	 * Binds the pseudoArgs to the calling thread until they are replaced, {@literal null} removes them. Operations do not
+	 * consume them, the caller restores the previous ones when done.
 	 */
 	public void setPseudoArgs(PseudoArgs<?> threadLocalArgs) {
-		this.threadLocalArgs = new ThreadLocal<>();
-		this.threadLocalArgs.set(threadLocalArgs);
+		if (threadLocalArgs == null) {
+			this.threadLocalArgs.remove();
+		} else {
+			this.threadLocalArgs.set(threadLocalArgs);
+		}
 	}
 
 	/**
@@ -198,4 +218,20 @@ public class ReactiveCouchbaseTemplate implements ReactiveCouchbaseOperations, A
 		return scanConsistency;
 	}
 
+	/**
+	 * The statements of the query operations of this template that are recently used, with their hit and miss counts.
+	 */
+	public PreparedStatementCache getPreparedStatementCache() {
+		return preparedStatementCache;
+	}
+
+	/**
+	 * Replaces the cache of recently used statements, for instance to change its size. A size of 0 turns preparing
+	 * repeated statements off, for applications whose query options must stay {@code adhoc(true)}.
+	 */
+	public void setPreparedStatementCache(PreparedStatementCache preparedStatementCache) {
+		Assert.notNull(preparedStatementCache, "PreparedStatementCache must not be null!");
+		this.preparedStatementCache = preparedStatementCache;
+	}
+
 }
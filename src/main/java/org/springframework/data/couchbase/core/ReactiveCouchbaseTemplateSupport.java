@@ -18,6 +18,8 @@ package org.springframework.data.couchbase.core;
 
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
@@ -35,11 +37,8 @@ import org.springframework.data.couchbase.core.mapping.event.BeforeSaveEvent;
 import org.springframework.data.couchbase.core.mapping.event.CouchbaseMappingEvent;
 import org.springframework.data.couchbase.core.mapping.event.ReactiveAfterConvertCallback;
 import org.springframework.data.couchbase.core.mapping.event.ReactiveBeforeConvertCallback;
-import org.springframework.data.couchbase.repository.support.MappingCouchbaseEntityInformation;
-import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.callback.EntityCallbacks;
 import org.springframework.data.mapping.callback.ReactiveEntityCallbacks;
-import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
 import org.springframework.util.Assert;
 
@@ -49,55 +48,76 @@ import org.springframework.util.Assert;
  * @author Carlos Espinaco
  * @since 4.2
  */
-class ReactiveCouchbaseTemplateSupport implements ApplicationContextAware, ReactiveTemplateSupport {
+class ReactiveCouchbaseTemplateSupport extends AbstractTemplateSupport
+		implements ApplicationContextAware, ReactiveTemplateSupport {
 
 	private static final Logger LOG = LoggerFactory.getLogger(ReactiveCouchbaseTemplateSupport.class);
 
 	private final ReactiveCouchbaseTemplate template;
-	private final CouchbaseConverter converter;
-	private final MappingContext<? extends CouchbasePersistentEntity<?>, CouchbasePersistentProperty> mappingContext;
-	private final TranslationService translationService;
 	private ReactiveEntityCallbacks reactiveEntityCallbacks;
+	private boolean entityCallbacksFromContext;
 	private ApplicationContext applicationContext;
+	private MappingListeners mappingListeners;
 
 	public ReactiveCouchbaseTemplateSupport(final ReactiveCouchbaseTemplate template, final CouchbaseConverter converter,
 			final TranslationService translationService) {
+		super(converter, translationService);
 		this.template = template;
-		this.converter = converter;
-		this.mappingContext = converter.getMappingContext();
-		this.translationService = translationService;
+	}
+
+	@Override
+	ReactiveCouchbaseTemplate getReactiveTemplate() {
+		return template;
 	}
 
 	@Override
 	public Mono<CouchbaseDocument> encodeEntity(final Object entityToEncode) {
-		return Mono.just(entityToEncode).doOnNext(entity -> maybeEmitEvent(new BeforeConvertEvent<>(entity)))
-				.flatMap(entity -> maybeCallBeforeConvert(entity, "")).map(maybeNewEntity -> {
-					final CouchbaseDocument converted = new CouchbaseDocument();
-					converter.write(maybeNewEntity, converted);
-					return converted;
-				}).flatMap(converted -> maybeCallAfterConvert(entityToEncode, converted, "").thenReturn(converted))
-				.doOnNext(converted -> maybeEmitEvent(new BeforeSaveEvent<>(entityToEncode, converted)));
+		return Mono.just(entityToEncode).doOnNext(entity -> {
+			if (hasListeners(BeforeConvertEvent.class, entity)) {
+				maybeEmitEvent(new BeforeConvertEvent<>(entity));
+			}
+		}).flatMap(entity -> maybeCallBeforeConvert(entity, "")).map(maybeNewEntity -> {
+			final CouchbaseDocument converted = new CouchbaseDocument();
+			converter.write(maybeNewEntity, converted);
+			return converted;
+		}).flatMap(converted -> maybeCallAfterConvert(entityToEncode, converted, "").thenReturn(converted))
+				.doOnNext(converted -> {
+					if (hasListeners(BeforeSaveEvent.class, entityToEncode)) {
+						maybeEmitEvent(new BeforeSaveEvent<>(entityToEncode, converted));
+					}
+				});
+	}
+
+	@Override
+	public byte[] encodeContent(final CouchbaseDocument converted) {
+		return translationService.encodeToBytes(converted);
 	}
 
 	@Override
 	public <T> Mono<T> decodeEntity(String id, String source, long cas, Class<T> entityClass) {
-		return Mono.fromSupplier(() -> {
-			final CouchbaseDocument converted = new CouchbaseDocument(id);
-			converted.setId(id);
-			CouchbasePersistentEntity<?> persistentEntity = mappingContext.getRequiredPersistentEntity(entityClass);
-			if (cas != 0 && persistentEntity.getVersionProperty() != null) {
-				converted.put(persistentEntity.getVersionProperty().getName(), cas);
-			}
+		return Mono.fromSupplier(() -> decodeEntityBase(id, source, cas, entityClass)).flatMap(this::resolveEagerJoins);
+	}
 
-			T readEntity = converter.read(entityClass, (CouchbaseDocument) translationService.decode(source, converted));
-			final ConvertingPropertyAccessor<T> accessor = getPropertyAccessor(readEntity);
+	@Override
+	public <T> Mono<T> decodeEntity(String id, byte[] source, long cas, Class<T> entityClass) {
+		return Mono.fromSupplier(() -> decodeEntityBase(id, source, cas, entityClass)).flatMap(this::resolveEagerJoins);
+	}
 
-			if (persistentEntity.getVersionProperty() != null) {
-				accessor.setProperty(persistentEntity.getVersionProperty(), cas);
-			}
-			N1qlJoinResolver.handleProperties(persistentEntity, accessor, template, id);
-			return accessor.getBean();
-		});
+	@Override
+	public <T> Mono<T> decodeRow(byte[] row, boolean withMeta, String statement, Class<T> entityClass) {
+		return Mono.fromSupplier(() -> decodeRowBase(row, withMeta, statement, entityClass));
+	}
+
+	@Override
+	public <T> Mono<T> decodeAnalyticsRow(byte[] row, String statement, Class<T> entityClass) {
+		return Mono.fromSupplier(() -> decodeAnalyticsRowBase(row, statement, entityClass));
+	}
+
+	private <T> Mono<T> resolveEagerJoins(T entity) {
+		return N1qlJoinResolver
+				.resolveEager(template, mappingContext.getRequiredPersistentEntity(entity.getClass()),
+						Collections.singletonList(entity))
+				.map(resolved -> resolved.get(0));
 	}
 
 	@Override
@@ -115,7 +135,9 @@ class ReactiveCouchbaseTemplateSupport implements ApplicationContextAware, React
 			} else {
 				returnValue = entity;
 			}
-			maybeEmitEvent(new AfterSaveEvent(returnValue, converted));
+			if (hasListeners(AfterSaveEvent.class, returnValue)) {
+				maybeEmitEvent(new AfterSaveEvent(returnValue, converted));
+			}
 			return returnValue;
 		});
 	}
@@ -152,24 +174,23 @@ class ReactiveCouchbaseTemplateSupport implements ApplicationContextAware, React
 		return cas;
 	}
 
-	@Override
-	public String getJavaNameForEntity(final Class<?> clazz) {
-		final CouchbasePersistentEntity<?> persistentEntity = mappingContext.getRequiredPersistentEntity(clazz);
-		MappingCouchbaseEntityInformation<?, Object> info = new MappingCouchbaseEntityInformation<>(persistentEntity);
-		return info.getJavaType().getName();
-	}
-
-	private <T> ConvertingPropertyAccessor<T> getPropertyAccessor(final T source) {
-		CouchbasePersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(source.getClass());
-		PersistentPropertyAccessor<T> accessor = entity.getPropertyAccessor(source);
-		return new ConvertingPropertyAccessor<>(accessor, converter.getConversionService());
-	}
-
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
 		this.applicationContext = applicationContext;
+		this.mappingListeners = new MappingListeners(applicationContext);
 		if (reactiveEntityCallbacks == null) {
 			setReactiveEntityCallbacks(ReactiveEntityCallbacks.create(applicationContext));
+			this.entityCallbacksFromContext = true;
+		}
+	}
+
+	/**
+	 * Resolves again which mapping events and entity callbacks have listeners, see
+	 * {@link ReactiveCouchbaseTemplate#refreshMappingListeners()}.
+	 */
+	void refreshMappingListeners() {
+		if (mappingListeners != null) {
+			mappingListeners.refresh();
 		}
 	}
 
@@ -186,6 +207,7 @@ class ReactiveCouchbaseTemplateSupport implements ApplicationContextAware, React
 	public void setReactiveEntityCallbacks(ReactiveEntityCallbacks reactiveEntityCallbacks) {
 		Assert.notNull(reactiveEntityCallbacks, "EntityCallbacks must not be null!");
 		this.reactiveEntityCallbacks = reactiveEntityCallbacks;
+		this.entityCallbacksFromContext = false;
 	}
 
 	public void maybeEmitEvent(CouchbaseMappingEvent<?> event) {
@@ -206,8 +228,23 @@ class ReactiveCouchbaseTemplateSupport implements ApplicationContextAware, React
 		return this.applicationContext != null;
 	}
 
+	/**
+	 * Is there a listener for the event about the entity? Also true without application context, so that
+	 * {@link #maybeEmitEvent(CouchbaseMappingEvent)} reports it.
+	 */
+	private boolean hasListeners(Class<?> eventType, Object entity) {
+		return mappingListeners == null || mappingListeners.hasListeners(eventType, entity.getClass());
+	}
+
+	private boolean hasCallbacks(Class<?> callbackType, Object entity) {
+		return !entityCallbacksFromContext || mappingListeners.hasCallbacks(callbackType, entity.getClass());
+	}
+
 	protected <T> Mono<T> maybeCallBeforeConvert(T object, String collection) {
 		if (reactiveEntityCallbacks != null) {
+			if (!hasCallbacks(ReactiveBeforeConvertCallback.class, object)) {
+				return Mono.just(object);
+			}
 			return reactiveEntityCallbacks.callback(ReactiveBeforeConvertCallback.class, object, collection);
 		} else {
 			LOG.info("maybeCallBeforeConvert called, but ReactiveCouchbaseTemplate not initialized with applicationContext");
@@ -217,6 +254,9 @@ class ReactiveCouchbaseTemplateSupport implements ApplicationContextAware, React
 
 	protected <T> Mono<T> maybeCallAfterConvert(T object, CouchbaseDocument document, String collection) {
 		if (null != reactiveEntityCallbacks) {
+			if (!hasCallbacks(ReactiveAfterConvertCallback.class, object)) {
+				return Mono.just(object);
+			}
 			return reactiveEntityCallbacks.callback(ReactiveAfterConvertCallback.class, object, document, collection);
 		} else {
 			LOG.info("maybeCallAfterConvert called, but ReactiveCouchbaseTemplate not initialized with applicationContext");
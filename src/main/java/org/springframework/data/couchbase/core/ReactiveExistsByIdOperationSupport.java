@@ -71,22 +71,32 @@ public class ReactiveExistsByIdOperationSupport implements ReactiveExistsByIdOpe
 
 		@Override
 		public Mono<Boolean> one(final String id) {
-			PseudoArgs<ExistsOptions> pArgs = new PseudoArgs<>(template, scope, collection, options, domainType);
-			LOG.trace("existsById {}", pArgs);
-			return Mono.just(id)
-					.flatMap(docId -> template.getCouchbaseClientFactory().withScope(pArgs.getScope())
-							.getCollection(pArgs.getCollection()).reactive().exists(id, buildOptions(pArgs.getOptions()))
-							.map(ExistsResult::exists))
-					.onErrorMap(throwable -> {
-						if (throwable instanceof RuntimeException) {
-							return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
-						} else {
-							return throwable;
-						}
-					});
+			return Mono.deferContextual(ctx -> {
+				PseudoArgs<ExistsOptions> pArgs = new PseudoArgs<>(template, ctx, scope, collection, options, domainType);
+				LOG.trace("existsById {}", pArgs);
+				return Mono.just(id)
+						.flatMap(docId -> template.getCouchbaseClientFactory().withScope(pArgs.getScope())
+								.getCollection(pArgs.getCollection()).reactive().exists(id, buildOptions(pArgs.getOptions()))
+								.map(ExistsResult::exists))
+						.onErrorMap(throwable -> {
+							if (throwable instanceof RuntimeException) {
+								return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
+							} else {
+								return throwable;
+							}
+						});
+			});
 		}
 
-		private ExistsOptions buildOptions(ExistsOptions options) {
+		/**
+		 * Resolves scope, collection and options for one call. Shared with the blocking
+		 * {@link ExecutableExistsByIdOperationSupport}.
+		 */
+		PseudoArgs<ExistsOptions> pseudoArgs() {
+			return new PseudoArgs<>(template, scope, collection, options, domainType);
+		}
+
+		ExistsOptions buildOptions(ExistsOptions options) {
 			return OptionsBuilder.buildExistsOptions(options);
 		}
 
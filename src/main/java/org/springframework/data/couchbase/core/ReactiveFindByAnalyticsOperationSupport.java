@@ -18,11 +18,10 @@ package org.springframework.data.couchbase.core;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.data.couchbase.core.convert.join.N1qlJoinResolver;
 import org.springframework.data.couchbase.core.query.AnalyticsQuery;
-import org.springframework.data.couchbase.core.support.TemplateUtils;
 import org.springframework.util.Assert;
 
-import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.java.analytics.AnalyticsOptions;
 import com.couchbase.client.java.analytics.AnalyticsScanConsistency;
 import com.couchbase.client.java.analytics.ReactiveAnalyticsResult;
@@ -116,25 +115,9 @@ public class ReactiveFindByAnalyticsOperationSupport implements ReactiveFindByAn
 							} else {
 								return throwable;
 							}
-						}).flatMapMany(ReactiveAnalyticsResult::rowsAsObject).flatMap(row -> {
-							String id = "";
-							long cas = 0;
-							if (row.getString(TemplateUtils.SELECT_ID) == null) {
-								return Flux.error(new CouchbaseException("analytics query did not project " + TemplateUtils.SELECT_ID
-										+ ". Either use #{#n1ql.selectEntity} or project " + TemplateUtils.SELECT_ID + " and "
-										+ TemplateUtils.SELECT_CAS + " : " + statement));
-							}
-							id = row.getString(TemplateUtils.SELECT_ID);
-							if (row.getLong(TemplateUtils.SELECT_CAS) == null) {
-								return Flux.error(new CouchbaseException("analytics query did not project " + TemplateUtils.SELECT_CAS
-										+ ". Either use #{#n1ql.selectEntity} or project " + TemplateUtils.SELECT_ID + " and "
-										+ TemplateUtils.SELECT_CAS + " : " + statement));
-							}
-							cas = row.getLong(TemplateUtils.SELECT_CAS);
-							row.removeKey(TemplateUtils.SELECT_ID);
-							row.removeKey(TemplateUtils.SELECT_CAS);
-							return support.decodeEntity(id, row.toString(), cas, returnType);
-						});
+						}).flatMapMany(result -> result.rowsAs(byte[].class))
+						.concatMap(row -> support.decodeAnalyticsRow(row, statement, returnType))
+						.transform(rows -> N1qlJoinResolver.resolveEager(template, returnType, rows));
 			});
 		}
 
@@ -177,7 +160,10 @@ public class ReactiveFindByAnalyticsOperationSupport implements ReactiveFindByAn
 					collection, options, support);
 		}
 
-		private String assembleEntityQuery(final boolean count) {
+		/**
+		 * The statement to run, shared with the blocking {@link ExecutableFindByAnalyticsOperationSupport}.
+		 */
+		String assembleEntityQuery(final boolean count) {
 			final String bucket = "`" + template.getBucketName() + "`";
 
 			final StringBuilder statement = new StringBuilder("SELECT ");
@@ -195,7 +181,7 @@ public class ReactiveFindByAnalyticsOperationSupport implements ReactiveFindByAn
 			return statement.toString();
 		}
 
-		private AnalyticsOptions buildAnalyticsOptions() {
+		AnalyticsOptions buildAnalyticsOptions() {
 			final AnalyticsOptions options = AnalyticsOptions.analyticsOptions();
 			if (scanConsistency != null) {
 				options.scanConsistency(scanConsistency);
@@ -68,6 +68,19 @@ public interface ReactiveFindByIdOperation {
 		 */
 		Flux<? extends T> all(Collection<String> ids);
 
+		/**
+		 * Loads a large number of documents with at most {@code concurrency} requests outstanding at any time. Unlike
+		 * {@link #all(Collection)}, a missing document or a failed request does not end the batch, every id is reported
+		 * with its own {@link FindByIdResult}.
+		 *
+		 * @param ids the document ids.
+		 * @param concurrency the maximum number of requests in flight, must be greater than 0.
+		 * @param ordered {@literal true} to emit the results in the order of {@code ids}, {@literal false} to emit them as
+		 *          they complete.
+		 * @return one result per id.
+		 */
+		Flux<FindByIdResult<T>> batch(Collection<String> ids, int concurrency, boolean ordered);
+
 	}
 
 	/**
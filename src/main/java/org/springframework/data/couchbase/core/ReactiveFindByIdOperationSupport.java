@@ -19,11 +19,13 @@ import static com.couchbase.client.java.kv.GetAndTouchOptions.getAndTouchOptions
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +39,7 @@ import com.couchbase.client.java.ReactiveCollection;
 import com.couchbase.client.java.codec.RawJsonTranscoder;
 import com.couchbase.client.java.kv.GetAndTouchOptions;
 import com.couchbase.client.java.kv.GetOptions;
+import com.couchbase.client.java.kv.GetResult;
 
 public class ReactiveFindByIdOperationSupport implements ReactiveFindByIdOperation {
 
@@ -77,39 +80,77 @@ public class ReactiveFindByIdOperationSupport implements ReactiveFindByIdOperati
 
 		@Override
 		public Mono<T> one(final String id) {
+			return Mono.deferContextual(ctx -> {
+				PseudoArgs<?> pArgs = pseudoArgs(ctx);
+				LOG.trace("findById {}", pArgs);
 
-			CommonOptions<?> gOptions = initGetOptions();
-			PseudoArgs<?> pArgs = new PseudoArgs(template, scope, collection, gOptions, domainType);
-			LOG.trace("findById {}", pArgs);
-
-			return Mono.just(id).flatMap(docId -> {
-				ReactiveCollection reactive = template.getCouchbaseClientFactory().withScope(pArgs.getScope())
-						.getCollection(pArgs.getCollection()).reactive();
-				if (pArgs.getOptions() instanceof GetAndTouchOptions) {
-					return reactive.getAndTouch(docId, expiryToUse(), (GetAndTouchOptions) pArgs.getOptions());
-				} else {
-					return reactive.get(docId, (GetOptions) pArgs.getOptions());
-				}
-			}).flatMap(result -> support.decodeEntity(id, result.contentAs(String.class), result.cas(), domainType))
-					.onErrorResume(throwable -> {
-						if (throwable instanceof RuntimeException) {
-							if (throwable instanceof DocumentNotFoundException) {
-								return Mono.empty();
-							}
-						}
-						return Mono.error(throwable);
-					}).onErrorMap(throwable -> {
-						if (throwable instanceof RuntimeException) {
-							return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
-						} else {
-							return throwable;
-						}
-					});
+				return get(getCollection(pArgs), pArgs.getOptions(), id);
+			}).onErrorResume(DocumentNotFoundException.class, throwable -> Mono.empty()).onErrorMap(this::potentiallyConvert);
 		}
 
 		@Override
 		public Flux<? extends T> all(final Collection<String> ids) {
-			return Flux.fromIterable(ids).flatMap(this::one);
+			return Flux.deferContextual(ctx -> {
+				PseudoArgs<?> pArgs = pseudoArgs(ctx);
+				LOG.trace("findById all {}", pArgs);
+
+				ReactiveCollection reactive = getCollection(pArgs);
+				return Flux.fromIterable(ids).flatMap(id -> get(reactive, pArgs.getOptions(), id)
+						.onErrorResume(DocumentNotFoundException.class, throwable -> Mono.empty()),
+						ReactiveCouchbaseTemplate.DEFAULT_BATCH_CONCURRENCY);
+			}).onErrorMap(this::potentiallyConvert);
+		}
+
+		@Override
+		public Flux<FindByIdResult<T>> batch(final Collection<String> ids, final int concurrency, final boolean ordered) {
+			Assert.notNull(ids, "Ids must not be null.");
+			Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0.");
+
+			return Flux.deferContextual(ctx -> {
+				PseudoArgs<?> pArgs = pseudoArgs(ctx);
+				LOG.trace("findById batch of {} {}", ids.size(), pArgs);
+
+				ReactiveCollection reactive = getCollection(pArgs);
+				Function<String, Mono<FindByIdResult<T>>> load = id -> get(reactive, pArgs.getOptions(), id)
+						.map(entity -> FindByIdResult.found(id, entity)).defaultIfEmpty(FindByIdResult.notFound(id))
+						.onErrorResume(throwable -> Mono.just(throwable instanceof DocumentNotFoundException
+								? FindByIdResult.notFound(id)
+								: FindByIdResult.failed(id, potentiallyConvert(throwable))));
+				return ordered ? Flux.fromIterable(ids).flatMapSequential(load, concurrency)
+						: Flux.fromIterable(ids).flatMap(load, concurrency);
+			});
+		}
+
+		/**
+		 * Resolves scope, collection and get options for one call. Shared with the blocking
+		 * {@link ExecutableFindByIdOperationSupport}.
+		 */
+		PseudoArgs<?> pseudoArgs() {
+			return new PseudoArgs<>(template, scope, collection, initGetOptions(), domainType);
+		}
+
+		PseudoArgs<?> pseudoArgs(ContextView context) {
+			return new PseudoArgs<>(template, context, scope, collection, initGetOptions(), domainType);
+		}
+
+		private ReactiveCollection getCollection(PseudoArgs<?> pArgs) {
+			return template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getCollection(pArgs.getCollection())
+					.reactive();
+		}
+
+		private Mono<T> get(ReactiveCollection reactive, Object options, String id) {
+			Mono<? extends GetResult> result = options instanceof GetAndTouchOptions
+					? reactive.getAndTouch(id, expiryToUse(), (GetAndTouchOptions) options)
+					: reactive.get(id, (GetOptions) options);
+			return result.flatMap(r -> support.decodeEntity(id, r.contentAs(byte[].class), r.cas(), domainType));
+		}
+
+		private Throwable potentiallyConvert(Throwable throwable) {
+			if (throwable instanceof RuntimeException) {
+				return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
+			} else {
+				return throwable;
+			}
 		}
 
 		@Override
@@ -161,7 +202,7 @@ public class ReactiveFindByIdOperationSupport implements ReactiveFindByIdOperati
 			return getOptions;
 		}
 
-		private Duration expiryToUse() {
+		Duration expiryToUse() {
 			Duration expiryToUse = expiry;
 			if (expiryToUse != null || options instanceof GetAndTouchOptions) {
 				if (expiryToUse == null) { // GetAndTouchOptions without specifying expiry -> get expiry from annoation
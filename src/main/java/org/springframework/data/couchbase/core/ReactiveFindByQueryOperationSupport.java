@@ -20,12 +20,13 @@ import reactor.core.publisher.Mono;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.couchbase.core.convert.join.N1qlJoinResolver;
 import org.springframework.data.couchbase.core.query.Query;
 import org.springframework.data.couchbase.core.support.PseudoArgs;
-import org.springframework.data.couchbase.core.support.TemplateUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
-import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.java.kv.MutationState;
 import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryScanConsistency;
 import com.couchbase.client.java.query.ReactiveQueryResult;
@@ -169,66 +170,81 @@ public class ReactiveFindByQueryOperationSupport implements ReactiveFindByQueryO
 
 		@Override
 		public Flux<T> all() {
-			PseudoArgs<QueryOptions> pArgs = new PseudoArgs(template, scope, collection, options, domainType);
-			String statement = assembleEntityQuery(false, distinctFields, pArgs.getCollection());
-			LOG.trace("findByQuery {} statement: {}", pArgs, statement);
-			Mono<ReactiveQueryResult> allResult = pArgs.getScope() == null
-					? template.getCouchbaseClientFactory().getCluster().reactive().query(statement,
-							buildOptions(pArgs.getOptions()))
-					: template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getScope().reactive().query(statement,
-							buildOptions(pArgs.getOptions()));
-			return Flux.defer(() -> allResult.onErrorMap(throwable -> {
-				if (throwable instanceof RuntimeException) {
-					return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
-				} else {
-					return throwable;
-				}
-			}).flatMapMany(ReactiveQueryResult::rowsAsObject).flatMap(row -> {
-				String id = "";
-				long cas = 0;
-				if (!query.isDistinct() && distinctFields == null) {
-					if (row.getString(TemplateUtils.SELECT_ID) == null) {
-						return Flux.error(new CouchbaseException(
-								"query did not project " + TemplateUtils.SELECT_ID + ". Either use #{#n1ql.selectEntity} or project "
-										+ TemplateUtils.SELECT_ID + " and " + TemplateUtils.SELECT_CAS + " : " + statement));
+			return Flux.deferContextual(ctx -> {
+				PseudoArgs<QueryOptions> pArgs = new PseudoArgs<>(template, ctx, scope, collection, options, domainType);
+				String statement = statement(pArgs, false);
+				LOG.trace("findByQuery {} statement: {}", pArgs, statement);
+				Mono<ReactiveQueryResult> allResult = pArgs.getScope() == null
+						? template.getCouchbaseClientFactory().getCluster().reactive().query(statement,
+								buildOptions(pArgs, statement))
+						: template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getScope().reactive().query(statement,
+								buildOptions(pArgs, statement));
+				boolean withMeta = withMeta();
+				Flux<T> rows = Flux.defer(() -> allResult.onErrorMap(throwable -> {
+					if (throwable instanceof RuntimeException) {
+						return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
+					} else {
+						return throwable;
 					}
-					id = row.getString(TemplateUtils.SELECT_ID);
-					if (row.getLong(TemplateUtils.SELECT_CAS) == null) {
-						return Flux.error(new CouchbaseException(
-								"query did not project " + TemplateUtils.SELECT_CAS + ". Either use #{#n1ql.selectEntity} or project "
-										+ TemplateUtils.SELECT_ID + " and " + TemplateUtils.SELECT_CAS + " : " + statement));
-					}
-					cas = row.getLong(TemplateUtils.SELECT_CAS);
-					row.removeKey(TemplateUtils.SELECT_ID);
-					row.removeKey(TemplateUtils.SELECT_CAS);
-				}
-				return support.decodeEntity(id, row.toString(), cas, returnType);
-			}));
+				}).flatMapMany(result -> result.rowsAs(byte[].class))
+						.concatMap(row -> support.decodeRow(row, withMeta, statement, returnType)));
+				return withMeta ? N1qlJoinResolver.resolveEager(template, returnType, rows) : rows;
+			});
 		}
 
 		public QueryOptions buildOptions(QueryOptions options) {
+			return buildOptions(options, null);
+		}
+
+		private QueryOptions buildOptions(QueryOptions options, @Nullable MutationState mutationState) {
 			QueryScanConsistency qsc = scanConsistency != null ? scanConsistency : template.getConsistency();
-			return query.buildQueryOptions(options, qsc);
+			return query.buildQueryOptions(options, qsc, mutationState);
+		}
+
+		/**
+		 * Resolves scope, collection and options for one call. Shared with the blocking
+		 * {@link ExecutableFindByQueryOperationSupport}, as are the other package-private methods.
+		 */
+		PseudoArgs<QueryOptions> pseudoArgs() {
+			return new PseudoArgs<>(template, scope, collection, options, domainType);
+		}
+
+		String statement(PseudoArgs<QueryOptions> pArgs, boolean count) {
+			return assembleEntityQuery(count, distinctFields, pArgs.getCollection());
+		}
+
+		/**
+		 * Do the rows have the id and cas of their document, and can they have eager joins?
+		 */
+		boolean withMeta() {
+			return !query.isDistinct() && distinctFields == null;
+		}
+
+		QueryOptions buildOptions(PseudoArgs<QueryOptions> pArgs, String statement) {
+			return template.getPreparedStatementCache().prepareIfRepeated(statement,
+					buildOptions(pArgs.getOptions(), pArgs.getMutationState()));
 		}
 
 		@Override
 		public Mono<Long> count() {
-			PseudoArgs<QueryOptions> pArgs = new PseudoArgs(template, scope, collection, options, domainType);
-			String statement = assembleEntityQuery(true, distinctFields, pArgs.getCollection());
-			LOG.trace("findByQuery {} statement: {}", pArgs, statement);
-			Mono<ReactiveQueryResult> countResult = pArgs.getScope() == null
-					? template.getCouchbaseClientFactory().getCluster().reactive().query(statement,
-							buildOptions(pArgs.getOptions()))
-					: template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getScope().reactive().query(statement,
-							buildOptions(pArgs.getOptions()));
-			return Mono.defer(() -> countResult.onErrorMap(throwable -> {
-				if (throwable instanceof RuntimeException) {
-					return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
-				} else {
-					return throwable;
-				}
-			}).flatMapMany(ReactiveQueryResult::rowsAsObject).map(row -> row.getLong(row.getNames().iterator().next()))
-					.next());
+			return Mono.deferContextual(ctx -> {
+				PseudoArgs<QueryOptions> pArgs = new PseudoArgs<>(template, ctx, scope, collection, options, domainType);
+				String statement = statement(pArgs, true);
+				LOG.trace("findByQuery {} statement: {}", pArgs, statement);
+				Mono<ReactiveQueryResult> countResult = pArgs.getScope() == null
+						? template.getCouchbaseClientFactory().getCluster().reactive().query(statement,
+								buildOptions(pArgs, statement))
+						: template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getScope().reactive().query(statement,
+								buildOptions(pArgs, statement));
+				return Mono.defer(() -> countResult.onErrorMap(throwable -> {
+					if (throwable instanceof RuntimeException) {
+						return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
+					} else {
+						return throwable;
+					}
+				}).flatMapMany(ReactiveQueryResult::rowsAsObject).map(row -> row.getLong(row.getNames().iterator().next()))
+						.next());
+			});
 		}
 
 		@Override
@@ -24,6 +24,7 @@ import java.util.Collection;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.couchbase.core.query.OptionsBuilder;
 import org.springframework.data.couchbase.core.support.PseudoArgs;
 import org.springframework.util.Assert;
 
@@ -68,23 +69,22 @@ public class ReactiveFindFromReplicasByIdOperationSupport implements ReactiveFin
 
 		@Override
 		public Mono<T> any(final String id) {
-			GetAnyReplicaOptions garOptions = options != null ? options : getAnyReplicaOptions();
-			if (garOptions.build().transcoder() == null) {
-				garOptions.transcoder(RawJsonTranscoder.INSTANCE);
-			}
-			PseudoArgs<GetAnyReplicaOptions> pArgs = new PseudoArgs<>(template, scope, collection, garOptions, domainType);
-			LOG.trace("getAnyReplica {}", pArgs);
-			return Mono.just(id)
-					.flatMap(docId -> template.getCouchbaseClientFactory().withScope(pArgs.getScope())
-							.getCollection(pArgs.getCollection()).reactive().getAnyReplica(docId, pArgs.getOptions()))
-					.flatMap(result -> support.decodeEntity(id, result.contentAs(String.class), result.cas(), returnType))
-					.onErrorMap(throwable -> {
-						if (throwable instanceof RuntimeException) {
-							return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
-						} else {
-							return throwable;
-						}
-					});
+			return Mono.deferContextual(ctx -> {
+				PseudoArgs<GetAnyReplicaOptions> pArgs = new PseudoArgs<>(template, ctx, scope, collection, buildOptions(),
+						domainType);
+				LOG.trace("getAnyReplica {}", pArgs);
+				return Mono.just(id)
+						.flatMap(docId -> template.getCouchbaseClientFactory().withScope(pArgs.getScope())
+								.getCollection(pArgs.getCollection()).reactive().getAnyReplica(docId, pArgs.getOptions()))
+						.flatMap(result -> support.decodeEntity(id, result.contentAs(byte[].class), result.cas(), returnType))
+						.onErrorMap(throwable -> {
+							if (throwable instanceof RuntimeException) {
+								return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
+							} else {
+								return throwable;
+							}
+						});
+			});
 		}
 
 		@Override
@@ -92,6 +92,25 @@ public class ReactiveFindFromReplicasByIdOperationSupport implements ReactiveFin
 			return Flux.fromIterable(ids).flatMap(this::any);
 		}
 
+		/**
+		 * Resolves scope, collection and options for one call. Shared with the blocking
+		 * {@link ExecutableFindFromReplicasByIdOperationSupport}.
+		 */
+		PseudoArgs<GetAnyReplicaOptions> pseudoArgs() {
+			return new PseudoArgs<>(template, scope, collection, buildOptions(), domainType);
+		}
+
+		/**
+		 * The options of the caller, reading the content as raw JSON unless they have a transcoder.
+		 */
+		private GetAnyReplicaOptions buildOptions() {
+			GetAnyReplicaOptions garOptions = options != null ? OptionsBuilder.copyOf(options) : getAnyReplicaOptions();
+			if (garOptions.build().transcoder() == null) {
+				garOptions.transcoder(RawJsonTranscoder.INSTANCE);
+			}
+			return garOptions;
+		}
+
 		@Override
 		public TerminatingFindFromReplicasById<T> withOptions(final GetAnyReplicaOptions options) {
 			Assert.notNull(options, "Options must not be null.");
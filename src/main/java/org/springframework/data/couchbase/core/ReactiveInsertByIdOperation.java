@@ -69,6 +69,17 @@ public interface ReactiveInsertByIdOperation {
 		@Override
 		Flux<? extends T> all(Collection<? extends T> objects);
 
+		/**
+		 * Insert a large number of entities with at most {@code concurrency} mutations in flight. Unlike
+		 * {@link #all(Collection)}, a failed mutation does not end the batch, every entity is reported with its own
+		 * {@link MutationResult}, in the order of {@code objects}.
+		 *
+		 * @param objects the entities to insert.
+		 * @param concurrency the maximum number of mutations in flight, must be greater than 0.
+		 * @return one result per entity.
+		 */
+		Flux<MutationResult<T>> batch(Collection<? extends T> objects, int concurrency);
+
 	}
 
 	/**
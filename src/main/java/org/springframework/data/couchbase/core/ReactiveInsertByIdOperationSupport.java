@@ -17,6 +17,7 @@ package org.springframework.data.couchbase.core;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 import java.time.Duration;
 import java.util.Collection;
@@ -30,6 +31,7 @@ import org.springframework.util.Assert;
 
 import com.couchbase.client.core.msg.kv.DurabilityLevel;
 import com.couchbase.client.java.kv.InsertOptions;
+import com.couchbase.client.java.codec.RawJsonTranscoder;
 import com.couchbase.client.java.kv.PersistTo;
 import com.couchbase.client.java.kv.ReplicateTo;
 
@@ -79,14 +81,57 @@ public class ReactiveInsertByIdOperationSupport implements ReactiveInsertByIdOpe
 
 		@Override
 		public Mono<T> one(T object) {
-			PseudoArgs<InsertOptions> pArgs = new PseudoArgs(template, scope, collection, options, domainType);
-			LOG.trace("insertById {}", pArgs);
+			return Mono.deferContextual(ctx -> {
+				PseudoArgs<InsertOptions> pArgs = pseudoArgs(ctx);
+				LOG.trace("insertById {}", pArgs);
+				return insert(pArgs, object);
+			});
+		}
+
+		@Override
+		public Flux<? extends T> all(Collection<? extends T> objects) {
+			return Flux.deferContextual(ctx -> {
+				PseudoArgs<InsertOptions> pArgs = pseudoArgs(ctx);
+				LOG.trace("insertById all {}", pArgs);
+				return Flux.fromIterable(objects).flatMap(object -> insert(pArgs, object),
+						ReactiveCouchbaseTemplate.DEFAULT_BATCH_CONCURRENCY);
+			});
+		}
+
+		@Override
+		public Flux<MutationResult<T>> batch(Collection<? extends T> objects, int concurrency) {
+			Assert.notNull(objects, "Objects must not be null.");
+			Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0.");
+			return Flux.deferContextual(ctx -> {
+				PseudoArgs<InsertOptions> pArgs = pseudoArgs(ctx);
+				LOG.trace("insertById batch of {} {}", objects.size(), pArgs);
+				return Flux.fromIterable(objects)
+						.flatMapSequential(object -> MutationResult.<T> of(object, insert(pArgs, object)), concurrency);
+			});
+		}
+
+		/**
+		 * Resolves scope, collection and options for one call. Shared with the blocking
+		 * {@link ExecutableInsertByIdOperationSupport}.
+		 */
+		PseudoArgs<InsertOptions> pseudoArgs() {
+			return new PseudoArgs<>(template, scope, collection, options, domainType);
+		}
+
+		PseudoArgs<InsertOptions> pseudoArgs(ContextView context) {
+			return new PseudoArgs<>(template, context, scope, collection, options, domainType);
+		}
+
+		private Mono<T> insert(PseudoArgs<InsertOptions> pArgs, T object) {
 			return Mono.just(object).flatMap(support::encodeEntity)
-					.flatMap(converted -> template.getCouchbaseClientFactory().withScope(pArgs.getScope())
-							.getCollection(pArgs.getCollection()).reactive()
-							.insert(converted.getId(), converted.export(), buildOptions(pArgs.getOptions(), converted))
-							.flatMap(result -> support.applyUpdatedId(object, converted.getId())
-									.flatMap(updatedObject -> support.applyUpdatedCas(updatedObject, converted, result.cas()))))
+					.flatMap(converted -> {
+						InsertOptions insertOptions = buildOptions(pArgs.getOptions(), converted);
+						return template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getCollection(pArgs.getCollection())
+								.reactive().insert(converted.getId(), encodeContent(insertOptions, converted), insertOptions)
+								.doOnNext(pArgs::recordMutation)
+								.flatMap(result -> support.applyUpdatedId(object, converted.getId())
+										.flatMap(updatedObject -> support.applyUpdatedCas(updatedObject, converted, result.cas())));
+					})
 					.onErrorMap(throwable -> {
 						if (throwable instanceof RuntimeException) {
 							return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
@@ -96,15 +141,23 @@ public class ReactiveInsertByIdOperationSupport implements ReactiveInsertByIdOpe
 					});
 		}
 
-		@Override
-		public Flux<? extends T> all(Collection<? extends T> objects) {
-			return Flux.fromIterable(objects).flatMap(this::one);
-		}
-
 		public InsertOptions buildOptions(InsertOptions options, CouchbaseDocument doc) { // CouchbaseDocument converted
 			return OptionsBuilder.buildInsertOptions(options, persistTo, replicateTo, durabilityLevel, expiry, doc);
 		}
 
+		/**
+		 * Encodes the document to JSON bytes if the options allow it, switching them to the {@link RawJsonTranscoder}.
+		 * The options must be the copy made by {@link #buildOptions}.
+		 */
+		Object encodeContent(InsertOptions options, CouchbaseDocument converted) {
+			if (OptionsBuilder.writesRawJson(options.build().transcoder(),
+					template.getCouchbaseClientFactory().getCluster().environment())) {
+				options.transcoder(RawJsonTranscoder.INSTANCE);
+				return support.encodeContent(converted);
+			}
+			return converted.exportView();
+		}
+
 		@Override
 		public TerminatingInsertById<T> withOptions(final InsertOptions options) {
 			Assert.notNull(options, "Options must not be null.");
@@ -17,6 +17,7 @@ package org.springframework.data.couchbase.core;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 import java.util.Collection;
 
@@ -80,19 +81,21 @@ public class ReactiveRemoveByIdOperationSupport implements ReactiveRemoveByIdOpe
 
 		@Override
 		public Mono<RemoveResult> one(final String id) {
-			PseudoArgs<RemoveOptions> pArgs = new PseudoArgs<>(template, scope, collection, options, domainType);
-			LOG.trace("removeById {}", pArgs);
-			return Mono.just(id)
-					.flatMap(docId -> template.getCouchbaseClientFactory().withScope(pArgs.getScope())
-							.getCollection(pArgs.getCollection()).reactive().remove(id, buildRemoveOptions(pArgs.getOptions()))
-							.map(r -> RemoveResult.from(docId, r)))
-					.onErrorMap(throwable -> {
-						if (throwable instanceof RuntimeException) {
-							return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
-						} else {
-							return throwable;
-						}
-					});
+			return Mono.deferContextual(ctx -> {
+				PseudoArgs<RemoveOptions> pArgs = pseudoArgs(ctx);
+				LOG.trace("removeById {}", pArgs);
+				return Mono.just(id)
+						.flatMap(docId -> template.getCouchbaseClientFactory().withScope(pArgs.getScope())
+								.getCollection(pArgs.getCollection()).reactive().remove(id, buildRemoveOptions(pArgs.getOptions()))
+								.map(r -> RemoveResult.from(docId, pArgs.recordMutation(r))))
+						.onErrorMap(throwable -> {
+							if (throwable instanceof RuntimeException) {
+								return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
+							} else {
+								return throwable;
+							}
+						});
+			});
 		}
 
 		@Override
@@ -100,7 +103,19 @@ public class ReactiveRemoveByIdOperationSupport implements ReactiveRemoveByIdOpe
 			return Flux.fromIterable(ids).flatMap(this::one);
 		}
 
-		private RemoveOptions buildRemoveOptions(RemoveOptions options) {
+		/**
+		 * Resolves scope, collection and options for one call. Shared with the blocking
+		 * {@link ExecutableRemoveByIdOperationSupport}.
+		 */
+		PseudoArgs<RemoveOptions> pseudoArgs() {
+			return new PseudoArgs<>(template, scope, collection, options, domainType);
+		}
+
+		PseudoArgs<RemoveOptions> pseudoArgs(ContextView context) {
+			return new PseudoArgs<>(template, context, scope, collection, options, domainType);
+		}
+
+		RemoveOptions buildRemoveOptions(RemoveOptions options) {
 			return OptionsBuilder.buildRemoveOptions(options, persistTo, replicateTo, durabilityLevel, cas);
 		}
 
@@ -70,28 +70,43 @@ public class ReactiveRemoveByQueryOperationSupport implements ReactiveRemoveByQu
 
 		@Override
 		public Flux<RemoveResult> all() {
-			PseudoArgs<QueryOptions> pArgs = new PseudoArgs<>(template, scope, collection, options, domainType);
-			String statement = assembleDeleteQuery(pArgs.getCollection());
-			LOG.trace("removeByQuery {} statement: {}", pArgs, statement);
-			Mono<ReactiveQueryResult> allResult = pArgs.getScope() == null
-					? template.getCouchbaseClientFactory().getCluster().reactive().query(statement,
-							buildQueryOptions(pArgs.getOptions()))
-					: template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getScope().reactive().query(statement,
-							buildQueryOptions(pArgs.getOptions()));
-			return Flux.defer(() -> allResult.onErrorMap(throwable -> {
-				if (throwable instanceof RuntimeException) {
-					return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
-				} else {
-					return throwable;
-				}
-			}).flatMapMany(ReactiveQueryResult::rowsAsObject)
-					.map(row -> new RemoveResult(row.getString(TemplateUtils.SELECT_ID), row.getLong(TemplateUtils.SELECT_CAS),
-							Optional.empty())));
+			return Flux.deferContextual(ctx -> {
+				PseudoArgs<QueryOptions> pArgs = new PseudoArgs<>(template, ctx, scope, collection, options, domainType);
+				String statement = statement(pArgs);
+				LOG.trace("removeByQuery {} statement: {}", pArgs, statement);
+				Mono<ReactiveQueryResult> allResult = pArgs.getScope() == null
+						? template.getCouchbaseClientFactory().getCluster().reactive().query(statement,
+								buildQueryOptions(pArgs, statement))
+						: template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getScope().reactive().query(statement,
+								buildQueryOptions(pArgs, statement));
+				return Flux.defer(() -> allResult.onErrorMap(throwable -> {
+					if (throwable instanceof RuntimeException) {
+						return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
+					} else {
+						return throwable;
+					}
+				}).flatMapMany(ReactiveQueryResult::rowsAsObject)
+						.map(row -> new RemoveResult(row.getString(TemplateUtils.SELECT_ID), row.getLong(TemplateUtils.SELECT_CAS),
+								Optional.empty())));
+			});
 		}
 
-		private QueryOptions buildQueryOptions(QueryOptions options) {
+		/**
+		 * Resolves scope, collection and options for one call. Shared with the blocking
+		 * {@link ExecutableRemoveByQueryOperationSupport}.
+		 */
+		PseudoArgs<QueryOptions> pseudoArgs() {
+			return new PseudoArgs<>(template, scope, collection, options, domainType);
+		}
+
+		String statement(PseudoArgs<QueryOptions> pArgs) {
+			return assembleDeleteQuery(pArgs.getCollection());
+		}
+
+		QueryOptions buildQueryOptions(PseudoArgs<QueryOptions> pArgs, String statement) {
 			QueryScanConsistency qsc = scanConsistency != null ? scanConsistency : template.getConsistency();
-			return query.buildQueryOptions(options, qsc);
+			return template.getPreparedStatementCache().prepareIfRepeated(statement,
+					query.buildQueryOptions(pArgs.getOptions(), qsc, pArgs.getMutationState()));
 		}
 
 		@Override
@@ -17,6 +17,7 @@ package org.springframework.data.couchbase.core;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 import java.time.Duration;
 import java.util.Collection;
@@ -29,6 +30,7 @@ import org.springframework.data.couchbase.core.support.PseudoArgs;
 import org.springframework.util.Assert;
 
 import com.couchbase.client.core.msg.kv.DurabilityLevel;
+import com.couchbase.client.java.codec.RawJsonTranscoder;
 import com.couchbase.client.java.kv.PersistTo;
 import com.couchbase.client.java.kv.ReplaceOptions;
 import com.couchbase.client.java.kv.ReplicateTo;
@@ -79,14 +81,56 @@ public class ReactiveReplaceByIdOperationSupport implements ReactiveReplaceByIdO
 
 		@Override
 		public Mono<T> one(T object) {
-			PseudoArgs<ReplaceOptions> pArgs = new PseudoArgs<>(template, scope, collection, options, domainType);
-			LOG.trace("replaceById {}", pArgs);
+			return Mono.deferContextual(ctx -> {
+				PseudoArgs<ReplaceOptions> pArgs = pseudoArgs(ctx);
+				LOG.trace("replaceById {}", pArgs);
+				return replace(pArgs, object);
+			});
+		}
+
+		@Override
+		public Flux<? extends T> all(Collection<? extends T> objects) {
+			return Flux.deferContextual(ctx -> {
+				PseudoArgs<ReplaceOptions> pArgs = pseudoArgs(ctx);
+				LOG.trace("replaceById all {}", pArgs);
+				return Flux.fromIterable(objects).flatMap(object -> replace(pArgs, object),
+						ReactiveCouchbaseTemplate.DEFAULT_BATCH_CONCURRENCY);
+			});
+		}
+
+		@Override
+		public Flux<MutationResult<T>> batch(Collection<? extends T> objects, int concurrency) {
+			Assert.notNull(objects, "Objects must not be null.");
+			Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0.");
+			return Flux.deferContextual(ctx -> {
+				PseudoArgs<ReplaceOptions> pArgs = pseudoArgs(ctx);
+				LOG.trace("replaceById batch of {} {}", objects.size(), pArgs);
+				return Flux.fromIterable(objects)
+						.flatMapSequential(object -> MutationResult.<T> of(object, replace(pArgs, object)), concurrency);
+			});
+		}
+
+		/**
+		 * Resolves scope, collection and options for one call. Shared with the blocking
+		 * {@link ExecutableReplaceByIdOperationSupport}.
+		 */
+		PseudoArgs<ReplaceOptions> pseudoArgs() {
+			return new PseudoArgs<>(template, scope, collection, options, domainType);
+		}
+
+		PseudoArgs<ReplaceOptions> pseudoArgs(ContextView context) {
+			return new PseudoArgs<>(template, context, scope, collection, options, domainType);
+		}
+
+		private Mono<T> replace(PseudoArgs<ReplaceOptions> pArgs, T object) {
 			return Mono.just(object).flatMap(support::encodeEntity)
-					.flatMap(converted -> template.getCouchbaseClientFactory().withScope(pArgs.getScope())
-							.getCollection(pArgs.getCollection()).reactive()
-							.replace(converted.getId(), converted.export(),
-									buildReplaceOptions(pArgs.getOptions(), object, converted))
-							.flatMap(result -> support.applyUpdatedCas(object, converted, result.cas())))
+					.flatMap(converted -> {
+						ReplaceOptions replaceOptions = buildReplaceOptions(pArgs.getOptions(), object, converted);
+						return template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getCollection(pArgs.getCollection())
+								.reactive().replace(converted.getId(), encodeContent(replaceOptions, converted), replaceOptions)
+								.doOnNext(pArgs::recordMutation)
+								.flatMap(result -> support.applyUpdatedCas(object, converted, result.cas()));
+					})
 					.onErrorMap(throwable -> {
 						if (throwable instanceof RuntimeException) {
 							return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
@@ -96,16 +140,24 @@ public class ReactiveReplaceByIdOperationSupport implements ReactiveReplaceByIdO
 					});
 		}
 
-		@Override
-		public Flux<? extends T> all(Collection<? extends T> objects) {
-			return Flux.fromIterable(objects).flatMap(this::one);
-		}
-
-		private ReplaceOptions buildReplaceOptions(ReplaceOptions options, T object, CouchbaseDocument doc) {
+		ReplaceOptions buildReplaceOptions(ReplaceOptions options, T object, CouchbaseDocument doc) {
 			return OptionsBuilder.buildReplaceOptions(options, persistTo, replicateTo, durabilityLevel, expiry,
 					support.getCas(object), doc);
 		}
 
+		/**
+		 * Encodes the document to JSON bytes if the options allow it, switching them to the {@link RawJsonTranscoder}.
+		 * The options must be the copy made by {@link #buildReplaceOptions}.
+		 */
+		Object encodeContent(ReplaceOptions options, CouchbaseDocument converted) {
+			if (OptionsBuilder.writesRawJson(options.build().transcoder(),
+					template.getCouchbaseClientFactory().getCluster().environment())) {
+				options.transcoder(RawJsonTranscoder.INSTANCE);
+				return support.encodeContent(converted);
+			}
+			return converted.exportView();
+		}
+
 		@Override
 		public TerminatingReplaceById<T> withOptions(final ReplaceOptions options) {
 			Assert.notNull(options, "Options must not be null.");
@@ -24,8 +24,16 @@ public interface ReactiveTemplateSupport {
 
 	Mono<CouchbaseDocument> encodeEntity(Object entityToEncode);
 
+	byte[] encodeContent(CouchbaseDocument converted);
+
 	<T> Mono<T> decodeEntity(String id, String source, long cas, Class<T> entityClass);
 
+	<T> Mono<T> decodeEntity(String id, byte[] source, long cas, Class<T> entityClass);
+
+	<T> Mono<T> decodeRow(byte[] row, boolean withMeta, String statement, Class<T> entityClass);
+
+	<T> Mono<T> decodeAnalyticsRow(byte[] row, String statement, Class<T> entityClass);
+
 	<T> Mono<T> applyUpdatedCas(T entity, CouchbaseDocument converted, long cas);
 
 	<T> Mono<T> applyUpdatedId(T entity, Object id);
@@ -17,6 +17,7 @@ package org.springframework.data.couchbase.core;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 import java.time.Duration;
 import java.util.Collection;
@@ -29,6 +30,7 @@ import org.springframework.data.couchbase.core.support.PseudoArgs;
 import org.springframework.util.Assert;
 
 import com.couchbase.client.core.msg.kv.DurabilityLevel;
+import com.couchbase.client.java.codec.RawJsonTranscoder;
 import com.couchbase.client.java.kv.PersistTo;
 import com.couchbase.client.java.kv.ReplicateTo;
 import com.couchbase.client.java.kv.UpsertOptions;
@@ -79,14 +81,57 @@ public class ReactiveUpsertByIdOperationSupport implements ReactiveUpsertByIdOpe
 
 		@Override
 		public Mono<T> one(T object) {
-			PseudoArgs<UpsertOptions> pArgs = new PseudoArgs(template, scope, collection, options, domainType);
-			LOG.trace("upsertById {}", pArgs);
+			return Mono.deferContextual(ctx -> {
+				PseudoArgs<UpsertOptions> pArgs = pseudoArgs(ctx);
+				LOG.trace("upsertById {}", pArgs);
+				return upsert(pArgs, object);
+			});
+		}
+
+		@Override
+		public Flux<? extends T> all(Collection<? extends T> objects) {
+			return Flux.deferContextual(ctx -> {
+				PseudoArgs<UpsertOptions> pArgs = pseudoArgs(ctx);
+				LOG.trace("upsertById all {}", pArgs);
+				return Flux.fromIterable(objects).flatMap(object -> upsert(pArgs, object),
+						ReactiveCouchbaseTemplate.DEFAULT_BATCH_CONCURRENCY);
+			});
+		}
+
+		@Override
+		public Flux<MutationResult<T>> batch(Collection<? extends T> objects, int concurrency) {
+			Assert.notNull(objects, "Objects must not be null.");
+			Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0.");
+			return Flux.deferContextual(ctx -> {
+				PseudoArgs<UpsertOptions> pArgs = pseudoArgs(ctx);
+				LOG.trace("upsertById batch of {} {}", objects.size(), pArgs);
+				return Flux.fromIterable(objects)
+						.flatMapSequential(object -> MutationResult.<T> of(object, upsert(pArgs, object)), concurrency);
+			});
+		}
+
+		/**
+		 * Resolves scope, collection and options for one call. Shared with the blocking
+		 * {@link ExecutableUpsertByIdOperationSupport}.
+		 */
+		PseudoArgs<UpsertOptions> pseudoArgs() {
+			return new PseudoArgs<>(template, scope, collection, options, domainType);
+		}
+
+		PseudoArgs<UpsertOptions> pseudoArgs(ContextView context) {
+			return new PseudoArgs<>(template, context, scope, collection, options, domainType);
+		}
+
+		private Mono<T> upsert(PseudoArgs<UpsertOptions> pArgs, T object) {
 			return Mono.just(object).flatMap(support::encodeEntity)
-					.flatMap(converted -> template.getCouchbaseClientFactory().withScope(pArgs.getScope())
-							.getCollection(pArgs.getCollection()).reactive()
-							.upsert(converted.getId(), converted.export(), buildUpsertOptions(pArgs.getOptions(), converted))
-							.flatMap(result -> support.applyUpdatedId(object, converted.getId())
-									.flatMap(updatedObject -> support.applyUpdatedCas(updatedObject, converted, result.cas()))))
+					.flatMap(converted -> {
+						UpsertOptions upsertOptions = buildUpsertOptions(pArgs.getOptions(), converted);
+						return template.getCouchbaseClientFactory().withScope(pArgs.getScope()).getCollection(pArgs.getCollection())
+								.reactive().upsert(converted.getId(), encodeContent(upsertOptions, converted), upsertOptions)
+								.doOnNext(pArgs::recordMutation)
+								.flatMap(result -> support.applyUpdatedId(object, converted.getId())
+										.flatMap(updatedObject -> support.applyUpdatedCas(updatedObject, converted, result.cas())));
+					})
 					.onErrorMap(throwable -> {
 						if (throwable instanceof RuntimeException) {
 							return template.potentiallyConvertRuntimeException((RuntimeException) throwable);
@@ -96,19 +141,27 @@ public class ReactiveUpsertByIdOperationSupport implements ReactiveUpsertByIdOpe
 					});
 		}
 
-		@Override
-		public Flux<? extends T> all(Collection<? extends T> objects) {
-			return Flux.fromIterable(objects).flatMap(this::one);
+		UpsertOptions buildUpsertOptions(UpsertOptions options, CouchbaseDocument doc) {
+			return OptionsBuilder.buildUpsertOptions(options, persistTo, replicateTo, durabilityLevel, expiry, doc);
 		}
 
-		private UpsertOptions buildUpsertOptions(UpsertOptions options, CouchbaseDocument doc) {
-			return OptionsBuilder.buildUpsertOptions(options, persistTo, replicateTo, durabilityLevel, expiry, doc);
+		/**
+		 * Encodes the document to JSON bytes if the options allow it, switching them to the {@link RawJsonTranscoder}.
+		 * The options must be the copy made by {@link #buildUpsertOptions}.
+		 */
+		Object encodeContent(UpsertOptions options, CouchbaseDocument converted) {
+			if (OptionsBuilder.writesRawJson(options.build().transcoder(),
+					template.getCouchbaseClientFactory().getCluster().environment())) {
+				options.transcoder(RawJsonTranscoder.INSTANCE);
+				return support.encodeContent(converted);
+			}
+			return converted.exportView();
 		}
 
 		@Override
 		public TerminatingUpsertById<T> withOptions(final UpsertOptions options) {
 			Assert.notNull(options, "Options must not be null.");
-			return new ReactiveUpsertByIdSupport(template, domainType, scope, collection, options, persistTo, replicateTo,
+			return new ReactiveUpsertByIdSupport<>(template, domainType, scope, collection, options, persistTo, replicateTo,
 					durabilityLevel, expiry, support);
 		}
 
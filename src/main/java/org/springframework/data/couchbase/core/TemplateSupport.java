@@ -22,8 +22,16 @@ public interface TemplateSupport {
 
 	CouchbaseDocument encodeEntity(Object entityToEncode);
 
+	byte[] encodeContent(CouchbaseDocument converted);
+
 	<T> T decodeEntity(String id, String source, long cas, Class<T> entityClass);
 
+	<T> T decodeEntity(String id, byte[] source, long cas, Class<T> entityClass);
+
+	<T> T decodeRow(byte[] row, boolean withMeta, String statement, Class<T> entityClass);
+
+	<T> T decodeAnalyticsRow(byte[] row, String statement, Class<T> entityClass);
+
 	<T> T applyUpdatedCas(T entity, CouchbaseDocument converted, long cas);
 
 	<T> T applyUpdatedId(T entity, Object id);
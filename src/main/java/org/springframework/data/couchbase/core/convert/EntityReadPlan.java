@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core.convert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentProperty;
+import org.springframework.data.couchbase.core.mapping.id.IdPrefix;
+import org.springframework.data.couchbase.core.mapping.id.IdSuffix;
+import org.springframework.data.couchbase.core.query.N1qlJoin;
+import org.springframework.data.mapping.Association;
+import org.springframework.data.mapping.PreferredConstructor;
+
+/**
+ * Everything {@link MappingCouchbaseConverter} needs to know to read an entity of one type, resolved once from the
+ * mapping metadata: the properties to set after instantiation with their field names, the associations, and whether
+ * any SpEL expression has to be evaluated.
+ */
+final class EntityReadPlan {
+
+	private final Step[] steps;
+	private final CouchbasePersistentProperty idProperty;
+	private final CouchbasePersistentProperty[] associations;
+	private final boolean usesSpel;
+
+	EntityReadPlan(final CouchbasePersistentEntity<?> entity) {
+		this.idProperty = entity.getIdProperty();
+
+		List<Step> steps = new ArrayList<>();
+		boolean[] spel = { hasSpelParameters(entity.getPersistenceConstructor()) };
+		entity.doWithProperties((CouchbasePersistentProperty prop) -> {
+			spel[0] |= prop.getSpelExpression() != null;
+			if (entity.isConstructorArgument(prop) || prop.isAnnotationPresent(IdPrefix.class)
+					|| prop.isAnnotationPresent(IdSuffix.class) || prop.isAnnotationPresent(N1qlJoin.class)) {
+				return;
+			}
+			steps.add(new Step(prop, prop.getFieldName(), prop.isIdProperty(), prop.equals(idProperty)));
+		});
+		this.steps = steps.toArray(new Step[0]);
+
+		List<CouchbasePersistentProperty> inverses = new ArrayList<>();
+		entity.doWithAssociations((Association<CouchbasePersistentProperty> association) -> {
+			spel[0] |= association.getInverse().getSpelExpression() != null;
+			inverses.add(association.getInverse());
+		});
+		this.associations = inverses.toArray(new CouchbasePersistentProperty[0]);
+		this.usesSpel = spel[0];
+	}
+
+	private static boolean hasSpelParameters(final PreferredConstructor<?, CouchbasePersistentProperty> constructor) {
+		if (constructor == null) {
+			return false;
+		}
+		for (PreferredConstructor.Parameter<Object, CouchbasePersistentProperty> parameter : constructor.getParameters()) {
+			if (parameter.hasSpelExpression()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	Step[] getSteps() {
+		return steps;
+	}
+
+	CouchbasePersistentProperty getIdProperty() {
+		return idProperty;
+	}
+
+	CouchbasePersistentProperty[] getAssociations() {
+		return associations;
+	}
+
+	/**
+	 * Whether any property or constructor parameter carries a SpEL expression, otherwise reading can skip setting up
+	 * expression evaluation.
+	 */
+	boolean usesSpel() {
+		return usesSpel;
+	}
+
+	/**
+	 * A property that is set after the entity is instantiated.
+	 */
+	static final class Step {
+
+		final CouchbasePersistentProperty property;
+		final String fieldName;
+		final boolean isIdProperty;
+		final boolean isEntityId;
+
+		private Step(final CouchbasePersistentProperty property, final String fieldName, final boolean isIdProperty,
+				final boolean isEntityId) {
+			this.property = property;
+			this.fieldName = fieldName;
+			this.isIdProperty = isIdProperty;
+			this.isEntityId = isEntityId;
+		}
+
+		@Override
+		public String toString() {
+			return property.getName() + " <- " + fieldName;
+		}
+
+	}
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core.convert;
+
+import static org.springframework.data.couchbase.core.mapping.id.GenerationStrategy.UNIQUE;
+import static org.springframework.data.couchbase.core.mapping.id.GenerationStrategy.USE_ATTRIBUTES;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentProperty;
+import org.springframework.data.couchbase.core.mapping.Expiry;
+import org.springframework.data.couchbase.core.mapping.id.GeneratedValue;
+import org.springframework.data.couchbase.core.mapping.id.IdAttribute;
+import org.springframework.data.couchbase.core.mapping.id.IdPrefix;
+import org.springframework.data.couchbase.core.mapping.id.IdSuffix;
+import org.springframework.data.couchbase.core.query.N1qlJoin;
+import org.springframework.data.mapping.Association;
+import org.springframework.util.StringUtils;
+
+/**
+ * Everything {@link MappingCouchbaseConverter} needs to know to write an entity of one type, resolved once from the
+ * mapping metadata: the properties to visit and how to treat each of them, the id generation parts and the expiry.
+ * <p>
+ * Only a constant expiry is resolved once. An {@link Expiry#expiryExpression()} can depend on properties that change
+ * at runtime, so it is resolved again for every write, as before write plans.
+ */
+final class EntityWritePlan {
+
+	private static final String[] NO_PARTS = new String[0];
+
+	private final Step[] steps;
+	private final CouchbasePersistentProperty idProperty;
+	private final GeneratedValue generatedValue;
+	private final int prefixCount;
+	private final int suffixCount;
+	private final int attributeCount;
+	private final CouchbasePersistentEntity<?> entity;
+	private final boolean constantExpiry;
+	private final int expirySeconds;
+	private final CouchbasePersistentProperty[] associations;
+
+	EntityWritePlan(final CouchbasePersistentEntity<?> entity) {
+		this.idProperty = entity.getIdProperty();
+		this.generatedValue = idProperty != null ? idProperty.findAnnotation(GeneratedValue.class) : null;
+		this.entity = entity;
+		Expiry expiry = AnnotatedElementUtils.findMergedAnnotation(entity.getType(), Expiry.class);
+		this.constantExpiry = expiry == null || !StringUtils.hasLength(expiry.expiryExpression());
+		this.expirySeconds = constantExpiry ? (int) entity.getExpiryDuration().getSeconds() : 0;
+
+		CouchbasePersistentProperty versionProperty = entity.getVersionProperty();
+		List<CouchbasePersistentProperty> properties = new ArrayList<>();
+		TreeSet<Integer> prefixOrders = new TreeSet<>();
+		TreeSet<Integer> suffixOrders = new TreeSet<>();
+		TreeSet<Integer> attributeOrders = new TreeSet<>();
+		entity.doWithProperties((CouchbasePersistentProperty prop) -> {
+			if (prop.equals(versionProperty) || prop.isAnnotationPresent(N1qlJoin.class)) {
+				return;
+			}
+			properties.add(prop);
+			if (prop.isAnnotationPresent(IdPrefix.class)) {
+				prefixOrders.add(prop.findAnnotation(IdPrefix.class).order());
+			} else if (prop.isAnnotationPresent(IdSuffix.class)) {
+				suffixOrders.add(prop.findAnnotation(IdSuffix.class).order());
+			} else if (prop.isAnnotationPresent(IdAttribute.class)) {
+				attributeOrders.add(prop.findAnnotation(IdAttribute.class).order());
+			}
+		});
+
+		// parts with the same order share a slot, the last non-null value wins
+		this.steps = new Step[properties.size()];
+		for (int i = 0; i < steps.length; i++) {
+			CouchbasePersistentProperty prop = properties.get(i);
+			IdPart idPart = IdPart.NONE;
+			int slot = -1;
+			if (prop.isAnnotationPresent(IdPrefix.class)) {
+				idPart = IdPart.PREFIX;
+				slot = prefixOrders.headSet(prop.findAnnotation(IdPrefix.class).order()).size();
+			} else if (prop.isAnnotationPresent(IdSuffix.class)) {
+				idPart = IdPart.SUFFIX;
+				slot = suffixOrders.headSet(prop.findAnnotation(IdSuffix.class).order()).size();
+			} else if (prop.isAnnotationPresent(IdAttribute.class)) {
+				idPart = IdPart.ATTRIBUTE;
+				slot = attributeOrders.headSet(prop.findAnnotation(IdAttribute.class).order()).size();
+			}
+			boolean write = idPart != IdPart.PREFIX && idPart != IdPart.SUFFIX && !prop.isAnnotationPresent(Transient.class);
+			steps[i] = new Step(prop, prop.equals(idProperty), idPart, slot, write);
+		}
+		this.prefixCount = prefixOrders.size();
+		this.suffixCount = suffixOrders.size();
+		this.attributeCount = attributeOrders.size();
+
+		List<CouchbasePersistentProperty> inverses = new ArrayList<>();
+		entity.doWithAssociations(
+				(Association<CouchbasePersistentProperty> association) -> inverses.add(association.getInverse()));
+		this.associations = inverses.toArray(new CouchbasePersistentProperty[0]);
+	}
+
+	Step[] getSteps() {
+		return steps;
+	}
+
+	CouchbasePersistentProperty getIdProperty() {
+		return idProperty;
+	}
+
+	int getExpirySeconds() {
+		return constantExpiry ? expirySeconds : (int) entity.getExpiryDuration().getSeconds();
+	}
+
+	CouchbasePersistentProperty[] getAssociations() {
+		return associations;
+	}
+
+	/**
+	 * Holds the id part values collected while writing one entity.
+	 */
+	IdParts newIdParts() {
+		return new IdParts(prefixCount == 0 ? NO_PARTS : new String[prefixCount],
+				suffixCount == 0 ? NO_PARTS : new String[suffixCount],
+				attributeCount == 0 ? NO_PARTS : new String[attributeCount]);
+	}
+
+	/**
+	 * Whether an id has to be generated, given the current value of the id property.
+	 */
+	boolean generatesId(final String id) {
+		return generatedValue != null && (id == null || id.equals(""));
+	}
+
+	String generateId(final IdParts parts) {
+		String delimiter = generatedValue.delimiter();
+		StringBuilder sb = new StringBuilder();
+		boolean isAppending = appendKeyParts(sb, parts.prefixes, delimiter, false);
+
+		if (generatedValue.strategy() == USE_ATTRIBUTES) {
+			isAppending = appendKeyParts(sb, parts.attributes, delimiter, isAppending);
+		}
+
+		if (generatedValue.strategy() == UNIQUE) {
+			if (isAppending) {
+				sb.append(delimiter);
+			}
+			sb.append(UUID.randomUUID());
+			isAppending = true;
+		}
+
+		appendKeyParts(sb, parts.suffixes, delimiter, isAppending);
+		return sb.toString();
+	}
+
+	private static boolean appendKeyParts(final StringBuilder sb, final String[] values, final String delimiter,
+			boolean isAppending) {
+		for (String value : values) {
+			if (value == null) {
+				continue;
+			}
+			if (isAppending) {
+				sb.append(delimiter);
+			} else {
+				isAppending = true;
+			}
+			sb.append(value);
+		}
+		return isAppending;
+	}
+
+	enum IdPart {
+		NONE, PREFIX, SUFFIX, ATTRIBUTE
+	}
+
+	/**
+	 * How to write a single property.
+	 */
+	static final class Step {
+
+		final CouchbasePersistentProperty property;
+		final boolean isId;
+		final IdPart idPart;
+		final int slot;
+		final boolean write;
+
+		private Step(final CouchbasePersistentProperty property, final boolean isId, final IdPart idPart, final int slot,
+				final boolean write) {
+			this.property = property;
+			this.isId = isId;
+			this.idPart = idPart;
+			this.slot = slot;
+			this.write = write;
+		}
+
+		@Override
+		public String toString() {
+			return property.getName() + (idPart != IdPart.NONE ? " (" + idPart + " " + slot + ")" : "")
+					+ (write ? "" : " not written");
+		}
+
+	}
+
+	/**
+	 * Id part values of one entity, in the slots assigned by the plan.
+	 */
+	static final class IdParts {
+
+		private final String[] prefixes;
+		private final String[] suffixes;
+		private final String[] attributes;
+
+		private IdParts(final String[] prefixes, final String[] suffixes, final String[] attributes) {
+			this.prefixes = prefixes;
+			this.suffixes = suffixes;
+			this.attributes = attributes;
+		}
+
+		void put(final Step step, final String value) {
+			switch (step.idPart) {
+				case PREFIX:
+					prefixes[step.slot] = value;
+					break;
+				case SUFFIX:
+					suffixes[step.slot] = value;
+					break;
+				case ATTRIBUTE:
+					attributes[step.slot] = value;
+					break;
+				default:
+					break;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "IdParts{prefixes=" + Arrays.toString(prefixes) + ", attributes=" + Arrays.toString(attributes)
+					+ ", suffixes=" + Arrays.toString(suffixes) + "}";
+		}
+
+	}
+
+}
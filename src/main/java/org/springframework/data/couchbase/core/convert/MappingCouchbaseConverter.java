@@ -16,9 +16,6 @@
 
 package org.springframework.data.couchbase.core.convert;
 
-import static org.springframework.data.couchbase.core.mapping.id.GenerationStrategy.UNIQUE;
-import static org.springframework.data.couchbase.core.mapping.id.GenerationStrategy.USE_ATTRIBUTES;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -26,15 +23,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.TreeMap;
-import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.CollectionFactory;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
-import org.springframework.data.annotation.Transient;
 import org.springframework.data.convert.CustomConversions;
 import org.springframework.data.convert.EntityInstantiator;
 import org.springframework.data.couchbase.core.mapping.CouchbaseDocument;
@@ -43,19 +38,11 @@ import org.springframework.data.couchbase.core.mapping.CouchbaseMappingContext;
 import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
 import org.springframework.data.couchbase.core.mapping.CouchbasePersistentProperty;
 import org.springframework.data.couchbase.core.mapping.event.AfterConvertCallback;
-import org.springframework.data.couchbase.core.mapping.id.GeneratedValue;
-import org.springframework.data.couchbase.core.mapping.id.IdAttribute;
-import org.springframework.data.couchbase.core.mapping.id.IdPrefix;
-import org.springframework.data.couchbase.core.mapping.id.IdSuffix;
-import org.springframework.data.couchbase.core.query.N1qlJoin;
 import org.springframework.data.mapping.Alias;
-import org.springframework.data.mapping.Association;
-import org.springframework.data.mapping.AssociationHandler;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.mapping.PersistentEntity;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.PreferredConstructor.Parameter;
-import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.callback.EntityCallbacks;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
@@ -71,6 +58,7 @@ import org.springframework.data.util.TypeInformation;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * A mapping converter for Couchbase. The converter is responsible for reading from and writing to entities and
@@ -118,6 +106,22 @@ public class MappingCouchbaseConverter extends AbstractCouchbaseConverter implem
 	 */
 	private @Nullable EntityCallbacks entityCallbacks;
 
+	/**
+	 * Write plans by entity, see {@link EntityWritePlan}.
+	 */
+	private final Map<CouchbasePersistentEntity<?>, EntityWritePlan> writePlans = new ConcurrentHashMap<>();
+
+	/**
+	 * Read plans by entity, see {@link EntityReadPlan}.
+	 */
+	private final Map<CouchbasePersistentEntity<?>, EntityReadPlan> readPlans = new ConcurrentHashMap<>();
+
+	/**
+	 * Whether a subclass overrides {@link #getValueInternal}, in which case {@link #read} reads all property values
+	 * through it.
+	 */
+	private final boolean customValueInternal;
+
 	public MappingCouchbaseConverter() {
 		this(new CouchbaseMappingContext(), null);
 	}
@@ -153,6 +157,9 @@ public class MappingCouchbaseConverter extends AbstractCouchbaseConverter implem
 		((CouchbaseMappingContext) mappingContext).setSimpleTypeHolder(customConversions.getSimpleTypeHolder());
 		typeMapper = new DefaultCouchbaseTypeMapper(typeKey != null ? typeKey : TYPEKEY_DEFAULT);
 		spELContext = new SpELContext(CouchbaseDocumentPropertyAccessor.INSTANCE);
+		customValueInternal = ReflectionUtils.findMethod(getClass(), "getValueInternal", CouchbasePersistentProperty.class,
+				CouchbaseDocument.class, Object.class, PersistentEntity.class)
+				.getDeclaringClass() != MappingCouchbaseConverter.class;
 	}
 
 	/**
@@ -243,10 +250,6 @@ public class MappingCouchbaseConverter extends AbstractCouchbaseConverter implem
 		return read(entity, source, parent);
 	}
 
-	private boolean isIdConstructionProperty(final CouchbasePersistentProperty property) {
-		return property.isAnnotationPresent(IdPrefix.class) || property.isAnnotationPresent(IdSuffix.class);
-	}
-
 	/**
 	 * Read an incoming {@link CouchbaseDocument} into the target entity.
 	 *
@@ -257,40 +260,36 @@ public class MappingCouchbaseConverter extends AbstractCouchbaseConverter implem
 	 * @return the converted entity.
 	 */
 	protected <R> R read(final CouchbasePersistentEntity<R> entity, final CouchbaseDocument source, final Object parent) {
-		final DefaultSpELExpressionEvaluator evaluator = new DefaultSpELExpressionEvaluator(source, spELContext);
+		final EntityReadPlan plan = readPlans.computeIfAbsent(entity, EntityReadPlan::new);
+		final DefaultSpELExpressionEvaluator evaluator = plan.usesSpel()
+				? new DefaultSpELExpressionEvaluator(source, spELContext)
+				: null;
 		ParameterValueProvider<CouchbasePersistentProperty> provider = getParameterProvider(entity, source, evaluator,
 				parent);
 		EntityInstantiator instantiator = instantiators.getInstantiatorFor(entity);
 
 		final R instance = instantiator.createInstance(entity, provider);
-		final ConvertingPropertyAccessor accessor = getPropertyAccessor(instance);
-
-		entity.doWithProperties(new PropertyHandler<CouchbasePersistentProperty>() {
-			@Override
-			public void doWithPersistentProperty(final CouchbasePersistentProperty prop) {
-				if (!doesPropertyExistInSource(prop) || entity.isConstructorArgument(prop) || isIdConstructionProperty(prop)
-						|| prop.isAnnotationPresent(N1qlJoin.class)) {
-					return;
-				}
-				Object obj = prop == entity.getIdProperty() && parent == null ? source.getId()
-						: getValueInternal(prop, source, instance, entity);
-				accessor.setProperty(prop, obj);
-			}
-
-			private boolean doesPropertyExistInSource(final CouchbasePersistentProperty property) {
-				return property.isIdProperty() || source.containsKey(property.getFieldName());
+		final ConvertingPropertyAccessor<R> accessor = new ConvertingPropertyAccessor<>(
+				entity.getPropertyAccessor(instance), conversionService);
+		// subclasses overriding getValueInternal get every property value from it, as before read plans
+		final CouchbasePropertyValueProvider valueProvider = customValueInternal ? null
+				: evaluator != null ? new CouchbasePropertyValueProvider(source, evaluator, instance, entity)
+						: new CouchbasePropertyValueProvider(source, instance, entity);
+
+		for (EntityReadPlan.Step step : plan.getSteps()) {
+			if (!step.isIdProperty && !source.containsKey(step.fieldName)) {
+				continue;
 			}
+			Object obj = step.isEntityId && parent == null ? source.getId()
+					: valueProvider != null ? valueProvider.getPropertyValue(step.property)
+							: getValueInternal(step.property, source, instance, entity);
+			accessor.setProperty(step.property, obj);
+		}
 
-			private boolean isIdConstructionProperty(final CouchbasePersistentProperty property) {
-				return property.isAnnotationPresent(IdPrefix.class) || property.isAnnotationPresent(IdSuffix.class);
-			}
-		});
-
-		entity.doWithAssociations((AssociationHandler<CouchbasePersistentProperty>) association -> {
-			CouchbasePersistentProperty inverseProp = association.getInverse();
-			Object obj = getValueInternal(inverseProp, source, instance, entity);
-			accessor.setProperty(inverseProp, obj);
-		});
+		for (CouchbasePersistentProperty inverseProp : plan.getAssociations()) {
+			accessor.setProperty(inverseProp, valueProvider != null ? valueProvider.getPropertyValue(inverseProp)
+					: getValueInternal(inverseProp, source, instance, entity));
+		}
 
 		return instance;
 	}
@@ -313,16 +312,21 @@ public class MappingCouchbaseConverter extends AbstractCouchbaseConverter implem
 	 *
 	 * @param entity the persistent entity.
 	 * @param source the source document.
-	 * @param evaluator the SPEL expression evaluator.
+	 * @param evaluator the SPEL expression evaluator, {@literal null} if the entity does not use SpEL.
 	 * @param parent the optional parent.
 	 * @return a new parameter value provider.
 	 */
 	private ParameterValueProvider<CouchbasePersistentProperty> getParameterProvider(
 			final CouchbasePersistentEntity<?> entity, final CouchbaseDocument source,
-			final DefaultSpELExpressionEvaluator evaluator, final Object parent) {
-		CouchbasePropertyValueProvider provider = new CouchbasePropertyValueProvider(source, evaluator, parent, entity);
+			@Nullable final DefaultSpELExpressionEvaluator evaluator, final Object parent) {
+		CouchbasePropertyValueProvider provider = evaluator != null
+				? new CouchbasePropertyValueProvider(source, evaluator, parent, entity)
+				: new CouchbasePropertyValueProvider(source, parent, entity);
 		PersistentEntityParameterValueProvider<CouchbasePersistentProperty> parameterProvider = new PersistentEntityParameterValueProvider<>(
 				entity, provider, parent);
+		if (evaluator == null) {
+			return parameterProvider;
+		}
 
 		return new ConverterAwareSpELExpressionParameterValueProvider(evaluator, conversionService, parameterProvider,
 				parent);
@@ -342,7 +346,7 @@ public class MappingCouchbaseConverter extends AbstractCouchbaseConverter implem
 		Assert.notNull(source, "CouchbaseDocument must not be null!");
 
 		Class<?> mapType = typeMapper.readType(source, type).getType();
-		Map<Object, Object> map = CollectionFactory.createMap(mapType, source.export().keySet().size());
+		Map<Object, Object> map = CollectionFactory.createMap(mapType, source.size());
 		Map<String, Object> sourceMap = source.getContent();
 
 		for (Map.Entry<String, Object> entry : sourceMap.entrySet()) {
@@ -497,65 +501,40 @@ public class MappingCouchbaseConverter extends AbstractCouchbaseConverter implem
 		}
 
 		final ConvertingPropertyAccessor<Object> accessor = getPropertyAccessor(source);
-		final CouchbasePersistentProperty idProperty = withId ? entity.getIdProperty() : null;
-		final CouchbasePersistentProperty versionProperty = entity.getVersionProperty();
-
-		GeneratedValue generatedValueInfo = null;
-		final TreeMap<Integer, String> prefixes = new TreeMap<>();
-		final TreeMap<Integer, String> suffixes = new TreeMap<>();
-		final TreeMap<Integer, String> idAttributes = new TreeMap<>();
-
-		target.setExpiration((int) (entity.getExpiryDuration().getSeconds()));
-
-		entity.doWithProperties(new PropertyHandler<CouchbasePersistentProperty>() {
-			@Override
-			public void doWithPersistentProperty(final CouchbasePersistentProperty prop) {
-				if (prop.equals(idProperty) || (versionProperty != null && prop.equals(versionProperty))) {
-					return;
-				} else if (prop.isAnnotationPresent(N1qlJoin.class)) {
-					return;
-				}
+		final EntityWritePlan plan = writePlans.computeIfAbsent(entity, EntityWritePlan::new);
+		final EntityWritePlan.IdParts idParts = plan.newIdParts();
 
-				Object propertyObj = accessor.getProperty(prop, prop.getType());
-				if (null != propertyObj) {
-					if (prop.isAnnotationPresent(IdPrefix.class)) {
-						IdPrefix prefix = prop.findAnnotation(IdPrefix.class);
-						int order = prefix.order();
-						prefixes.put(order, convertToString(propertyObj));
-						return;
-					}
-
-					if (prop.isAnnotationPresent(IdSuffix.class)) {
-						IdSuffix suffix = prop.findAnnotation(IdSuffix.class);
-						int order = suffix.order();
-						suffixes.put(order, convertToString(propertyObj));
-						return;
-					}
-
-					if (prop.isAnnotationPresent(IdAttribute.class)) {
-						IdAttribute idAttribute = prop.findAnnotation(IdAttribute.class);
-						int order = idAttribute.order();
-						idAttributes.put(order, convertToString(propertyObj));
-					}
-
-					if (prop.isAnnotationPresent(Transient.class)) {
-						return;
-					}
-
-					if (!conversions.isSimpleType(propertyObj.getClass())) {
-						writePropertyInternal(propertyObj, target, prop, false);
-					} else {
-						writeSimpleInternal(propertyObj, target, prop.getFieldName());
-					}
-				}
+		target.setExpiration(plan.getExpirySeconds());
+
+		for (EntityWritePlan.Step step : plan.getSteps()) {
+			if (withId && step.isId) {
+				continue;
 			}
-		});
 
+			CouchbasePersistentProperty prop = step.property;
+			Object propertyObj = accessor.getProperty(prop, prop.getType());
+			if (null == propertyObj) {
+				continue;
+			}
+			if (step.idPart != EntityWritePlan.IdPart.NONE) {
+				idParts.put(step, convertToString(propertyObj));
+			}
+			if (!step.write) {
+				continue;
+			}
+
+			if (!conversions.isSimpleType(propertyObj.getClass())) {
+				writePropertyInternal(propertyObj, target, prop, false);
+			} else {
+				writeSimpleInternal(propertyObj, target, prop.getFieldName());
+			}
+		}
+
+		final CouchbasePersistentProperty idProperty = withId ? plan.getIdProperty() : null;
 		if (idProperty != null && target.getId() == null) {
 			String id = accessor.getProperty(idProperty, String.class);
-			if (idProperty.isAnnotationPresent(GeneratedValue.class) && (id == null || id.equals(""))) {
-				generatedValueInfo = idProperty.findAnnotation(GeneratedValue.class);
-				String generatedId = generateId(generatedValueInfo, prefixes, suffixes, idAttributes);
+			if (plan.generatesId(id)) {
+				String generatedId = plan.generateId(idParts);
 				target.setId(generatedId);
 				// this is not effective if id is Immutable, and accessor.setProperty() returns a new object in getBean()
 				accessor.setProperty(idProperty, generatedId);
@@ -564,17 +543,12 @@ public class MappingCouchbaseConverter extends AbstractCouchbaseConverter implem
 			}
 		}
 
-		entity.doWithAssociations(new AssociationHandler<CouchbasePersistentProperty>() {
-			@Override
-			public void doWithAssociation(final Association<CouchbasePersistentProperty> association) {
-				CouchbasePersistentProperty inverseProp = association.getInverse();
-				Class<?> type = inverseProp.getType();
-				Object propertyObj = accessor.getProperty(inverseProp, type);
-				if (null != propertyObj) {
-					writePropertyInternal(propertyObj, target, inverseProp, false);
-				}
+		for (CouchbasePersistentProperty inverseProp : plan.getAssociations()) {
+			Object propertyObj = accessor.getProperty(inverseProp, inverseProp.getType());
+			if (null != propertyObj) {
+				writePropertyInternal(propertyObj, target, inverseProp, false);
 			}
-		});
+		}
 
 	}
 
@@ -860,54 +834,6 @@ public class MappingCouchbaseConverter extends AbstractCouchbaseConverter implem
 		return new ConvertingPropertyAccessor<>(accessor, conversionService);
 	}
 
-	private String generateId(GeneratedValue generatedValue, TreeMap<Integer, String> prefixes,
-			TreeMap<Integer, String> suffixes, TreeMap<Integer, String> idAttributes) {
-		String delimiter = generatedValue.delimiter();
-		StringBuilder sb = new StringBuilder();
-		boolean isAppending = false;
-		if (prefixes.size() > 0) {
-			appendKeyParts(sb, prefixes.values(), delimiter);
-			isAppending = true;
-		}
-
-		if (generatedValue.strategy() == USE_ATTRIBUTES && idAttributes.size() > 0) {
-			if (isAppending) {
-				sb.append(delimiter);
-			}
-			appendKeyParts(sb, idAttributes.values(), delimiter);
-			isAppending = true;
-		}
-
-		if (generatedValue.strategy() == UNIQUE) {
-			if (isAppending) {
-				sb.append(delimiter);
-			}
-			sb.append(UUID.randomUUID());
-			isAppending = true;
-		}
-
-		if (suffixes.size() > 0) {
-			if (isAppending) {
-				sb.append(delimiter);
-			}
-			appendKeyParts(sb, suffixes.values(), delimiter);
-		}
-		return sb.toString();
-	}
-
-	private StringBuilder appendKeyParts(StringBuilder sb, Collection<String> values, String delimiter) {
-		boolean isAppending = false;
-		for (String value : values) {
-			if (isAppending) {
-				sb.append(delimiter);
-			} else {
-				isAppending = true;
-			}
-			sb.append(value);
-		}
-		return sb;
-	}
-
 	/**
 	 * A property value provider for Couchbase documents.
 	 */
@@ -921,7 +847,7 @@ public class MappingCouchbaseConverter extends AbstractCouchbaseConverter implem
 		/**
 		 * The expression evaluator.
 		 */
-		private final SpELExpressionEvaluator evaluator;
+		private final @Nullable DefaultSpELExpressionEvaluator evaluator;
 
 		/**
 		 * The optional parent object.
@@ -949,6 +875,19 @@ public class MappingCouchbaseConverter extends AbstractCouchbaseConverter implem
 			this.entity = entity;
 		}
 
+		/**
+		 * For entities none of whose properties has a SpEL expression.
+		 */
+		CouchbasePropertyValueProvider(final CouchbaseDocument source, final Object parent,
+				final PersistentEntity entity) {
+			Assert.notNull(source, "CouchbaseDocument must not be null!");
+
+			this.source = source;
+			this.evaluator = null;
+			this.parent = parent;
+			this.entity = entity;
+		}
+
 		@Override
 		@SuppressWarnings("unchecked")
 		public <R> R getPropertyValue(final CouchbasePersistentProperty property) {
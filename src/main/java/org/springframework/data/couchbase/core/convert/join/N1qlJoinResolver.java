@@ -19,9 +19,20 @@ package org.springframework.data.couchbase.core.convert.join;
 import static org.springframework.data.couchbase.core.support.TemplateUtils.SELECT_CAS;
 import static org.springframework.data.couchbase.core.support.TemplateUtils.SELECT_ID;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.io.IOException;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,17 +41,23 @@ import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity
 import org.springframework.data.couchbase.core.mapping.CouchbasePersistentProperty;
 import org.springframework.data.couchbase.core.query.FetchType;
 import org.springframework.data.couchbase.core.query.HashSide;
-import org.springframework.data.couchbase.core.query.N1QLExpression;
-import org.springframework.data.couchbase.core.query.N1QLQuery;
 import org.springframework.data.couchbase.core.query.N1qlJoin;
 import org.springframework.data.couchbase.core.query.Query;
+import org.springframework.data.couchbase.core.support.TemplateUtils;
 import org.springframework.data.couchbase.repository.query.StringBasedN1qlQueryParser;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
 import org.springframework.data.util.TypeInformation;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
+import com.couchbase.client.java.json.JsonArray;
+import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.query.QueryOptions;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 /**
  * N1qlJoinResolver resolves by converting the join definition to query statement and executing using CouchbaseTemplate
@@ -50,14 +67,65 @@ import com.couchbase.client.java.query.QueryOptions;
 public class N1qlJoinResolver {
 	private static final Logger LOGGER = LoggerFactory.getLogger(N1qlJoinResolver.class);
 
+	/**
+	 * Alias of the projection that carries the id of the entity (left key space) a row of a batched join belongs to.
+	 */
+	static final String SELECT_LKS_ID = "__lks_id";
+
+	/**
+	 * Maximum number of entities whose eager joins are resolved with a single query.
+	 */
+	public static final int BATCH_SIZE = 1000;
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	/**
+	 * Statements are generated once per join and then cached, only the ids are bound per execution. Entries are held
+	 * through soft references: they stay reachable, key classes included, until the garbage collector needs the memory,
+	 * so the entries of a discarded mapping context are not pinned for the lifetime of the class loader but are not
+	 * released right away either.
+	 */
+	private static final Map<JoinStatementKey, String> STATEMENTS = new ConcurrentReferenceHashMap<>();
+
+	/**
+	 * Eager join properties per entity, so the annotations are only inspected once. Entries are held through soft
+	 * references, like the {@link #STATEMENTS}, so those of a discarded mapping context are released under memory
+	 * pressure rather than as soon as the context is gone.
+	 */
+	private static final Map<CouchbasePersistentEntity<?>, List<CouchbasePersistentProperty>> EAGER_JOINS = new ConcurrentReferenceHashMap<>();
+
+	/**
+	 * Returns the join statement for the given parameters. The id of the entity is not part of the statement, it is
+	 * bound to the {@code $ids} named parameter, so the same prepared statement serves every entity.
+	 */
 	public static String buildQuery(ReactiveCouchbaseTemplate template, String collectionName,
 			N1qlJoinResolverParameters parameters) {
+		return getStatement(template, collectionName, parameters.getJoinDefinition(), parameters.getEntityTypeInfo(),
+				parameters.getAssociatedEntityTypeInfo());
+	}
+
+	/**
+	 * Returns the cached join statement for all entities whose ids are bound to the {@code $ids} named parameter. Each
+	 * row also projects the id of the entity it belongs to as {@link #SELECT_LKS_ID}.
+	 */
+	private static String getStatement(ReactiveCouchbaseTemplate template, String collectionName,
+			N1qlJoin joinDefinition, TypeInformation<?> entityTypeInfo, TypeInformation<?> associatedEntityTypeInfo) {
+		JoinStatementKey key = new JoinStatementKey(template.getBucketName(), collectionName,
+				template.getConverter().getTypeKey(), joinDefinition, entityTypeInfo.getType(),
+				associatedEntityTypeInfo.getType());
+		return STATEMENTS.computeIfAbsent(key,
+				k -> buildStatement(template, collectionName, joinDefinition, entityTypeInfo, associatedEntityTypeInfo));
+	}
+
+	private static String buildStatement(ReactiveCouchbaseTemplate template, String collectionName,
+			N1qlJoin joinDefinition, TypeInformation<?> entityTypeInfo, TypeInformation<?> associatedEntityTypeInfo) {
+		String selectEntity = "SELECT META(lks).id AS " + SELECT_LKS_ID + ", META(rks).id AS " + SELECT_ID
+				+ ", META(rks).cas AS " + SELECT_CAS + ", (rks).* ";
 		String joinType = "JOIN";
-		String selectEntity = "SELECT META(rks).id AS " + SELECT_ID + ", META(rks).cas AS " + SELECT_CAS + ", (rks).* ";
 
 		StringBuilder useLKSBuilder = new StringBuilder();
-		if (parameters.getJoinDefinition().index().length() > 0) {
-			useLKSBuilder.append("INDEX(" + parameters.getJoinDefinition().index() + ")");
+		if (joinDefinition.index().length() > 0) {
+			useLKSBuilder.append("INDEX(" + joinDefinition.index() + ")");
 		}
 		String useLKS = useLKSBuilder.length() > 0 ? "USE " + useLKSBuilder.toString() + " " : "";
 
@@ -65,28 +133,27 @@ public class N1qlJoinResolver {
 				+ "` rks";
 
 		StringBasedN1qlQueryParser.N1qlSpelValues n1qlL = Query.getN1qlSpelValues(template, collectionName,
-				parameters.getEntityTypeInfo().getType(), parameters.getEntityTypeInfo().getType(), false, null, null);
+				entityTypeInfo.getType(), entityTypeInfo.getType(), false, null, null);
 		String onLks = "lks." + n1qlL.filter;
 
 		StringBasedN1qlQueryParser.N1qlSpelValues n1qlR = Query.getN1qlSpelValues(template, collectionName,
-				parameters.getAssociatedEntityTypeInfo().getType(), parameters.getAssociatedEntityTypeInfo().getType(), false,
-				null, null);
+				associatedEntityTypeInfo.getType(), associatedEntityTypeInfo.getType(), false, null, null);
 		String onRks = "rks." + n1qlR.filter;
 
 		StringBuilder useRKSBuilder = new StringBuilder();
-		if (parameters.getJoinDefinition().rightIndex().length() > 0) {
-			useRKSBuilder.append("INDEX(" + parameters.getJoinDefinition().rightIndex() + ")");
+		if (joinDefinition.rightIndex().length() > 0) {
+			useRKSBuilder.append("INDEX(" + joinDefinition.rightIndex() + ")");
 		}
-		if (!parameters.getJoinDefinition().hashside().equals(HashSide.NONE)) {
+		if (!joinDefinition.hashside().equals(HashSide.NONE)) {
 			if (useRKSBuilder.length() > 0)
 				useRKSBuilder.append(" ");
-			useRKSBuilder.append("HASH(" + parameters.getJoinDefinition().hashside().getValue() + ")");
+			useRKSBuilder.append("HASH(" + joinDefinition.hashside().getValue() + ")");
 		}
-		if (parameters.getJoinDefinition().keys().length > 0) {
+		if (joinDefinition.keys().length > 0) {
 			if (useRKSBuilder.length() > 0)
 				useRKSBuilder.append(" ");
 			useRKSBuilder.append("KEYS [");
-			String[] keys = parameters.getJoinDefinition().keys();
+			String[] keys = joinDefinition.keys();
 
 			for (int i = 0; i < keys.length; i++) {
 				if (i != 0)
@@ -96,11 +163,10 @@ public class N1qlJoinResolver {
 			useRKSBuilder.append("]");
 		}
 
-		String on = "ON " + parameters.getJoinDefinition().on().concat(" AND " + onLks).concat(" AND " + onRks);
+		String on = "ON " + joinDefinition.on().concat(" AND " + onLks).concat(" AND " + onRks);
 
-		String where = "WHERE META(lks).id=\"" + parameters.getLksId() + "\"";
-		where += ((parameters.getJoinDefinition().where().length() > 0) ? " AND " + parameters.getJoinDefinition().where()
-				: "");
+		String where = "WHERE META(lks).id IN $ids";
+		where += ((joinDefinition.where().length() > 0) ? " AND " + joinDefinition.where() : "");
 
 		StringBuilder statementSb = new StringBuilder();
 		statementSb.append(selectEntity);
@@ -111,24 +177,31 @@ public class N1qlJoinResolver {
 		return statementSb.toString();
 	}
 
+	/**
+	 * Resolves the association of a single entity, blocking until the join query completes.
+	 *
+	 * @return the associated entities, an empty list if there are none.
+	 */
+	@SuppressWarnings("unchecked")
 	public static <R> List<R> doResolve(ReactiveCouchbaseTemplate template, String collectionName,
 			N1qlJoinResolverParameters parameters, Class<R> associatedEntityClass) {
-
-		String statement = buildQuery(template, collectionName, parameters);
-
-		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug("Join query executed " + statement);
-		}
-
-		N1QLQuery query = new N1QLQuery(N1QLExpression.x(statement), QueryOptions.queryOptions());
-		List<R> result = template.findByQuery(associatedEntityClass).matching(query).all().collectList().block();
-		return result.isEmpty() ? null : result;
+		return (List<R>) findAssociated(template, collectionName, parameters.getJoinDefinition(),
+				parameters.getEntityTypeInfo(), parameters.getAssociatedEntityTypeInfo(),
+				Collections.singletonList(parameters.getLksId())).block().getOrDefault(parameters.getLksId(),
+						Collections.emptyList());
 	}
 
 	public static boolean isLazyJoin(N1qlJoin joinDefinition) {
 		return joinDefinition.fetchType().equals(FetchType.LAZY);
 	}
 
+	/**
+	 * Resolves the joins of a single entity, blocking for each eager one.
+	 *
+	 * @deprecated since 4.3, use {@link #handleLazyProperties} and resolve the eager joins in batches with
+	 *             {@link #resolveEager(ReactiveCouchbaseTemplate, Class, Flux)}.
+	 */
+	@Deprecated
 	public static void handleProperties(CouchbasePersistentEntity<?> persistentEntity,
 			ConvertingPropertyAccessor<?> accessor, ReactiveCouchbaseTemplate template, String id) {
 		persistentEntity.doWithProperties((PropertyHandler<CouchbasePersistentProperty>) prop -> {
@@ -149,6 +222,247 @@ public class N1qlJoinResolver {
 		});
 	}
 
+	/**
+	 * Installs the lazy {@link N1qlJoinProxy} for each {@link FetchType#LAZY} join. Eager joins are left untouched, they
+	 * are resolved in batches by {@link #resolveEager(ReactiveCouchbaseTemplate, Class, Flux)}.
+	 */
+	public static void handleLazyProperties(CouchbasePersistentEntity<?> persistentEntity,
+			ConvertingPropertyAccessor<?> accessor, ReactiveCouchbaseTemplate template, String id) {
+		persistentEntity.doWithProperties((PropertyHandler<CouchbasePersistentProperty>) prop -> {
+			if (prop.isAnnotationPresent(N1qlJoin.class)) {
+				N1qlJoin definition = prop.findAnnotation(N1qlJoin.class);
+				if (N1qlJoinResolver.isLazyJoin(definition)) {
+					N1qlJoinResolver.N1qlJoinResolverParameters parameters = new N1qlJoinResolver.N1qlJoinResolverParameters(
+							definition, id, persistentEntity.getTypeInformation(), prop.getTypeInformation().getActualType());
+					N1qlJoinResolver.N1qlJoinProxy proxy = new N1qlJoinResolver.N1qlJoinProxy(template, parameters);
+					accessor.setProperty(prop,
+							java.lang.reflect.Proxy.newProxyInstance(List.class.getClassLoader(), new Class[] { List.class }, proxy));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Resolves the eager joins of a stream of entities. Entities are collected in batches of {@link #BATCH_SIZE} and each
+	 * eager association of a batch is loaded with a single query, instead of one query per entity.
+	 *
+	 * @param template the template to run the join queries with.
+	 * @param entityClass the type of the entities.
+	 * @param entities the entities to resolve the joins of.
+	 * @return the entities with their eager joins resolved, in their original order.
+	 */
+	public static <T> Flux<T> resolveEager(ReactiveCouchbaseTemplate template, Class<?> entityClass,
+			Flux<T> entities) {
+		CouchbasePersistentEntity<?> persistentEntity = template.getConverter().getMappingContext()
+				.getRequiredPersistentEntity(entityClass);
+		if (eagerJoinProperties(persistentEntity).isEmpty()) {
+			return entities;
+		}
+		return entities.buffer(BATCH_SIZE).concatMap(batch -> resolveEager(template, persistentEntity, batch))
+				.flatMapIterable(batch -> batch);
+	}
+
+	/**
+	 * Resolves the eager joins of entities read by a blocking operation, in batches of {@link #BATCH_SIZE}. Entities
+	 * without eager joins are returned as they are, without a reactive pipeline.
+	 *
+	 * @param template the template to run the join queries with.
+	 * @param entityClass the type of the entities.
+	 * @param entities the entities to resolve the joins of.
+	 * @return the entities with their eager joins resolved, in their original order.
+	 */
+	public static <T> List<T> resolveEagerBlocking(ReactiveCouchbaseTemplate template, Class<?> entityClass,
+			List<T> entities) {
+		CouchbasePersistentEntity<?> persistentEntity = template.getConverter().getMappingContext()
+				.getRequiredPersistentEntity(entityClass);
+		if (eagerJoinProperties(persistentEntity).isEmpty() || entities.isEmpty()) {
+			return entities;
+		}
+		List<T> resolved = new ArrayList<>(entities.size());
+		for (int from = 0; from < entities.size(); from += BATCH_SIZE) {
+			List<T> batch = entities.subList(from, Math.min(from + BATCH_SIZE, entities.size()));
+			resolved.addAll(resolveEager(template, persistentEntity, batch).block());
+		}
+		return resolved;
+	}
+
+	/**
+	 * Resolves the eager joins of a list of entities, with one query per eager association and batch of
+	 * {@link #BATCH_SIZE} entities. Eager joins of the associated entities are resolved the same way, so every level
+	 * binds at most {@link #BATCH_SIZE} ids to a query.
+	 *
+	 * @param template the template to run the join queries with.
+	 * @param persistentEntity the persistent entity of the entities.
+	 * @param entities the entities to resolve the joins of.
+	 * @return the entities with their eager joins resolved, in their original order.
+	 */
+	public static <T> Mono<List<T>> resolveEager(ReactiveCouchbaseTemplate template,
+			CouchbasePersistentEntity<?> persistentEntity, List<T> entities) {
+		List<CouchbasePersistentProperty> joins = eagerJoinProperties(persistentEntity);
+		if (joins.isEmpty() || entities.isEmpty()) {
+			return Mono.just(entities);
+		}
+		if (entities.size() > BATCH_SIZE) {
+			return Flux.fromIterable(entities).buffer(BATCH_SIZE)
+					.concatMap(batch -> resolveEager(template, persistentEntity, batch)).flatMapIterable(batch -> batch)
+					.collectList();
+		}
+
+		List<ConvertingPropertyAccessor<T>> accessors = new ArrayList<>(entities.size());
+		List<String> ids = new ArrayList<>(entities.size());
+		for (T entity : entities) {
+			CouchbasePersistentEntity<?> entityOfBean = template.getConverter().getMappingContext()
+					.getRequiredPersistentEntity(entity.getClass());
+			PersistentPropertyAccessor<T> accessor = entityOfBean.getPropertyAccessor(entity);
+			ConvertingPropertyAccessor<T> convertingAccessor = new ConvertingPropertyAccessor<>(accessor,
+					template.getConverter().getConversionService());
+			accessors.add(convertingAccessor);
+			ids.add(convertingAccessor.getProperty(entityOfBean.getRequiredIdProperty(), String.class));
+		}
+
+		return Flux.fromIterable(joins)
+				.concatMap(prop -> findAssociated(template, null, prop.findAnnotation(N1qlJoin.class),
+						persistentEntity.getTypeInformation(), prop.getTypeInformation().getActualType(), ids)
+						.doOnNext(associated -> setAssociated(template, prop, accessors, ids, associated)))
+				.then(Mono.fromSupplier(() -> {
+					List<T> resolved = new ArrayList<>(accessors.size());
+					for (ConvertingPropertyAccessor<T> accessor : accessors) {
+						resolved.add(accessor.getBean());
+					}
+					return resolved;
+				}));
+	}
+
+	private static <T> void setAssociated(ReactiveCouchbaseTemplate template, CouchbasePersistentProperty prop,
+			List<ConvertingPropertyAccessor<T>> accessors, List<String> ids, Map<String, List<Object>> associated) {
+		for (int i = 0; i < accessors.size(); i++) {
+			ConvertingPropertyAccessor<T> accessor = accessors.get(i);
+			CouchbasePersistentProperty propOfBean = template.getConverter().getMappingContext()
+					.getRequiredPersistentEntity(accessor.getBean().getClass()).getRequiredPersistentProperty(prop.getName());
+			accessor.setProperty(propOfBean, associated.get(ids.get(i)));
+		}
+	}
+
+	/**
+	 * Runs the batched join query of one association and groups the associated entities by the id of the entity they
+	 * belong to.
+	 */
+	private static Mono<Map<String, List<Object>>> findAssociated(ReactiveCouchbaseTemplate template,
+			String collectionName, N1qlJoin definition, TypeInformation<?> entityTypeInfo,
+			TypeInformation<?> associatedType, List<String> ids) {
+		Class<?> associatedClass = associatedType.getType();
+		String statement = getStatement(template, collectionName, definition, entityTypeInfo, associatedType);
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Join query executed " + statement);
+		}
+
+		QueryOptions options = QueryOptions.queryOptions().adhoc(false)
+				.parameters(JsonObject.create().put("ids", JsonArray.from(ids)));
+		if (template.getConsistency() != null) {
+			options.scanConsistency(template.getConsistency());
+		}
+
+		return template.getCouchbaseClientFactory().getCluster().reactive().query(statement, options)
+				.onErrorMap(N1qlJoinResolver::translateError).flatMapMany(result -> result.rowsAs(byte[].class))
+				.concatMap(row -> {
+					String lksId = readLksId(row);
+					return template.support().decodeRow(row, true, statement, associatedClass)
+							.map(associated -> Tuples.of(lksId, (Object) associated));
+				}).collectList().flatMap(rows -> {
+					List<Object> associated = new ArrayList<>(rows.size());
+					for (Tuple2<String, Object> row : rows) {
+						associated.add(row.getT2());
+					}
+					return resolveEager(template,
+							template.getConverter().getMappingContext().getRequiredPersistentEntity(associatedClass), associated)
+									.map(resolved -> {
+										Map<String, List<Object>> byLksId = new HashMap<>();
+										for (int i = 0; i < resolved.size(); i++) {
+											byLksId.computeIfAbsent(rows.get(i).getT1(), k -> new ArrayList<>()).add(resolved.get(i));
+										}
+										return byLksId;
+									});
+				});
+	}
+
+	private static List<CouchbasePersistentProperty> eagerJoinProperties(
+			CouchbasePersistentEntity<?> persistentEntity) {
+		return EAGER_JOINS.computeIfAbsent(persistentEntity, entity -> {
+			List<CouchbasePersistentProperty> joins = new ArrayList<>();
+			entity.doWithProperties((PropertyHandler<CouchbasePersistentProperty>) prop -> {
+				if (prop.isAnnotationPresent(N1qlJoin.class) && !isLazyJoin(prop.findAnnotation(N1qlJoin.class))) {
+					joins.add(prop);
+				}
+			});
+			return joins.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(joins);
+		});
+	}
+
+	/**
+	 * Reads the {@link #SELECT_LKS_ID} projection from the top level of a row, skipping over nested values.
+	 */
+	private static String readLksId(byte[] row) {
+		try (JsonParser parser = JSON_FACTORY.createParser(row)) {
+			if (parser.nextToken() == JsonToken.START_OBJECT) {
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String fieldName = parser.getCurrentName();
+					parser.nextToken();
+					if (SELECT_LKS_ID.equals(fieldName)) {
+						return parser.getValueAsString();
+					}
+					parser.skipChildren();
+				}
+			}
+		} catch (IOException ex) {
+			throw new RuntimeException("Could not decode JSON", ex);
+		}
+		throw new IllegalStateException("join query did not project " + SELECT_LKS_ID);
+	}
+
+	private static Throwable translateError(Throwable throwable) {
+		Throwable translated = TemplateUtils.translateError(throwable);
+		return translated != null ? translated : throwable;
+	}
+
+	private static final class JoinStatementKey {
+		private final String bucketName;
+		private final String collectionName;
+		private final String typeKey;
+		private final N1qlJoin joinDefinition;
+		private final Class<?> entityClass;
+		private final Class<?> associatedEntityClass;
+
+		JoinStatementKey(String bucketName, String collectionName, String typeKey, N1qlJoin joinDefinition,
+				Class<?> entityClass, Class<?> associatedEntityClass) {
+			this.bucketName = bucketName;
+			this.collectionName = collectionName;
+			this.typeKey = typeKey;
+			this.joinDefinition = joinDefinition;
+			this.entityClass = entityClass;
+			this.associatedEntityClass = associatedEntityClass;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof JoinStatementKey)) {
+				return false;
+			}
+			JoinStatementKey that = (JoinStatementKey) o;
+			return bucketName.equals(that.bucketName) && Objects.equals(collectionName, that.collectionName)
+					&& typeKey.equals(that.typeKey) && joinDefinition.equals(that.joinDefinition)
+					&& entityClass.equals(that.entityClass) && associatedEntityClass.equals(that.associatedEntityClass);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(bucketName, collectionName, typeKey, joinDefinition, entityClass, associatedEntityClass);
+		}
+	}
+
 	static public class N1qlJoinProxy implements InvocationHandler {
 		private final ReactiveCouchbaseTemplate reactiveTemplate;
 		private final String collectionName = null;
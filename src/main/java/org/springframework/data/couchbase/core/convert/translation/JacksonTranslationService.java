@@ -28,10 +28,12 @@ import org.springframework.data.couchbase.core.mapping.CouchbaseStorable;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.mapping.model.SimpleTypeHolder;
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -45,6 +47,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 public class JacksonTranslationService implements TranslationService, InitializingBean {
 
+	/**
+	 * Encode buffers that grew beyond this size are not kept for the next document.
+	 */
+	private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
 	/**
 	 * Jackson Object Mapper;
 	 */
@@ -60,6 +67,18 @@ public class JacksonTranslationService implements TranslationService, Initializi
 	 */
 	private JsonFactory factory = new JsonFactory();
 
+	/**
+	 * Per-thread output buffer reused by {@link #encodeToBytes(CouchbaseStorable)}.
+	 */
+	private final ThreadLocal<ByteArrayBuilder> encodeBuffer = ThreadLocal.withInitial(ByteArrayBuilder::new);
+
+	/**
+	 * Creates a service with a default {@link ObjectMapper}, usable without calling {@link #afterPropertiesSet()}.
+	 */
+	public JacksonTranslationService() {
+		setObjectMapper(null);
+	}
+
 	/**
 	 * Encode a {@link CouchbaseStorable} to a JSON string.
 	 *
@@ -83,7 +102,35 @@ public class JacksonTranslationService implements TranslationService, Initializi
 	}
 
 	/**
-	 * Recursively iterates through the sources and adds it to the JSON generator.
+	 * Encode a {@link CouchbaseStorable} to UTF-8 JSON bytes. The generator writes into a buffer that is reused by the
+	 * calling thread, so only the returned array is allocated per document.
+	 *
+	 * @param source the source document to encode.
+	 * @return the encoded JSON bytes.
+	 */
+	@Override
+	public final byte[] encodeToBytes(final CouchbaseStorable source) {
+		ByteArrayBuilder buffer = encodeBuffer.get();
+		buffer.reset();
+		byte[] encoded;
+		try {
+			JsonGenerator generator = factory.createGenerator(buffer, JsonEncoding.UTF8);
+			encodeRecursive(source, generator);
+			generator.close();
+			encoded = buffer.toByteArray();
+		} catch (IOException ex) {
+			encodeBuffer.remove();
+			throw new RuntimeException("Could not encode JSON", ex);
+		}
+		if (encoded.length > MAX_RETAINED_BUFFER_SIZE) {
+			encodeBuffer.remove();
+		}
+		return encoded;
+	}
+
+	/**
+	 * Recursively iterates through the sources and adds it to the JSON generator. The content is streamed as stored,
+	 * without exporting it first.
 	 *
 	 * @param source the source document
 	 * @param generator the JSON generator.
@@ -92,26 +139,47 @@ public class JacksonTranslationService implements TranslationService, Initializi
 	private void encodeRecursive(final CouchbaseStorable source, final JsonGenerator generator) throws IOException {
 		generator.writeStartObject();
 
-		for (Map.Entry<String, Object> entry : ((CouchbaseDocument) source).export().entrySet()) {
-			String key = entry.getKey();
-			Object value = entry.getValue();
-			generator.writeFieldName(key);
-			if (value instanceof CouchbaseDocument) {
-				encodeRecursive((CouchbaseDocument) value, generator);
-				continue;
-			}
+		for (Map.Entry<String, Object> entry : ((CouchbaseDocument) source).getContent().entrySet()) {
+			generator.writeFieldName(entry.getKey());
+			encodeValue(entry.getValue(), generator);
+		}
 
-			final Class<?> clazz = value.getClass();
+		generator.writeEndObject();
+	}
 
-			if (simpleTypeHolder.isSimpleType(clazz) && !isEnumOrClass(clazz)) {
-				generator.writeObject(value);
-			} else {
-				objectMapper.writeValue(generator, value);
+	/**
+	 * Adds a single value to the JSON generator, descending into nested documents and lists.
+	 *
+	 * @param value the value to write.
+	 * @param generator the JSON generator.
+	 * @throws IOException
+	 */
+	private void encodeValue(final Object value, final JsonGenerator generator) throws IOException {
+		if (value == null) {
+			generator.writeNull();
+			return;
+		}
+		if (value instanceof CouchbaseDocument) {
+			encodeRecursive((CouchbaseDocument) value, generator);
+			return;
+		}
+		if (value instanceof CouchbaseList) {
+			CouchbaseList list = (CouchbaseList) value;
+			generator.writeStartArray();
+			for (int i = 0; i < list.size(); i++) {
+				encodeValue(list.get(i), generator);
 			}
-
+			generator.writeEndArray();
+			return;
 		}
 
-		generator.writeEndObject();
+		final Class<?> clazz = value.getClass();
+
+		if (simpleTypeHolder.isSimpleType(clazz) && !isEnumOrClass(clazz)) {
+			generator.writeObject(value);
+		} else {
+			objectMapper.writeValue(generator, value);
+		}
 	}
 
 	private boolean isEnumOrClass(final Class<?> clazz) {
@@ -128,7 +196,39 @@ public class JacksonTranslationService implements TranslationService, Initializi
 	@Override
 	public final CouchbaseStorable decode(final String source, final CouchbaseStorable target) {
 		try {
-			JsonParser parser = factory.createParser((String) source);
+			return decode(factory.createParser(source), target);
+		} catch (IOException ex) {
+			throw new RuntimeException("Could not decode JSON", ex);
+		}
+	}
+
+	/**
+	 * Decode raw JSON bytes into the {@link CouchbaseStorable} structure. The parser reads the bytes directly, so no
+	 * intermediate String is created.
+	 *
+	 * @param source the source document bytes.
+	 * @param target the target of the populated data.
+	 * @return the decoded structure.
+	 */
+	@Override
+	public final CouchbaseStorable decode(final byte[] source, final CouchbaseStorable target) {
+		try {
+			return decode(factory.createParser(source), target);
+		} catch (IOException ex) {
+			throw new RuntimeException("Could not decode JSON", ex);
+		}
+	}
+
+	/**
+	 * Helper method to decode the top level object or array from the parser.
+	 *
+	 * @param parser the JSON parser with the content.
+	 * @param target the target of the populated data.
+	 * @return the decoded structure.
+	 * @throws IOException
+	 */
+	private CouchbaseStorable decode(final JsonParser parser, final CouchbaseStorable target) throws IOException {
+		try {
 			while (parser.nextToken() != null) {
 				JsonToken currentToken = parser.getCurrentToken();
 
@@ -140,9 +240,8 @@ public class JacksonTranslationService implements TranslationService, Initializi
 					throw new MappingException("JSON to decode needs to start as array or object!");
 				}
 			}
+		} finally {
 			parser.close();
-		} catch (IOException ex) {
-			throw new RuntimeException("Could not decode JSON", ex);
 		}
 		return target;
 	}
@@ -237,16 +336,22 @@ public class JacksonTranslationService implements TranslationService, Initializi
 		}
 	}
 
+	/**
+	 * Sets the mapper for values that are not stored as {@link CouchbaseDocument} or {@link CouchbaseList}, a default one
+	 * if {@literal null}.
+	 */
 	public void setObjectMapper(final ObjectMapper objectMapper) {
-		this.objectMapper = objectMapper;
+		ObjectMapper mapper = objectMapper != null ? objectMapper : new ObjectMapper();
+		mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		// simple values without a dedicated JsonGenerator method (Character, Locale, ...) are written by the mapper
+		factory.setCodec(mapper);
+		this.objectMapper = mapper;
 	}
 
+	/**
+	 * The mapper is set up eagerly by {@link #setObjectMapper(ObjectMapper)}, nothing is left to initialize.
+	 */
 	@Override
-	public void afterPropertiesSet() {
-		if (objectMapper == null) {
-			objectMapper = new ObjectMapper();
-		}
-		objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-	}
+	public void afterPropertiesSet() {}
 
 }
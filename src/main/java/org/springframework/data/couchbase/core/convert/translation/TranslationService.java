@@ -16,6 +16,8 @@
 
 package org.springframework.data.couchbase.core.convert.translation;
 
+import java.nio.charset.StandardCharsets;
+
 import org.springframework.data.couchbase.core.mapping.CouchbaseDocument;
 import org.springframework.data.couchbase.core.mapping.CouchbaseStorable;
 
@@ -34,6 +36,16 @@ public interface TranslationService {
 	 */
 	String encode(CouchbaseStorable source);
 
+	/**
+	 * Encodes the source into UTF-8 JSON bytes that can be handed to the SDK with a raw JSON transcoder.
+	 *
+	 * @param source the source contents to encode.
+	 * @return the encoded document bytes.
+	 */
+	default byte[] encodeToBytes(CouchbaseStorable source) {
+		return encode(source).getBytes(StandardCharsets.UTF_8);
+	}
+
 	/**
 	 * Decodes the target format into a {@link CouchbaseDocument}
 	 *
@@ -43,6 +55,17 @@ public interface TranslationService {
 	 */
 	CouchbaseStorable decode(String source, CouchbaseStorable target);
 
+	/**
+	 * Decodes the raw UTF-8 JSON bytes into a {@link CouchbaseDocument}, without materializing an intermediate String.
+	 *
+	 * @param source the source document bytes, as returned by the SDK with a raw JSON transcoder.
+	 * @param target the target of the populated data.
+	 * @return a properly populated document to work with.
+	 */
+	default CouchbaseStorable decode(byte[] source, CouchbaseStorable target) {
+		return decode(new String(source, StandardCharsets.UTF_8), target);
+	}
+
 	/**
 	 * Decodes an ad-hoc JSON object into a corresponding "case" class.
 	 *
@@ -18,15 +18,19 @@ package org.springframework.data.couchbase.core.mapping;
 
 import com.couchbase.client.java.json.JsonObject;
 
-import java.util.TreeMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * A {@link CouchbaseDocument} is an abstract representation of a document stored inside Couchbase Server.
  * <p/>
  * <p>
- * It acts like a {@link TreeMap}, but only allows those types to be written that are supported by the underlying
- * storage format, which is currently JSON. Note that JSON conversion is not happening here, but performed at a
+ * It acts like an insertion-ordered map, but only allows those types to be written that are supported by the
+ * underlying storage format, which is currently JSON. Note that JSON conversion is not happening here, but performed at a
  * different stage based on the payload stored in the {@link CouchbaseDocument}.
  * </p>
  * <p/>
@@ -85,7 +89,7 @@ public class CouchbaseDocument implements CouchbaseStorable {
 	public CouchbaseDocument(final String id, final int expiration) {
 		this.id = id;
 		this.expiration = expiration;
-		content = new TreeMap<>();
+		content = new CouchbaseFieldMap();
 	}
 
 	/**
@@ -115,7 +119,8 @@ public class CouchbaseDocument implements CouchbaseStorable {
 	/**
 	 * Returns the current payload, including all recursive elements.
 	 * <p/>
-	 * It either returns the raw results or makes sure that the recusrive elements are also exported properly.
+	 * It either returns the raw results or makes sure that the recusrive elements are also exported properly. The
+	 * returned map is a sorted deep copy, see {@link #exportView()} to avoid the copy.
 	 *
 	 * @return
 	 */
@@ -131,6 +136,30 @@ public class CouchbaseDocument implements CouchbaseStorable {
 		return toExport;
 	}
 
+	/**
+	 * Returns a read-only view of the current payload, including all recursive elements.
+	 * <p/>
+	 * Unlike {@link #export()} nothing is copied: nested documents and lists are presented as views as well, so the
+	 * result can be handed to a JSON serializer as is. The view reflects later changes to this document.
+	 *
+	 * @return a read-only view of the payload.
+	 */
+	public final Map<String, Object> exportView() {
+		return new ExportView(content);
+	}
+
+	/**
+	 * Returns the view {@link #exportView()} and {@link CouchbaseList#exportView()} expose for a stored value.
+	 */
+	static Object exportView(final Object value) {
+		if (value instanceof CouchbaseDocument) {
+			return ((CouchbaseDocument) value).exportView();
+		} else if (value instanceof CouchbaseList) {
+			return ((CouchbaseList) value).exportView();
+		}
+		return value;
+	}
+
 	/**
 	 * Returns true if it contains a payload for the specified key.
 	 *
@@ -296,4 +325,57 @@ public class CouchbaseDocument implements CouchbaseStorable {
 	public String toString() {
 		return "CouchbaseDocument{" + "id=" + id + ", exp=" + expiration + ", content=" + content + '}';
 	}
+
+	private static final class ExportView extends AbstractMap<String, Object> {
+
+		private final Map<String, Object> content;
+
+		private ExportView(final Map<String, Object> content) {
+			this.content = content;
+		}
+
+		@Override
+		public int size() {
+			return content.size();
+		}
+
+		@Override
+		public boolean containsKey(final Object key) {
+			return content.containsKey(key);
+		}
+
+		@Override
+		public Object get(final Object key) {
+			return exportView(content.get(key));
+		}
+
+		@Override
+		public Set<Map.Entry<String, Object>> entrySet() {
+			return new AbstractSet<Map.Entry<String, Object>>() {
+
+				@Override
+				public int size() {
+					return content.size();
+				}
+
+				@Override
+				public Iterator<Map.Entry<String, Object>> iterator() {
+					Iterator<Map.Entry<String, Object>> entries = content.entrySet().iterator();
+					return new Iterator<Map.Entry<String, Object>>() {
+
+						@Override
+						public boolean hasNext() {
+							return entries.hasNext();
+						}
+
+						@Override
+						public Map.Entry<String, Object> next() {
+							Map.Entry<String, Object> entry = entries.next();
+							return new SimpleImmutableEntry<>(entry.getKey(), exportView(entry.getValue()));
+						}
+					};
+				}
+			};
+		}
+	}
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core.mapping;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Insertion-ordered field store backing a {@link CouchbaseDocument}.
+ * <p>
+ * Keys and values are held in two parallel arrays, so a document with a handful of fields costs two small arrays
+ * instead of one node per field. Lookups scan the keys until the document grows beyond {@link #INDEX_THRESHOLD}
+ * fields, from then on a hash index of the key positions is maintained as well.
+ */
+final class CouchbaseFieldMap extends AbstractMap<String, Object> {
+
+	static final int INDEX_THRESHOLD = 8;
+
+	private static final int DEFAULT_CAPACITY = 8;
+
+	private String[] keys;
+	private Object[] values;
+	private int size;
+	private int modCount;
+	private Map<String, Integer> index;
+	private Set<Map.Entry<String, Object>> entrySet;
+
+	CouchbaseFieldMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	CouchbaseFieldMap(final int initialCapacity) {
+		int capacity = Math.max(initialCapacity, 1);
+		this.keys = new String[capacity];
+		this.values = new Object[capacity];
+	}
+
+	private int indexOf(final Object key) {
+		if (index != null) {
+			Integer position = index.get(key);
+			return position == null ? -1 : position;
+		}
+		for (int i = 0; i < size; i++) {
+			if (Objects.equals(keys[i], key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public boolean containsValue(final Object value) {
+		for (int i = 0; i < size; i++) {
+			if (Objects.equals(values[i], value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Object get(final Object key) {
+		int position = indexOf(key);
+		return position < 0 ? null : values[position];
+	}
+
+	@Override
+	public Object put(final String key, final Object value) {
+		int position = indexOf(key);
+		if (position >= 0) {
+			Object previous = values[position];
+			values[position] = value;
+			return previous;
+		}
+		if (size == keys.length) {
+			int capacity = size + (size >> 1) + 1;
+			keys = Arrays.copyOf(keys, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+		keys[size] = key;
+		values[size] = value;
+		size++;
+		modCount++;
+		if (index != null) {
+			index.put(key, size - 1);
+		} else if (size > INDEX_THRESHOLD) {
+			rebuildIndex();
+		}
+		return null;
+	}
+
+	@Override
+	public Object remove(final Object key) {
+		int position = indexOf(key);
+		if (position < 0) {
+			return null;
+		}
+		Object previous = values[position];
+		removeAt(position);
+		return previous;
+	}
+
+	private void removeAt(final int position) {
+		int moved = size - position - 1;
+		if (moved > 0) {
+			System.arraycopy(keys, position + 1, keys, position, moved);
+			System.arraycopy(values, position + 1, values, position, moved);
+		}
+		size--;
+		keys[size] = null;
+		values[size] = null;
+		modCount++;
+		if (index != null) {
+			if (size > INDEX_THRESHOLD) {
+				rebuildIndex();
+			} else {
+				index = null;
+			}
+		}
+	}
+
+	private void rebuildIndex() {
+		Map<String, Integer> rebuilt = new HashMap<>((int) (size / 0.75f) + 1);
+		for (int i = 0; i < size; i++) {
+			rebuilt.put(keys[i], i);
+		}
+		index = rebuilt;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, 0, size, null);
+		Arrays.fill(values, 0, size, null);
+		size = 0;
+		index = null;
+		modCount++;
+	}
+
+	@Override
+	public void forEach(final BiConsumer<? super String, ? super Object> action) {
+		int expectedModCount = modCount;
+		for (int i = 0; i < size; i++) {
+			action.accept(keys[i], values[i]);
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			CouchbaseFieldMap.this.clear();
+		}
+
+		@Override
+		public Iterator<Map.Entry<String, Object>> iterator() {
+			return new EntryIterator();
+		}
+
+	}
+
+	private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+		private int next;
+		private int last = -1;
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return next < size;
+		}
+
+		@Override
+		public Map.Entry<String, Object> next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (next >= size) {
+				throw new NoSuchElementException();
+			}
+			last = next++;
+			return new Entry(last);
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeAt(last);
+			next = last;
+			last = -1;
+			expectedModCount = modCount;
+		}
+
+	}
+
+	private final class Entry implements Map.Entry<String, Object> {
+
+		private final int position;
+		private final String key;
+
+		private Entry(final int position) {
+			this.position = position;
+			this.key = keys[position];
+		}
+
+		@Override
+		public String getKey() {
+			return key;
+		}
+
+		@Override
+		public Object getValue() {
+			return position < size && Objects.equals(keys[position], key) ? values[position] : get(key);
+		}
+
+		@Override
+		public Object setValue(final Object value) {
+			return put(key, value);
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+			return Objects.equals(key, other.getKey()) && Objects.equals(getValue(), other.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + getValue();
+		}
+
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.data.couchbase.core.mapping;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -167,6 +168,28 @@ public class CouchbaseList implements CouchbaseStorable {
 		return toExport;
 	}
 
+	/**
+	 * Returns a read-only view of the current payload, including all recursive elements.
+	 * <p/>
+	 * Unlike {@link #export()} nothing is copied, see {@link CouchbaseDocument#exportView()}.
+	 *
+	 * @return a read-only view of the payload.
+	 */
+	public final List<Object> exportView() {
+		return new AbstractList<Object>() {
+
+			@Override
+			public Object get(final int index) {
+				return CouchbaseDocument.exportView(payload.get(index));
+			}
+
+			@Override
+			public int size() {
+				return payload.size();
+			}
+		};
+	}
+
 	/**
 	 * Returns true if it contains the given value.
 	 *
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core.query;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.data.couchbase.core.convert.CouchbaseConverter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link Pageable} that fetches the next page by seeking the position of the last row of the previous one instead of
+ * skipping the rows of all previous pages. Rows are ordered by the sort and then by document id, see
+ * {@link Query#seek(KeysetPosition)}.
+ * <p>
+ * Passed to a repository query method returning a {@link org.springframework.data.domain.Page} or
+ * {@link org.springframework.data.domain.Slice}, the {@link #next()} of the {@link Pageable} of the result continues
+ * after its last row. Unless requested with {@link #withCount()}, pages do not run a separate count query and only
+ * know whether there is a next page: their total is then an estimate, the rows up to the end of the page plus one if
+ * there is a next page, which keeps {@link org.springframework.data.domain.Page#hasNext()} accurate.
+ * <p>
+ * Keyset pagination only moves forward: {@link #previous()}, {@link #withPage(int)} and {@link #withSort(Sort)} throw
+ * an {@link UnsupportedOperationException} unless they stay on this page or go back to the first one.
+ */
+public class KeysetPageRequest extends PageRequest {
+
+	private static final long serialVersionUID = 1L;
+
+	private final @Nullable KeysetPosition position;
+	private final @Nullable KeysetPosition nextPosition;
+	private final boolean counted;
+
+	protected KeysetPageRequest(int page, int size, Sort sort, @Nullable KeysetPosition position,
+			@Nullable KeysetPosition nextPosition, boolean counted) {
+		super(page, size, sort);
+		this.position = position;
+		this.nextPosition = nextPosition;
+		this.counted = counted;
+	}
+
+	/**
+	 * The first page of the given size and sort.
+	 */
+	public static KeysetPageRequest of(int size, Sort sort) {
+		return new KeysetPageRequest(0, size, sort, null, null, false);
+	}
+
+	/**
+	 * The page of the given size and sort starting after the given position.
+	 */
+	public static KeysetPageRequest of(int size, Sort sort, KeysetPosition after) {
+		Assert.notNull(after, "Position must not be null!");
+		return new KeysetPageRequest(0, size, sort, after, null, false);
+	}
+
+	/**
+	 * The same page, also counting the total number of rows.
+	 */
+	public KeysetPageRequest withCount() {
+		return new KeysetPageRequest(getPageNumber(), getPageSize(), getSort(), position, nextPosition, true);
+	}
+
+	/**
+	 * The same page, knowing the last row that was read for it, so that {@link #next()} can continue after it.
+	 *
+	 * @param rows the rows read for this page, the last one determines the next position.
+	 * @param converter the converter to read the sort keys and the id of the last row with.
+	 */
+	public KeysetPageRequest withRows(List<?> rows, CouchbaseConverter converter) {
+		KeysetPosition next = rows.isEmpty() ? null
+				: KeysetPosition.afterIfPossible(rows.get(rows.size() - 1), getSort(), converter);
+		return new KeysetPageRequest(getPageNumber(), getPageSize(), getSort(), position, next, counted);
+	}
+
+	/**
+	 * The position this page starts after, {@literal null} for the first page.
+	 */
+	@Nullable
+	public KeysetPosition getPosition() {
+		return position;
+	}
+
+	/**
+	 * Should the total number of rows be counted?
+	 */
+	public boolean isCounted() {
+		return counted;
+	}
+
+	/**
+	 * The page after this one.
+	 *
+	 * @throws IllegalStateException if the last row of this page is not known, see {@link #withRows}.
+	 */
+	@Override
+	public KeysetPageRequest next() {
+		if (nextPosition == null) {
+			throw new IllegalStateException("The position of the last row of this page is not known");
+		}
+		return new KeysetPageRequest(getPageNumber() + 1, getPageSize(), getSort(), nextPosition, null, counted);
+	}
+
+	@Override
+	public KeysetPageRequest first() {
+		return new KeysetPageRequest(0, getPageSize(), getSort(), null, null, counted);
+	}
+
+	/**
+	 * This page if it is the first one, as for any {@link Pageable}.
+	 *
+	 * @throws UnsupportedOperationException for any other page, the position the previous page started after is not
+	 *           known.
+	 */
+	@Override
+	public KeysetPageRequest previous() {
+		if (getPageNumber() == 0) {
+			return this;
+		}
+		throw new UnsupportedOperationException("Keyset pagination cannot go back to the previous page, use first()");
+	}
+
+	/**
+	 * @throws UnsupportedOperationException unless this is the first page, see {@link #previous()}.
+	 */
+	@Override
+	public KeysetPageRequest previousOrFirst() {
+		return previous();
+	}
+
+	/**
+	 * This page or the first one.
+	 *
+	 * @throws UnsupportedOperationException for any other page, the position it starts after is not known.
+	 */
+	@Override
+	public KeysetPageRequest withPage(int pageNumber) {
+		if (pageNumber == getPageNumber()) {
+			return this;
+		}
+		if (pageNumber == 0) {
+			return first();
+		}
+		throw new UnsupportedOperationException(
+				"Keyset pagination cannot jump to page " + pageNumber + ", only to the first page or the next one");
+	}
+
+	/**
+	 * The first page with the given sort.
+	 *
+	 * @throws UnsupportedOperationException if this is not the first page, the position of a page depends on the sort.
+	 */
+	@Override
+	public KeysetPageRequest withSort(Sort sort) {
+		if (getPageNumber() != 0 || position != null) {
+			throw new UnsupportedOperationException("The sort of a keyset page can only be changed on the first page");
+		}
+		return new KeysetPageRequest(0, getPageSize(), sort, null, null, counted);
+	}
+
+	@Override
+	public KeysetPageRequest withSort(Sort.Direction direction, String... properties) {
+		return withSort(Sort.by(direction, properties));
+	}
+
+	@Override
+	public boolean equals(@Nullable Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof KeysetPageRequest) || !super.equals(obj)) {
+			return false;
+		}
+		KeysetPageRequest that = (KeysetPageRequest) obj;
+		return counted == that.counted && Objects.equals(position, that.position)
+				&& Objects.equals(nextPosition, that.nextPosition);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + Objects.hash(position, nextPosition, counted);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Keyset page request [number: %d, size %d, sort: %s, after: %s]", getPageNumber(),
+				getPageSize(), getSort(), position);
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.data.couchbase.core.convert.CouchbaseConverter;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * The position of a row in a sorted query result, made of the values of its sort keys and its document id. A
+ * {@link Query} {@link Query#seek(KeysetPosition) seeking} a position only returns the rows after it, so the next page
+ * is found through the index instead of reading and discarding all rows of the previous pages with {@code OFFSET}.
+ */
+public final class KeysetPosition {
+
+	private final List<Object> values;
+	private final String id;
+
+	private KeysetPosition(List<Object> values, String id) {
+		this.values = values;
+		this.id = id;
+	}
+
+	/**
+	 * The position of the row with the given id and sort key values.
+	 *
+	 * @param id the document id of the row.
+	 * @param values the values of the sort keys of the row, in the order of the sort.
+	 */
+	public static KeysetPosition of(String id, Object... values) {
+		Assert.notNull(id, "id must not be null");
+		return new KeysetPosition(Collections.unmodifiableList(new ArrayList<>(Arrays.asList(values))), id);
+	}
+
+	/**
+	 * The position of the given entity in a result with the given sort.
+	 *
+	 * @param entity an entity read by the query.
+	 * @param sort the sort of the query. Its properties must be properties of the entity.
+	 * @param converter the converter of the template.
+	 */
+	public static KeysetPosition after(Object entity, Sort sort, CouchbaseConverter converter) {
+		CouchbasePersistentEntity<?> persistentEntity = converter.getMappingContext()
+				.getRequiredPersistentEntity(entity.getClass());
+		PersistentPropertyAccessor<?> accessor = persistentEntity.getPropertyAccessor(entity);
+		List<Object> values = new ArrayList<>();
+		for (Sort.Order order : sort) {
+			Object value = accessor.getProperty(persistentEntity.getRequiredPersistentProperty(order.getProperty()));
+			values.add(converter.convertForWriteIfNeeded(value));
+		}
+		Object id = accessor.getProperty(persistentEntity.getRequiredIdProperty());
+		Assert.notNull(id, "the entity must have an id");
+		return new KeysetPosition(Collections.unmodifiableList(values), id.toString());
+	}
+
+	/**
+	 * Same as {@link #after(Object, Sort, CouchbaseConverter)}, {@literal null} if the position of the object cannot be
+	 * determined, for instance because it is a projection.
+	 */
+	@Nullable
+	static KeysetPosition afterIfPossible(Object entity, Sort sort, CouchbaseConverter converter) {
+		try {
+			return after(entity, sort, converter);
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+
+	public List<Object> getValues() {
+		return values;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof KeysetPosition)) {
+			return false;
+		}
+		KeysetPosition that = (KeysetPosition) o;
+		return values.equals(that.values) && id.equals(that.id);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * values.hashCode() + id.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "KeysetPosition{values=" + values + ", id=" + id + "}";
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core.query;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.util.Assert;
+
+/**
+ * N1QL statements generated for the shapes of {@link Query queries} whose criteria only differ in their values, such as
+ * the queries created for one repository query method. See {@link Query#cacheStatementsIn(N1qlStatementCache)}.
+ * <p>
+ * Once full, statements for new shapes are still generated but no longer kept.
+ */
+public final class N1qlStatementCache {
+
+	public static final int DEFAULT_MAX_SIZE = 64;
+
+	private final int maxSize;
+	private final Map<Object, String> statements = new ConcurrentHashMap<>();
+
+	public N1qlStatementCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	public N1qlStatementCache(final int maxSize) {
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than 0.");
+		this.maxSize = maxSize;
+	}
+
+	String get(final Object shape) {
+		return statements.get(shape);
+	}
+
+	void put(final Object shape, final String statement) {
+		if (statements.size() < maxSize) {
+			statements.putIfAbsent(shape, statement);
+		}
+	}
+
+	/**
+	 * The number of statements currently kept.
+	 */
+	public int size() {
+		return statements.size();
+	}
+
+}
@@ -24,24 +24,40 @@ import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.couchbase.core.mapping.CouchbaseDocument;
 import org.springframework.data.couchbase.repository.Collection;
 import org.springframework.data.couchbase.repository.ScanConsistency;
 import org.springframework.data.couchbase.repository.Scope;
 import org.springframework.data.couchbase.repository.query.CouchbaseQueryMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.msg.kv.DurabilityLevel;
 import com.couchbase.client.core.retry.RetryStrategy;
+import com.couchbase.client.java.CommonOptions;
+import com.couchbase.client.java.codec.DefaultJsonSerializer;
+import com.couchbase.client.java.codec.JacksonJsonSerializer;
+import com.couchbase.client.java.codec.JsonTranscoder;
+import com.couchbase.client.java.codec.RawJsonTranscoder;
+import com.couchbase.client.java.codec.Transcoder;
+import com.couchbase.client.java.env.ClusterEnvironment;
 import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.kv.ExistsOptions;
 import com.couchbase.client.java.kv.InsertOptions;
+import com.couchbase.client.java.kv.MutationState;
 import com.couchbase.client.java.kv.PersistTo;
 import com.couchbase.client.java.kv.RemoveOptions;
 import com.couchbase.client.java.kv.ReplaceOptions;
@@ -53,9 +69,15 @@ import com.couchbase.client.java.query.QueryScanConsistency;
 public class OptionsBuilder {
 
 	private static final Logger LOG = LoggerFactory.getLogger(OptionsBuilder.class);
+	private static final Map<Class<?>, Keyspace> KEYSPACES = new ConcurrentReferenceHashMap<>();
 
 	static QueryOptions buildQueryOptions(Query query, QueryOptions options, QueryScanConsistency scanConsistency) {
-		options = options != null ? options : QueryOptions.queryOptions();
+		return buildQueryOptions(query, options, scanConsistency, null);
+	}
+
+	static QueryOptions buildQueryOptions(Query query, QueryOptions options, QueryScanConsistency scanConsistency,
+			@Nullable MutationState mutationState) {
+		options = options != null ? copyOf(options) : QueryOptions.queryOptions();
 		if (query.getParameters() != null) {
 			if (query.getParameters() instanceof JsonArray) {
 				options.parameters((JsonArray) query.getParameters());
@@ -75,7 +97,10 @@ public class OptionsBuilder {
 		Duration timeout = fromFirst(Duration.ofSeconds(0), getTimeout(optsBuilt), meta.get(TIMEOUT));
 		RetryStrategy retryStrategy = fromFirst(null, getRetryStrategy(optsBuilt), meta.get(RETRY_STRATEGY));
 
-		if (qsc != null) {
+		if (mutationState != null && qsc != QueryScanConsistency.REQUEST_PLUS) {
+			// read-your-own-writes: wait for the given mutations only instead of for all mutations of the bucket
+			options.consistentWith(mutationState);
+		} else if (qsc != null) {
 			options.scanConsistency(qsc);
 		}
 		if (timeout != null) {
@@ -84,6 +109,10 @@ public class OptionsBuilder {
 		if (retryStrategy != null) {
 			options.retryStrategy(retryStrategy);
 		}
+		if (!query.isAdhoc()) {
+			// QueryOptions do not expose adhoc, so an explicit adhoc(true) of the caller cannot be told from the default
+			options.adhoc(false);
+		}
 		if (LOG.isTraceEnabled()) {
 			LOG.trace("query options: {}", getQueryOpts(options.build()));
 		}
@@ -97,7 +126,7 @@ public class OptionsBuilder {
 
 	public static InsertOptions buildInsertOptions(InsertOptions options, PersistTo persistTo, ReplicateTo replicateTo,
 			DurabilityLevel durabilityLevel, Duration expiry, CouchbaseDocument doc) {
-		options = options != null ? options : InsertOptions.insertOptions();
+		options = options != null ? copyOf(options) : InsertOptions.insertOptions();
 		if (persistTo != PersistTo.NONE || replicateTo != ReplicateTo.NONE) {
 			options.durability(persistTo, replicateTo);
 		} else if (durabilityLevel != DurabilityLevel.NONE) {
@@ -116,7 +145,7 @@ public class OptionsBuilder {
 
 	public static UpsertOptions buildUpsertOptions(UpsertOptions options, PersistTo persistTo, ReplicateTo replicateTo,
 			DurabilityLevel durabilityLevel, Duration expiry, CouchbaseDocument doc) {
-		options = options != null ? options : UpsertOptions.upsertOptions();
+		options = options != null ? copyOf(options) : UpsertOptions.upsertOptions();
 		if (persistTo != PersistTo.NONE || replicateTo != ReplicateTo.NONE) {
 			options.durability(persistTo, replicateTo);
 		} else if (durabilityLevel != DurabilityLevel.NONE) {
@@ -135,7 +164,7 @@ public class OptionsBuilder {
 
 	public static ReplaceOptions buildReplaceOptions(ReplaceOptions options, PersistTo persistTo, ReplicateTo replicateTo,
 			DurabilityLevel durabilityLevel, Duration expiry, Long cas, CouchbaseDocument doc) {
-		options = options != null ? options : ReplaceOptions.replaceOptions();
+		options = options != null ? copyOf(options) : ReplaceOptions.replaceOptions();
 		if (persistTo != PersistTo.NONE || replicateTo != ReplicateTo.NONE) {
 			options.durability(persistTo, replicateTo);
 		} else if (durabilityLevel != DurabilityLevel.NONE) {
@@ -155,9 +184,55 @@ public class OptionsBuilder {
 		return options;
 	}
 
+	/**
+	 * Whether a document written with the given options can be handed to the SDK as already encoded JSON bytes. This
+	 * holds if the options ask for the {@link RawJsonTranscoder}, or if they carry no transcoder and the environment
+	 * uses the default {@link JsonTranscoder} with one of the serializers of the SDK, which pass JSON bytes through. A
+	 * custom transcoder or serializer is always given the exported document.
+	 *
+	 * @param transcoder the transcoder set on the write options, may be null.
+	 * @param environment the environment of the cluster written to.
+	 */
+	public static boolean writesRawJson(@Nullable Transcoder transcoder, ClusterEnvironment environment) {
+		if (transcoder != null) {
+			return transcoder == RawJsonTranscoder.INSTANCE;
+		}
+		Class<?> serializer = environment.jsonSerializer().getClass();
+		return environment.transcoder().getClass() == JsonTranscoder.class
+				&& (serializer == DefaultJsonSerializer.class || serializer == JacksonJsonSerializer.class);
+	}
+
+	/**
+	 * Copies options of the SDK before they are changed for one operation, so that the options of the caller can be
+	 * reused and shared. Other values are returned as they are.
+	 *
+	 * @param options the options, may be {@literal null}.
+	 * @return a copy of the options.
+	 */
+	@Nullable
+	public static <O> O copyOf(@Nullable O options) {
+		if (!(options instanceof CommonOptions)) {
+			return options;
+		}
+		@SuppressWarnings("unchecked")
+		O copy = (O) BeanUtils.instantiateClass(options.getClass());
+		ReflectionUtils.shallowCopyFieldState(options, copy);
+		// some options add to their lists and maps, as GetOptions.project(...) does
+		ReflectionUtils.doWithFields(options.getClass(), field -> {
+			ReflectionUtils.makeAccessible(field);
+			Object value = field.get(copy);
+			if (value instanceof List) {
+				field.set(copy, new ArrayList<>((List<?>) value));
+			} else if (value instanceof Map) {
+				field.set(copy, new LinkedHashMap<>((Map<?, ?>) value));
+			}
+		}, ReflectionUtils.COPYABLE_FIELDS);
+		return copy;
+	}
+
 	public static RemoveOptions buildRemoveOptions(RemoveOptions options, PersistTo persistTo, ReplicateTo replicateTo,
 			DurabilityLevel durabilityLevel, Long cas) {
-		options = options != null ? options : RemoveOptions.removeOptions();
+		options = options != null ? copyOf(options) : RemoveOptions.removeOptions();
 		if (persistTo != PersistTo.NONE || replicateTo != ReplicateTo.NONE) {
 			options.durability(persistTo, replicateTo);
 		} else if (durabilityLevel != DurabilityLevel.NONE) {
@@ -192,22 +267,38 @@ public class OptionsBuilder {
 		if (domainType == null) {
 			return null;
 		}
-		Scope ann = AnnotatedElementUtils.findMergedAnnotation(domainType, Scope.class);
-		if (ann != null && !CollectionIdentifier.DEFAULT_COLLECTION.equals(ann.value())) {
-			return ann.value();
-		}
-		return null;
+		return KEYSPACES.computeIfAbsent(domainType, Keyspace::of).scope;
 	}
 
 	public static String getCollectionFrom(Class<?> domainType) {
 		if (domainType == null) {
 			return null;
 		}
-		Collection ann = AnnotatedElementUtils.findMergedAnnotation(domainType, Collection.class);
-		if (ann != null && !CollectionIdentifier.DEFAULT_COLLECTION.equals(ann.value())) {
-			return ann.value();
+		return KEYSPACES.computeIfAbsent(domainType, Keyspace::of).collection;
+	}
+
+	/**
+	 * Scope and collection from the annotations of a domain type, looked up once per type.
+	 */
+	private static final class Keyspace {
+
+		private final String scope;
+		private final String collection;
+
+		private Keyspace(String scope, String collection) {
+			this.scope = scope;
+			this.collection = collection;
+		}
+
+		static Keyspace of(Class<?> domainType) {
+			Scope scopeAnn = AnnotatedElementUtils.findMergedAnnotation(domainType, Scope.class);
+			Collection collectionAnn = AnnotatedElementUtils.findMergedAnnotation(domainType, Collection.class);
+			String scope = scopeAnn != null ? scopeAnn.value() : null;
+			String collection = collectionAnn != null ? collectionAnn.value() : null;
+			return new Keyspace(CollectionIdentifier.DEFAULT_COLLECTION.equals(scope) ? null : scope,
+					CollectionIdentifier.DEFAULT_COLLECTION.equals(collection) ? null : collection);
 		}
-		return null;
+
 	}
 
 	static String toString(InsertOptions o) {
@@ -15,8 +15,12 @@
  */
 package org.springframework.data.couchbase.core.query;
 
+import static org.springframework.data.couchbase.core.query.N1QLExpression.i;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,11 +37,13 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.mapping.Alias;
 import org.springframework.data.util.ClassTypeInformation;
 import org.springframework.data.util.TypeInformation;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.json.JsonValue;
+import com.couchbase.client.java.kv.MutationState;
 import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryScanConsistency;
 
@@ -56,6 +62,10 @@ public class Query {
 	private Sort sort = Sort.unsorted();
 	private QueryScanConsistency queryScanConsistency;
 	private Meta meta;
+	private N1qlStatementCache statementCache;
+	private boolean adhoc = true;
+	private boolean keyset;
+	private KeysetPosition position;
 
 	static private final Pattern WHERE_PATTERN = Pattern.compile("\\sWHERE\\s");
 	private static final Logger LOG = LoggerFactory.getLogger(Query.class);
@@ -179,10 +189,37 @@ public class Query {
 		this.limit = pageable.getPageSize();
 		this.skip = pageable.getOffset();
 		if (!this.sort.equals(pageable.getSort()))
-			this.sort.and(pageable.getSort());
+			this.sort = this.sort.and(pageable.getSort());
+		if (pageable instanceof KeysetPageRequest) {
+			seek(((KeysetPageRequest) pageable).getPosition());
+		}
 		return this;
 	}
 
+	/**
+	 * Orders the rows by the sort and then by document id, and only returns the rows after the given position instead of
+	 * skipping rows with {@code OFFSET}. The values of the position must match the orders of the sort. Rows with a
+	 * {@literal null} or missing sort key are not found after a position.
+	 *
+	 * @param position the position of the last row of the previous page, {@literal null} for the first page.
+	 * @return this
+	 */
+	public Query seek(@Nullable KeysetPosition position) {
+		this.keyset = true;
+		this.position = position;
+		return this;
+	}
+
+	/**
+	 * The position this query seeks, see {@link #seek(KeysetPosition)}.
+	 *
+	 * @return position
+	 */
+	@Nullable
+	public KeysetPosition getPosition() {
+		return position;
+	}
+
 	/**
 	 * queryScanConsistency
 	 *
@@ -218,6 +255,32 @@ public class Query {
 		return this;
 	}
 
+	/**
+	 * Keeps the N1QL select statement generated for this query in the given cache and reuses it for queries of the same
+	 * shape, only binding their criteria values as positional parameters. Such statements are executed with
+	 * {@code adhoc(false)} so the server reuses its prepared plan, even if the query options set {@code adhoc(true)}.
+	 * Leave the cache unset for queries that must run adhoc.
+	 * <p>
+	 * A cache must only be shared by queries whose criteria have the same structure, like the queries created for one
+	 * repository query method. Sort, skip, limit and the arguments of {@link #toN1qlSelectString} are part of the shape.
+	 *
+	 * @param statementCache
+	 * @return this
+	 */
+	public Query cacheStatementsIn(N1qlStatementCache statementCache) {
+		this.statementCache = statementCache;
+		return this;
+	}
+
+	/**
+	 * Should the statement generated for this query be executed as a one-off or prepared by the server? {@code adhoc}
+	 *
+	 * @return adhoc
+	 */
+	public boolean isAdhoc() {
+		return adhoc;
+	}
+
 	public Query withoutSort() {
 		this.sort = Sort.unsorted();
 		return this;
@@ -251,15 +314,19 @@ public class Query {
 	public void appendWhere(final StringBuilder sb, int[] paramIndexPtr, CouchbaseConverter converter) {
 		if (!criteria.isEmpty()) {
 			appendWhereOrAnd(sb);
-			boolean first = true;
-			for (QueryCriteriaDefinition c : criteria) {
-				if (first) {
-					first = false;
-				} else {
-					sb.append(" AND ");
-				}
-				sb.append(c.export(paramIndexPtr, parameters, converter));
+			appendCriteria(sb, paramIndexPtr, converter);
+		}
+	}
+
+	private void appendCriteria(final StringBuilder sb, int[] paramIndexPtr, CouchbaseConverter converter) {
+		boolean first = true;
+		for (QueryCriteriaDefinition c : criteria) {
+			if (first) {
+				first = false;
+			} else {
+				sb.append(" AND ");
 			}
+			sb.append(c.export(paramIndexPtr, parameters, converter));
 		}
 	}
 
@@ -325,30 +392,141 @@ public class Query {
 
 	public String toN1qlSelectString(ReactiveCouchbaseTemplate template, String collectionName, Class domainClass,
 			Class returnClass, boolean isCount, String[] distinctFields, String[] fields) {
+		if (statementCache == null || !(parameters instanceof JsonArray) || !((JsonArray) parameters).isEmpty()) {
+			return createN1qlSelectString(template, collectionName, domainClass, returnClass, isCount, distinctFields,
+					fields, false);
+		}
+		StatementShape shape = new StatementShape(collectionName, domainClass, returnClass, isCount, distinctFields,
+				fields, isCount ? Sort.unsorted() : sort, !isCount && limit > 0, !isCount && !keyset && skip > 0,
+				!isCount && keyset, !isCount && position != null);
+		String statement = statementCache.get(shape);
+		if (statement == null) {
+			statement = createN1qlSelectString(template, collectionName, domainClass, returnClass, isCount, distinctFields,
+					fields, true);
+			statementCache.put(shape, statement);
+		} else {
+			JsonArray params = (JsonArray) parameters;
+			for (QueryCriteriaDefinition c : criteria) {
+				c.bindParameters(params, template.getConverter());
+			}
+			if (shape.seeking) {
+				addKeysetParameters(params);
+			}
+			if (shape.limited) {
+				params.add(limit);
+			}
+			if (shape.skipped) {
+				params.add(skip);
+			}
+		}
+		adhoc = false;
+		return statement;
+	}
+
+	private String createN1qlSelectString(ReactiveCouchbaseTemplate template, String collectionName, Class domainClass,
+			Class returnClass, boolean isCount, String[] distinctFields, String[] fields, boolean bindSkipAndLimit) {
 		StringBasedN1qlQueryParser.N1qlSpelValues n1ql = getN1qlSpelValues(template, collectionName, domainClass,
 				returnClass, isCount, distinctFields, fields);
 		final StringBuilder statement = new StringBuilder();
+		int[] paramIndexPtr = newParamIndexPtr();
 		appendString(statement, n1ql.selectEntity); // select ...
 		appendWhereString(statement, n1ql.filter); // typeKey = typeValue
-		appendWhere(statement, new int[] { 0 }, template.getConverter()); // criteria on this Query
-		if (!isCount) {
+		if (!criteria.isEmpty()) { // criteria on this Query, the WHERE is already there
+			statement.append(" AND ");
+			appendCriteria(statement, paramIndexPtr, template.getConverter());
+		}
+		if (!isCount && keyset) {
+			String id = "META(" + i(n1ql.bucket) + ").id";
+			if (position != null) {
+				statement.append(" AND ");
+				appendKeysetPredicate(statement, id, paramIndexPtr);
+			}
+			appendSort(statement);
+			statement.append(sort.isUnsorted() ? " ORDER BY " : ",").append(id).append(" ASC");
+		} else if (!isCount) {
 			appendSort(statement);
-			appendSkipAndLimit(statement);
+		}
+		if (!isCount) {
+			if (bindSkipAndLimit) {
+				JsonArray params = (JsonArray) parameters;
+				if (limit > 0) {
+					params.add(limit);
+					statement.append(" LIMIT $").append(++paramIndexPtr[0]);
+				}
+				if (skip > 0 && !keyset) {
+					params.add(skip);
+					statement.append(" OFFSET $").append(++paramIndexPtr[0]);
+				}
+			} else if (keyset) {
+				if (limit > 0) {
+					statement.append(" LIMIT ").append(limit);
+				}
+			} else {
+				appendSkipAndLimit(statement);
+			}
 		}
 		return statement.toString();
 	}
 
+	/**
+	 * Appends {@code (s1 > $1) OR (s1 = $1 AND s2 > $2) OR ... OR (s1 = $1 AND ... AND META().id > $n)} with the values
+	 * of the position as positional parameters, {@code <} for descending orders.
+	 */
+	private void appendKeysetPredicate(StringBuilder sb, String id, int[] paramIndexPtr) {
+		if (!(parameters instanceof JsonArray)) {
+			throw new IllegalStateException("Seeking a position requires positional parameters");
+		}
+		List<Sort.Order> orders = sort.toList();
+		Assert.isTrue(position.getValues().size() == orders.size(),
+				"The position must have one value per order of the sort " + sort);
+		int first = paramIndexPtr[0] + 1;
+		addKeysetParameters((JsonArray) parameters);
+		paramIndexPtr[0] += orders.size() + 1;
+		sb.append("(");
+		for (int i = 0; i <= orders.size(); i++) {
+			if (i > 0) {
+				sb.append(" OR ");
+			}
+			sb.append("(");
+			for (int j = 0; j < i; j++) {
+				sb.append(orders.get(j).getProperty()).append(" = $").append(first + j).append(" AND ");
+			}
+			if (i < orders.size()) {
+				sb.append(orders.get(i).getProperty()).append(orders.get(i).isAscending() ? " > $" : " < $");
+			} else {
+				sb.append(id).append(" > $");
+			}
+			sb.append(first + i).append(")");
+		}
+		sb.append(")");
+	}
+
+	private void addKeysetParameters(JsonArray params) {
+		for (Object value : position.getValues()) {
+			params.add(value);
+		}
+		params.add(position.getId());
+	}
+
 	public String toN1qlRemoveString(ReactiveCouchbaseTemplate template, String collectionName, Class domainClass) {
 		StringBasedN1qlQueryParser.N1qlSpelValues n1ql = getN1qlSpelValues(template, collectionName, domainClass, null,
 				false, null, null);
 		final StringBuilder statement = new StringBuilder();
 		appendString(statement, n1ql.delete); // delete ...
 		appendWhereString(statement, n1ql.filter); // typeKey = typeValue
-		appendWhere(statement, null, template.getConverter()); // criteria on this Query
+		appendWhere(statement, newParamIndexPtr(), template.getConverter()); // criteria on this Query
 		appendString(statement, n1ql.returning);
 		return statement.toString();
 	}
 
+	/**
+	 * Criteria values are always exported as parameters, positional ones continue after those already present, named
+	 * ones are named {@code p1}, {@code p2}, ... skipping the names already present.
+	 */
+	private int[] newParamIndexPtr() {
+		return new int[] { parameters instanceof JsonArray ? ((JsonArray) parameters).size() : -1 };
+	}
+
 	public static StringBasedN1qlQueryParser.N1qlSpelValues getN1qlSpelValues(
 			ReactiveCouchbaseTemplate template, String collectionName,
 			Class domainClass, Class returnClass, boolean isCount, String[] distinctFields, String[] fields) {
@@ -378,6 +556,19 @@ public class Query {
 		return OptionsBuilder.buildQueryOptions(this, options, scanConsistency);
 	}
 
+	/**
+	 * build QueryOptions from parameters and scanConsistency, waiting for the given mutations only unless the scan
+	 * consistency is {@link QueryScanConsistency#REQUEST_PLUS}
+	 *
+	 * @param scanConsistency
+	 * @param mutationState the mutations to read, may be null
+	 * @return QueryOptions
+	 */
+	public QueryOptions buildQueryOptions(QueryOptions options, QueryScanConsistency scanConsistency,
+			@Nullable MutationState mutationState) {
+		return OptionsBuilder.buildQueryOptions(this, options, scanConsistency, mutationState);
+	}
+
 	/**
 	 * this collections annotations from the method, repository class and possibly the entity class to be used as options.
 	 * This will find annotations included in composed annotations as well. Ideally
@@ -393,4 +584,63 @@ public class Query {
 		return meta;
 	}
 
+	/**
+	 * Everything a cached select statement depends on besides the structure of the criteria.
+	 */
+	private static final class StatementShape {
+
+		private final String collectionName;
+		private final Class<?> domainClass;
+		private final Class<?> returnClass;
+		private final boolean isCount;
+		private final String[] distinctFields;
+		private final String[] fields;
+		private final Sort sort;
+		private final boolean limited;
+		private final boolean skipped;
+		private final boolean keyset;
+		private final boolean seeking;
+
+		StatementShape(String collectionName, Class<?> domainClass, Class<?> returnClass, boolean isCount,
+				String[] distinctFields, String[] fields, Sort sort, boolean limited, boolean skipped, boolean keyset,
+				boolean seeking) {
+			this.collectionName = collectionName;
+			this.domainClass = domainClass;
+			this.returnClass = returnClass;
+			this.isCount = isCount;
+			this.distinctFields = distinctFields;
+			this.fields = fields;
+			this.sort = sort;
+			this.limited = limited;
+			this.skipped = skipped;
+			this.keyset = keyset;
+			this.seeking = seeking;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof StatementShape)) {
+				return false;
+			}
+			StatementShape that = (StatementShape) o;
+			return isCount == that.isCount && limited == that.limited && skipped == that.skipped && keyset == that.keyset
+					&& seeking == that.seeking
+					&& Objects.equals(collectionName, that.collectionName) && domainClass == that.domainClass
+					&& returnClass == that.returnClass && Arrays.equals(distinctFields, that.distinctFields)
+					&& Arrays.equals(fields, that.fields) && sort.equals(that.sort);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = Objects.hash(collectionName, domainClass, returnClass, isCount, sort, limited, skipped, keyset,
+					seeking);
+			result = 31 * result + Arrays.hashCode(distinctFields);
+			return 31 * result + Arrays.hashCode(fields);
+		}
+
+	}
+
 }
@@ -18,9 +18,10 @@ package org.springframework.data.couchbase.core.query;
 import static org.springframework.data.couchbase.core.query.N1QLExpression.x;
 
 import java.util.ArrayList;
-import java.util.Formatter;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.data.couchbase.core.convert.CouchbaseConverter;
 import org.springframework.lang.Nullable;
@@ -320,7 +321,8 @@ public class QueryCriteria implements QueryCriteriaDefinition {
 	 *
 	 * @param paramIndexPtr - this is a reference to the parameter index to be used for positional parameters There may
 	 *          already be positional parameters in the beginning of the statement, so it may not always start at 1. If it
-	 *          has the value -1, the query is using named parameters. If the pointer is null, the query is not using
+	 *          is negative, the query is using named parameters and operands become {@code $p1}, {@code $p2}, ... with
+	 *          {@code -paramIndexPtr[0]} being the number of the next one. If the pointer is null, the query is not using
 	 *          parameters.
 	 * @param parameters - parameters of the query. If operands are parameterized, their values are added to parameters
 	 * @return string containing part of N1QL query
@@ -345,6 +347,20 @@ public class QueryCriteria implements QueryCriteriaDefinition {
 		return output.toString();
 	}
 
+	@Override
+	public void bindParameters(JsonArray parameters, CouchbaseConverter converter) {
+		for (QueryCriteria c : this.criteriaChain) {
+			int valueLen = c.value == null ? 0 : c.value.length;
+			for (int i = 0; i < valueLen; i++) {
+				if (c.value[i] instanceof QueryCriteria) {
+					((QueryCriteria) c.value[i]).bindParameters(parameters, converter);
+				} else {
+					addPositional(parameters, c.value[i], converter);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Export the query criteria to a string without using positional or named parameters.
 	 *
@@ -362,7 +378,8 @@ public class QueryCriteria implements QueryCriteriaDefinition {
 	 * @param sb - the string builder
 	 * @param paramIndexPtr - this is a reference to the parameter index to be used for positional parameters There may
 	 *          already be positional parameters in the beginning of the statement, so it may not always start at 1. If it
-	 *          has the value -1, the query is using named parameters. If the pointer is null, the query is not using
+	 *          is negative, the query is using named parameters and operands become {@code $p1}, {@code $p2}, ... with
+	 *          {@code -paramIndexPtr[0]} being the number of the next one. If the pointer is null, the query is not using
 	 *          parameters.
 	 * @param parameters - parameters of the query. If operands are parameterized, their values are added to parameters
 	 * @return string containing part of N1QL query
@@ -378,7 +395,7 @@ public class QueryCriteria implements QueryCriteriaDefinition {
 			if (value[i] instanceof QueryCriteria) {
 				v[i + 2] = "(" + ((QueryCriteria) value[i]).export(paramIndexPtr, parameters, converter) + ")";
 			} else {
-				v[i + 2] = maybeWrapValue(key, value[i], paramIndexPtr, parameters, converter);
+				v[i + 2] = maybeWrapValue(value[i], paramIndexPtr, parameters, converter);
 			}
 		}
 
@@ -387,7 +404,7 @@ public class QueryCriteria implements QueryCriteriaDefinition {
 		} else if (format == null) { // this always has to be fieldname <op> <something>
 			sb.append(fieldName).append(" ").append(operator).append(" ").append(v[2]);
 		} else {
-			sb.append(new Formatter().format(format, v));
+			ExportTemplate.of(format).appendTo(sb, v);
 		}
 
 		return sb;
@@ -398,40 +415,35 @@ public class QueryCriteria implements QueryCriteriaDefinition {
 	 *
 	 * @param paramIndexPtr - this is a reference to the parameter index to be used for positional parameters There may
 	 *          already be positional parameters in the beginning of the statement, so it may not always start at 1. If it
-	 *          has the value -1, the query is using named parameters. If the pointer is null, the query is not using
+	 *          is negative, the query is using named parameters and operands become {@code $p1}, {@code $p2}, ... with
+	 *          {@code -paramIndexPtr[0]} being the number of the next one. If the pointer is null, the query is not using
 	 *          parameters.
 	 * @param parameters - parameters of the query. If operands are parameterized, their values are added to parameters
 	 * @return string containing part of N1QL query
 	 */
-	private String maybeWrapValue(N1QLExpression key, Object value, int[] paramIndexPtr, JsonValue parameters,
+	private String maybeWrapValue(Object value, int[] paramIndexPtr, JsonValue parameters,
 			CouchbaseConverter converter) {
 		if (paramIndexPtr != null) {
 			if (paramIndexPtr[0] >= 0) {
-				JsonArray params = (JsonArray) parameters;
-				// from StringBasedN1qlQueryParser.getPositionalPlaceholderValues()
-				try {
-					params.add(convert(converter, value));
-				} catch (InvalidArgumentException iae) {
-					if (value instanceof Object[]) {
-						addAsArray(params, value, converter);
-					} else {
-						throw iae;
-					}
-				}
+				addPositional((JsonArray) parameters, value, converter);
 				return "$" + (++paramIndexPtr[0]); // these are generated in order
 			} else {
 				JsonObject params = (JsonObject) parameters;
+				String name;
+				do { // p1, p2, ... skipping names already used by the query
+					name = "p" + (-paramIndexPtr[0]--);
+				} while (params.containsKey(name));
 				// from StringBasedN1qlQueryParser.getNamedPlaceholderValues()
 				try {
-					params.put(key.toString(), convert(converter, value));
+					params.put(name, convert(converter, value));
 				} catch (InvalidArgumentException iae) {
 					if (value instanceof Object[]) {
-						params.put(key.toString(), JsonArray.from((Object[]) value));
+						params.put(name, JsonArray.from((Object[]) value));
 					} else {
 						throw iae;
 					}
 				}
-				return "$" + key;
+				return "$" + name;
 			}
 		}
 
@@ -449,7 +461,7 @@ public class QueryCriteria implements QueryCriteriaDefinition {
 				if (i > 0) {
 					l.append(",");
 				}
-				l.append(maybeWrapValue(null, array[i], null, null, converter));
+				l.append(maybeWrapValue(array[i], null, null, converter));
 			}
 			l.append("]");
 			return l.toString();
@@ -458,6 +470,19 @@ public class QueryCriteria implements QueryCriteriaDefinition {
 		}
 	}
 
+	private void addPositional(JsonArray params, Object value, CouchbaseConverter converter) {
+		// from StringBasedN1qlQueryParser.getPositionalPlaceholderValues()
+		try {
+			params.add(convert(converter, value));
+		} catch (InvalidArgumentException iae) {
+			if (value instanceof Object[]) {
+				addAsArray(params, value, converter);
+			} else {
+				throw iae;
+			}
+		}
+	}
+
 	private static Object convert(CouchbaseConverter converter, Object value) {
 		return converter != null ? converter.convertForWriteIfNeeded(value) : value;
 	}
@@ -479,6 +504,71 @@ public class QueryCriteria implements QueryCriteriaDefinition {
 		}
 	}
 
+	/**
+	 * A criteria format, such as {@code "%1$s between %3$s and %4$s"}, split once into its literal text and argument
+	 * references. Only {@code %n$s} and {@code %%} are supported.
+	 */
+	static final class ExportTemplate {
+
+		private static final Map<String, ExportTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+		private final String[] literals;
+		private final int[] arguments;
+
+		private ExportTemplate(String[] literals, int[] arguments) {
+			this.literals = literals;
+			this.arguments = arguments;
+		}
+
+		static ExportTemplate of(String format) {
+			return TEMPLATES.computeIfAbsent(format, ExportTemplate::compile);
+		}
+
+		private static ExportTemplate compile(String format) {
+			List<String> literals = new ArrayList<>();
+			List<Integer> arguments = new ArrayList<>();
+			StringBuilder literal = new StringBuilder();
+			int i = 0;
+			while (i < format.length()) {
+				char c = format.charAt(i);
+				if (c != '%') {
+					literal.append(c);
+					i++;
+				} else if (format.startsWith("%", i + 1)) {
+					literal.append('%');
+					i += 2;
+				} else {
+					int dollar = format.indexOf("$s", i);
+					if (dollar < 0) {
+						throw new IllegalArgumentException("Unsupported criteria format: " + format);
+					}
+					literals.add(literal.toString());
+					literal.setLength(0);
+					try {
+						arguments.add(Integer.parseInt(format.substring(i + 1, dollar)) - 1);
+					} catch (NumberFormatException nfe) {
+						throw new IllegalArgumentException("Unsupported criteria format: " + format, nfe);
+					}
+					i = dollar + 2;
+				}
+			}
+			literals.add(literal.toString());
+			int[] argumentIndexes = new int[arguments.size()];
+			for (int a = 0; a < argumentIndexes.length; a++) {
+				argumentIndexes[a] = arguments.get(a);
+			}
+			return new ExportTemplate(literals.toArray(new String[0]), argumentIndexes);
+		}
+
+		void appendTo(StringBuilder sb, Object[] args) {
+			for (int i = 0; i < arguments.length; i++) {
+				sb.append(literals[i]).append(args[arguments[i]]);
+			}
+			sb.append(literals[arguments.length]);
+		}
+
+	}
+
 	enum ChainOperator {
 		AND("and"), OR("or");
 
@@ -15,6 +15,7 @@
  */
 package org.springframework.data.couchbase.core.query;
 
+import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonValue;
 import org.springframework.data.couchbase.core.convert.CouchbaseConverter;
 
@@ -44,4 +45,15 @@ public interface QueryCriteriaDefinition {
 	 * @return string containing part of N1QL query
 	 */
 	String export();
+
+	/**
+	 * Adds the values of the criteria to the positional parameters, in the same order as
+	 * {@link #export(int[], JsonValue, CouchbaseConverter)} would, without generating the string again.
+	 *
+	 * @param parameters - positional parameters of the query
+	 * @param converter - converter to use for converting criteria values
+	 */
+	default void bindParameters(JsonArray parameters, CouchbaseConverter converter) {
+		export(new int[] { parameters.size() }, parameters, converter);
+	}
 }
@@ -15,23 +15,44 @@
  */
 package org.springframework.data.couchbase.core.support;
 
+import static org.springframework.data.couchbase.core.query.OptionsBuilder.copyOf;
 import static org.springframework.data.couchbase.core.query.OptionsBuilder.fromFirst;
 import static org.springframework.data.couchbase.core.query.OptionsBuilder.getCollectionFrom;
 import static org.springframework.data.couchbase.core.query.OptionsBuilder.getScopeFrom;
 
+import org.springframework.data.couchbase.core.MutationSession;
 import org.springframework.data.couchbase.core.ReactiveCouchbaseTemplate;
+import org.springframework.lang.Nullable;
+
+import reactor.util.context.ContextView;
 
 import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.java.kv.MutationResult;
+import com.couchbase.client.java.kv.MutationState;
 
+/**
+ * The scope, collection and options of one operation. Immutable, so the same instance set by a repository proxy can be
+ * seen by many operations and threads at once: the options are copied when they are passed in and when they are
+ * handed out, so neither the caller nor an operation changing them affects other operations.
+ */
 public class PseudoArgs<OPTS> {
+
+	/**
+	 * Key of the {@link PseudoArgs} of a repository proxy in the Reactor {@link reactor.util.context.Context} of a
+	 * reactive operation.
+	 */
+	public static final Object CONTEXT_KEY = PseudoArgs.class;
+
 	private final OPTS options;
 	private final String scopeName;
 	private final String collectionName;
+	private final @Nullable MutationSession session;
 
 	public PseudoArgs(String scopeName, String collectionName, OPTS options) {
-		this.options = options;
+		this.options = copyOf(options);
 		this.scopeName = scopeName;
 		this.collectionName = collectionName;
+		this.session = null;
 	}
 
 	/**
@@ -48,19 +69,36 @@ public class PseudoArgs<OPTS> {
 	 */
 	public PseudoArgs(ReactiveCouchbaseTemplate template, String scope, String collection, OPTS options,
 			Class<?> domainType) {
+		this(template, template.getPseudoArgs(), MutationSession.current(), scope, collection, options, domainType);
+	}
+
+	/**
+	 * Same as {@link #PseudoArgs(ReactiveCouchbaseTemplate, String, String, Object, Class)}, with the values of the
+	 * dynamic proxy and the {@link MutationSession} taken from the Reactor context of the subscriber if it has them,
+	 * from the threadLocals otherwise.
+	 *
+	 * @param context the context of the subscriber of a reactive operation
+	 */
+	public PseudoArgs(ReactiveCouchbaseTemplate template, ContextView context, String scope, String collection,
+			OPTS options, Class<?> domainType) {
+		this(template, context.getOrDefault(CONTEXT_KEY, template.getPseudoArgs()), MutationSession.current(context),
+				scope, collection, options, domainType);
+	}
+
+	@SuppressWarnings("unchecked")
+	private PseudoArgs(ReactiveCouchbaseTemplate template, @Nullable PseudoArgs<?> fromProxy,
+			@Nullable MutationSession session, String scope, String collection, OPTS options, Class<?> domainType) {
 
 		String scopeForQuery = null;
 		String collectionForQuery = null;
 		OPTS optionsForQuery = null;
 
-		// 1) repository from DynamicProxy via template threadLocal - has precedence over annotation
+		// 1) repository from DynamicProxy via Reactor context or template threadLocal - has precedence over annotation
 
-		PseudoArgs<OPTS> threadLocal = (PseudoArgs<OPTS>) template.getPseudoArgs();
-		template.setPseudoArgs(null);
-		if (threadLocal != null) {
-			scopeForQuery = threadLocal.getScope();
-			collectionForQuery = threadLocal.getCollection();
-			optionsForQuery = threadLocal.getOptions();
+		if (fromProxy != null) {
+			scopeForQuery = fromProxy.getScope();
+			collectionForQuery = fromProxy.getCollection();
+			optionsForQuery = (OPTS) fromProxy.getOptions();
 		}
 
 		scopeForQuery = fromFirst(null, scopeForQuery, scope, getScopeFrom(domainType));
@@ -84,15 +122,16 @@ public class PseudoArgs<OPTS> {
 
 		this.scopeName = scopeForQuery;
 		this.collectionName = collectionForQuery;
-		this.options = optionsForQuery;
+		this.options = copyOf(optionsForQuery);
+		this.session = session;
 
 	}
 
 	/**
-	 * @return the options
+	 * @return a copy of the options
 	 */
 	public OPTS getOptions() {
-		return this.options;
+		return copyOf(this.options);
 	}
 
 	/**
@@ -109,8 +148,36 @@ public class PseudoArgs<OPTS> {
 		return this.collectionName;
 	}
 
+	/**
+	 * @return the session the operation runs within, if any
+	 */
+	@Nullable
+	public MutationSession getSession() {
+		return this.session;
+	}
+
+	/**
+	 * @return the mutations made within the session of the operation, null if there is no session or none were made
+	 */
+	@Nullable
+	public MutationState getMutationState() {
+		return session == null ? null : session.getMutationState();
+	}
+
+	/**
+	 * Records the mutation token of the result in the session of the operation, if any.
+	 *
+	 * @return the result
+	 */
+	public <R extends MutationResult> R recordMutation(R result) {
+		if (session != null) {
+			session.record(result);
+		}
+		return result;
+	}
+
 	@Override
 	public String toString() {
-		return "scope: " + getScope() + " collection: " + getCollection() + " options: " + getOptions();
+		return "scope: " + getScope() + " collection: " + getCollection() + " options: " + this.options;
 	}
 }
@@ -22,8 +22,13 @@ import org.springframework.dao.QueryTimeoutException;
 import org.springframework.dao.support.PersistenceExceptionTranslator;
 import org.springframework.data.couchbase.core.CouchbaseExceptionTranslator;
 import org.springframework.data.couchbase.core.OperationInterruptedException;
+import org.springframework.data.couchbase.core.convert.translation.TranslationService;
+import org.springframework.data.couchbase.core.mapping.CouchbaseDocument;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
 import org.springframework.data.couchbase.repository.query.CountFragment;
 
+import com.couchbase.client.core.error.CouchbaseException;
+
 /**
  * @author Subhashni Balakrishnan
  * @author Michael Reiche
@@ -48,4 +53,57 @@ public class TemplateUtils {
 			return e;
 		}
 	}
+
+	/**
+	 * Decodes a query row straight from its JSON bytes into the target document. When {@code withMeta} is set, the
+	 * {@link #SELECT_ID} and {@link #SELECT_CAS} projections are taken out of the decoded document instead of being
+	 * parsed into an intermediate object, stripped and serialized again. The id of the target and the version property
+	 * of the entity are set from them.
+	 *
+	 * @return the cas of the row, 0 without {@code withMeta}.
+	 */
+	public static long decodeRow(TranslationService translationService, byte[] row, boolean withMeta, String statement,
+			CouchbasePersistentEntity<?> persistentEntity, CouchbaseDocument target) {
+		return decodeRow(translationService, row, withMeta, "query", statement, persistentEntity, target);
+	}
+
+	/**
+	 * Decodes an analytics row like {@link #decodeRow}, the {@link #SELECT_ID} and {@link #SELECT_CAS} projections are
+	 * required.
+	 *
+	 * @return the cas of the row.
+	 */
+	public static long decodeAnalyticsRow(TranslationService translationService, byte[] row, String statement,
+			CouchbasePersistentEntity<?> persistentEntity, CouchbaseDocument target) {
+		return decodeRow(translationService, row, true, "analytics query", statement, persistentEntity, target);
+	}
+
+	private static long decodeRow(TranslationService translationService, byte[] row, boolean withMeta, String kind,
+			String statement, CouchbasePersistentEntity<?> persistentEntity, CouchbaseDocument target) {
+		translationService.decode(row, target);
+		String id = "";
+		long cas = 0;
+		if (withMeta) {
+			Object rowId = target.getContent().remove(SELECT_ID);
+			Object rowCas = target.getContent().remove(SELECT_CAS);
+			if (rowId == null) {
+				throw notProjected(kind, SELECT_ID, statement);
+			}
+			if (!(rowCas instanceof Number)) {
+				throw notProjected(kind, SELECT_CAS, statement);
+			}
+			id = rowId.toString();
+			cas = ((Number) rowCas).longValue();
+		}
+		target.setId(id);
+		if (cas != 0 && persistentEntity.getVersionProperty() != null) {
+			target.put(persistentEntity.getVersionProperty().getName(), cas);
+		}
+		return cas;
+	}
+
+	private static CouchbaseException notProjected(String kind, String field, String statement) {
+		return new CouchbaseException(kind + " did not project " + field + ". Either use #{#n1ql.selectEntity} or project "
+				+ SELECT_ID + " and " + SELECT_CAS + " : " + statement);
+	}
 }
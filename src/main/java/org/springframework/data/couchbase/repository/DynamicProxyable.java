@@ -16,8 +16,6 @@
 
 package org.springframework.data.couchbase.repository;
 
-import java.lang.reflect.Proxy;
-
 import org.springframework.data.couchbase.repository.query.CouchbaseEntityInformation;
 import org.springframework.data.couchbase.repository.support.DynamicInvocationHandler;
 
@@ -38,41 +36,34 @@ public interface DynamicProxyable<REPO> {
 	Object getOperations();
 
 	/**
-	 * Support for Couchbase-specific options, scope and collections The three "with" methods will return a new proxy
-	 * instance with the specified options, scope, or collections set. The setters are called with the corresponding
-	 * options, scope and collection to set the ThreadLocal fields on the CouchbaseOperations of the repository just
-	 * before the call is made to the repository, and called again with 'null' just after the call is made. The repository
-	 * method will fetch those values to use in the call.
+	 * Support for Couchbase-specific options, scope and collections The three "with" methods will return a proxy
+	 * instance with the specified options, scope, or collections set. Proxies for a scope or collection without options
+	 * are built once and reused. The proxy binds the corresponding options, scope and collection to the calling thread on
+	 * the CouchbaseOperations of the repository just before the call is made to the repository, and restores the previous
+	 * binding just after the call is made. The Mono or Flux returned by a reactive repository also carries them in its
+	 * Reactor Context, so operations subscribed later, on any thread, see them too. The repository method will fetch
+	 * those values to use in the call.
 	 */
 
 	/**
 	 * @param options - the options to set on the returned repository object
 	 */
-	@SuppressWarnings("unchecked")
 	default REPO withOptions(CommonOptions<?> options) {
-		REPO proxyInstance = (REPO) Proxy.newProxyInstance(this.getClass().getClassLoader(),
-				this.getClass().getInterfaces(), new DynamicInvocationHandler(this, options, null, (String) null));
-		return proxyInstance;
+		return DynamicInvocationHandler.view(this, options, null, null);
 	}
 
 	/**
 	 * @param scope - the scope to set on the returned repository object
 	 */
-	@SuppressWarnings("unchecked")
 	default REPO withScope(String scope) {
-		REPO proxyInstance = (REPO) Proxy.newProxyInstance(this.getClass().getClassLoader(),
-				this.getClass().getInterfaces(), new DynamicInvocationHandler<>(this, null, null, scope));
-		return proxyInstance;
+		return DynamicInvocationHandler.view(this, null, null, scope);
 	}
 
 	/**
 	 * @param collection - the collection to set on the returned repository object
 	 */
-	@SuppressWarnings("unchecked")
 	default REPO withCollection(String collection) {
-		REPO proxyInstance = (REPO) Proxy.newProxyInstance(this.getClass().getClassLoader(),
-				this.getClass().getInterfaces(), new DynamicInvocationHandler<>(this, null, collection, null));
-		return proxyInstance;
+		return DynamicInvocationHandler.view(this, null, collection, null);
 	}
 
 }
@@ -22,6 +22,7 @@ import org.springframework.data.couchbase.core.ExecutableFindByQueryOperation.Te
 import org.springframework.data.couchbase.core.query.Query;
 import org.springframework.data.couchbase.repository.query.CouchbaseQueryExecution.DeleteExecution;
 import org.springframework.data.couchbase.repository.query.CouchbaseQueryExecution.PagedExecution;
+import org.springframework.data.couchbase.repository.query.CouchbaseQueryExecution.SlicedExecution;
 import org.springframework.data.repository.core.EntityMetadata;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
@@ -126,7 +127,9 @@ public abstract class AbstractCouchbaseQuery extends AbstractCouchbaseQueryBase<
 		} else if (isExistsQuery()) {
 			return (q, t, r, c) -> operation.as(r).matching(q).exists();
 		} else if (getQueryMethod().isPageQuery()) {
-			return new PagedExecution(operation, accessor.getPageable());
+			return new PagedExecution(operation, accessor.getPageable(), getOperations().getConverter());
+		} else if (getQueryMethod().isSliceQuery()) {
+			return new SlicedExecution(operation, accessor.getPageable(), getOperations().getConverter());
 		} else {
 			return (q, t, r, c) -> {
 				TerminatingFindByQuery<?> find = operation.as(r).matching(q);
@@ -21,7 +21,10 @@ import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.couchbase.core.CouchbaseOperations;
 import org.springframework.data.couchbase.core.ExecutableFindByQueryOperation.ExecutableFindByQuery;
 import org.springframework.data.couchbase.core.ExecutableFindByQueryOperation.TerminatingFindByQuery;
+import org.springframework.data.couchbase.core.convert.CouchbaseConverter;
+import org.springframework.data.couchbase.core.query.KeysetPageRequest;
 import org.springframework.data.couchbase.core.query.Query;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
@@ -95,12 +98,18 @@ interface CouchbaseQueryExecution {
 
 		private final ExecutableFindByQuery<?> find;
 		private final Pageable pageable;
+		private final CouchbaseConverter converter;
 
 		public SlicedExecution(ExecutableFindByQuery find, Pageable pageable) {
+			this(find, pageable, null);
+		}
+
+		public SlicedExecution(ExecutableFindByQuery find, Pageable pageable, CouchbaseConverter converter) {
 			Assert.notNull(find, "Find must not be null!");
 			Assert.notNull(pageable, "Pageable must not be null!");
 			this.find = find;
 			this.pageable = pageable;
+			this.converter = converter;
 		}
 
 		/*
@@ -115,7 +124,8 @@ interface CouchbaseQueryExecution {
 			Query modifiedQuery = query.skip(pageable.getOffset()).limit(pageSize + 1);
 			List result = find.as(returnType).matching(modifiedQuery).all();
 			boolean hasNext = result.size() > pageSize;
-			return new SliceImpl<Object>(hasNext ? result.subList(0, pageSize) : result, pageable, hasNext);
+			List content = hasNext ? result.subList(0, pageSize) : result;
+			return new SliceImpl<Object>(content, withRows(pageable, content, converter), hasNext);
 		}
 	}
 
@@ -126,12 +136,18 @@ interface CouchbaseQueryExecution {
 
 		private final ExecutableFindByQuery<?> operation;
 		private final Pageable pageable;
+		private final CouchbaseConverter converter;
 
 		public PagedExecution(ExecutableFindByQuery<?> operation, Pageable pageable) {
+			this(operation, pageable, null);
+		}
+
+		public PagedExecution(ExecutableFindByQuery<?> operation, Pageable pageable, CouchbaseConverter converter) {
 			Assert.notNull(operation, "Operation must not be null!");
 			Assert.notNull(pageable, "Pageable must not be null!");
 			this.operation = operation;
 			this.pageable = pageable;
+			this.converter = converter;
 		}
 
 		/*
@@ -139,18 +155,40 @@ interface CouchbaseQueryExecution {
 		 * @see org.springframework.data.couchbase.repository.query.CouchbaseQueryExecution#execute(org.springframework.data.couchbase.core.query.Query)
 		 */
 		@Override
+		@SuppressWarnings({ "unchecked", "rawtypes" })
 		public Object execute(Query query, Class<?> type, Class<?> returnType, String collection) {
+			if (pageable instanceof KeysetPageRequest && !((KeysetPageRequest) pageable).isCounted()) {
+				// no count, peek into the next page to know whether there is one. The total is an estimate, counting
+				// the next page as a single row, which is all the Page needs to tell whether there is a next page.
+				int pageSize = pageable.getPageSize();
+				List result = operation.as(returnType).matching(query.limit(pageSize + 1)).all();
+				boolean hasNext = result.size() > pageSize;
+				List content = hasNext ? result.subList(0, pageSize) : result;
+				return new PageImpl<Object>(content, withRows(pageable, content, converter),
+						pageable.getOffset() + content.size() + (hasNext ? 1 : 0));
+			}
 			int overallLimit = 0; // query.getLimit();
 			TerminatingFindByQuery<?> matching = operation.as(returnType).matching(query);
 			// Adjust limit if page would exceed the overall limit
 			if (overallLimit != 0 && pageable.getOffset() + pageable.getPageSize() > overallLimit) {
 				query.limit((int) (overallLimit - pageable.getOffset()));
 			}
-			return PageableExecutionUtils.getPage(matching.all(), pageable, () -> {
+			List content = matching.all();
+			return PageableExecutionUtils.getPage(content, withRows(pageable, content, converter), () -> {
 				long count = operation.matching(query.skip(-1).limit(-1).withoutSort()).count();
 				return overallLimit != 0 ? Math.min(count, overallLimit) : count;
 			});
 		}
 	}
 
+	/**
+	 * Lets the {@link Pageable#next()} of a {@link KeysetPageRequest} continue after the last row read for it.
+	 */
+	static Pageable withRows(Pageable pageable, List<?> content, CouchbaseConverter converter) {
+		if (pageable instanceof KeysetPageRequest && converter != null) {
+			return ((KeysetPageRequest) pageable).withRows(content, converter);
+		}
+		return pageable;
+	}
+
 }
@@ -27,6 +27,7 @@ import java.util.Optional;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.couchbase.core.convert.CouchbaseConverter;
 import org.springframework.data.couchbase.core.mapping.CouchbasePersistentProperty;
+import org.springframework.data.couchbase.core.query.KeysetPageRequest;
 import org.springframework.data.couchbase.core.query.N1QLExpression;
 import org.springframework.data.couchbase.core.query.Query;
 import org.springframework.data.couchbase.core.query.QueryCriteria;
@@ -86,6 +87,9 @@ public class N1qlQueryCreator extends AbstractQueryCreator<Query, QueryCriteria>
 		if (pageable.isPaged()) {
 			q.skip(pageable.getOffset());
 			q.limit(pageable.getPageSize());
+			if (pageable instanceof KeysetPageRequest) {
+				q.seek(((KeysetPageRequest) pageable).getPosition());
+			}
 		}
 		q.distinct(tree.isDistinct());
 		return q;
@@ -18,6 +18,7 @@ package org.springframework.data.couchbase.repository.query;
 import org.springframework.data.couchbase.core.CouchbaseOperations;
 import org.springframework.data.couchbase.core.CouchbaseTemplate;
 import org.springframework.data.couchbase.core.convert.CouchbaseConverter;
+import org.springframework.data.couchbase.core.query.N1qlStatementCache;
 import org.springframework.data.couchbase.core.query.Query;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.QueryMethod;
@@ -37,6 +38,7 @@ public class PartTreeCouchbaseQuery extends AbstractCouchbaseQuery {
 
 	private final CouchbasePartTree tree;
 	private final CouchbaseConverter converter;
+	private final N1qlStatementCache statements = new N1qlStatementCache();
 
 	/**
 	 * Creates a new {@link PartTreeCouchbaseQuery} from the given {@link QueryMethod} and {@link CouchbaseTemplate}.
@@ -74,7 +76,7 @@ public class PartTreeCouchbaseQuery extends AbstractCouchbaseQuery {
 
 		N1qlQueryCreator creator = new N1qlQueryCreator(tree, accessor, getQueryMethod(), converter,
 				getOperations().getBucketName());
-		Query query = creator.createQuery();
+		Query query = creator.createQuery().cacheStatementsIn(statements);
 
 		if (tree.isLimiting()) {
 			query.limit(tree.getMaxResults());
@@ -93,7 +95,7 @@ public class PartTreeCouchbaseQuery extends AbstractCouchbaseQuery {
 	@Override
 	protected Query createCountQuery(ParametersParameterAccessor accessor) {
 		return new N1qlQueryCreator(tree, accessor, getQueryMethod(), converter, getOperations().getBucketName())
-				.createQuery();
+				.createQuery().cacheStatementsIn(statements);
 	}
 
 	/*
@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.couchbase.core.CouchbaseTemplate;
 import org.springframework.data.couchbase.core.ReactiveCouchbaseOperations;
 import org.springframework.data.couchbase.core.convert.CouchbaseConverter;
+import org.springframework.data.couchbase.core.query.N1qlStatementCache;
 import org.springframework.data.couchbase.core.query.Query;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.QueryMethod;
@@ -38,6 +39,7 @@ public class ReactivePartTreeCouchbaseQuery extends AbstractReactiveCouchbaseQue
 
 	private final PartTree tree;
 	private final CouchbaseConverter converter;
+	private final N1qlStatementCache statements = new N1qlStatementCache();
 	private static final Logger LOG = LoggerFactory.getLogger(ReactivePartTreeCouchbaseQuery.class);
 
 	/**
@@ -75,7 +77,7 @@ public class ReactivePartTreeCouchbaseQuery extends AbstractReactiveCouchbaseQue
 
 		N1qlQueryCreator creator = new N1qlQueryCreator(tree, accessor, getQueryMethod(), converter,
 				getOperations().getBucketName());
-		Query query = creator.createQuery();
+		Query query = creator.createQuery().cacheStatementsIn(statements);
 
 		if (tree.isLimiting()) {
 			query.limit(tree.getMaxResults());
@@ -93,7 +95,7 @@ public class ReactivePartTreeCouchbaseQuery extends AbstractReactiveCouchbaseQue
 	@Override
 	protected Query createCountQuery(ParametersParameterAccessor accessor) {
 		Query query = new N1qlQueryCreator(tree, accessor, getQueryMethod(), converter, getOperations().getBucketName())
-				.createQuery();
+				.createQuery().cacheStatementsIn(statements);
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Created query {} for * fields.", query.export());
 		}
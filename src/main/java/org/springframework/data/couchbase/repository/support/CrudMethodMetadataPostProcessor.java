@@ -35,7 +35,6 @@ import org.springframework.data.couchbase.repository.Scope;
 import org.springframework.data.repository.core.RepositoryInformation;
 import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
 import org.springframework.lang.Nullable;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
@@ -77,8 +76,8 @@ class CrudMethodMetadataPostProcessor implements RepositoryProxyPostProcessor, B
 	}
 
 	/**
-	 * Returns a {@link CrudMethodMetadata} proxy that will lookup the actual target object by obtaining a thread bound
-	 * instance from the {@link TransactionSynchronizationManager} later.
+	 * Returns a {@link CrudMethodMetadata} proxy that will lookup the actual target object bound to the calling thread by
+	 * the {@link CrudMethodMetadataPopulatingMethodInterceptor} for the duration of a repository call.
 	 */
 	CrudMethodMetadata getCrudMethodMetadata() {
 		ProxyFactory factory = new ProxyFactory();
@@ -89,7 +88,8 @@ class CrudMethodMetadataPostProcessor implements RepositoryProxyPostProcessor, B
 
 	/**
 	 * {@link MethodInterceptor} to build and cache {@link DefaultCrudMethodMetadata} instances for the invoked methods.
-	 * Will bind the found information to a {@link TransactionSynchronizationManager} for later lookup.
+	 * Binds the found information to the calling thread while the method runs, restoring the previous binding when it
+	 * returns, so nothing is left behind for unrelated calls on pooled or event loop threads.
 	 *
 	 * @see DefaultCrudMethodMetadata
 	 * @author Oliver Gierke
@@ -97,8 +97,8 @@ class CrudMethodMetadataPostProcessor implements RepositoryProxyPostProcessor, B
 	 */
 	static class CrudMethodMetadataPopulatingMethodInterceptor implements MethodInterceptor {
 
-		private static final ThreadLocal<MethodInvocation> currentInvocation = new NamedThreadLocal<>(
-				"Current AOP method invocation");
+		private static final ThreadLocal<CrudMethodMetadata> currentMetadata = new NamedThreadLocal<>(
+				"Current CRUD method metadata");
 
 		private final ConcurrentMap<Method, CrudMethodMetadata> metadataCache = new ConcurrentHashMap<>();
 		private final Set<Method> implementations = new HashSet<>();
@@ -111,21 +111,14 @@ class CrudMethodMetadataPostProcessor implements RepositoryProxyPostProcessor, B
 		}
 
 		/**
-		 * Return the AOP Alliance {@link MethodInvocation} object associated with the current invocation.
+		 * Return the {@link CrudMethodMetadata} of the repository method running on the calling thread.
 		 *
-		 * @return the invocation object associated with the current invocation.
-		 * @throws IllegalStateException if there is no AOP invocation in progress, or if the
-		 *           {@link CrudMethodMetadataPopulatingMethodInterceptor} was not added to this interceptor chain.
+		 * @return the metadata, {@link DefaultCrudMethodMetadata#NONE} if no repository method is running, as for
+		 *         operations of a reactive repository that are assembled after the method returned.
 		 */
-		static MethodInvocation currentInvocation() throws IllegalStateException {
-
-			MethodInvocation mi = currentInvocation.get();
-
-			if (mi == null)
-				throw new IllegalStateException(
-						"No MethodInvocation found: Check that an AOP invocation is in progress, and that the "
-								+ "CrudMethodMetadataPopulatingMethodInterceptor is upfront in the interceptor chain.");
-			return mi;
+		static CrudMethodMetadata currentMetadata() {
+			CrudMethodMetadata metadata = currentMetadata.get();
+			return metadata == null ? DefaultCrudMethodMetadata.NONE : metadata;
 		}
 
 		/*
@@ -141,37 +134,17 @@ class CrudMethodMetadataPostProcessor implements RepositoryProxyPostProcessor, B
 				return invocation.proceed();
 			}
 
-			MethodInvocation oldInvocation = currentInvocation.get();
-			currentInvocation.set(invocation);
+			CrudMethodMetadata oldMetadata = currentMetadata.get();
+			currentMetadata.set(metadataCache.computeIfAbsent(method, DefaultCrudMethodMetadata::new));
 
 			try {
-				CrudMethodMetadata metadata = (CrudMethodMetadata) TransactionSynchronizationManager.getResource(method);
-
-				if (metadata != null) {
-					return invocation.proceed();
-				}
-
-				CrudMethodMetadata methodMetadata = metadataCache.get(method);
-
-				if (methodMetadata == null) {
-
-					methodMetadata = new DefaultCrudMethodMetadata(method);
-					CrudMethodMetadata tmp = metadataCache.putIfAbsent(method, methodMetadata);
-
-					if (tmp != null) {
-						methodMetadata = tmp;
-					}
-				}
-
-				TransactionSynchronizationManager.bindResource(method, methodMetadata);
-
-				try {
-					return invocation.proceed();
-				} finally {
-					// TransactionSynchronizationManager.unbindResource(method);
-				}
+				return invocation.proceed();
 			} finally {
-				// currentInvocation.set(oldInvocation);
+				if (oldMetadata == null) {
+					currentMetadata.remove();
+				} else {
+					currentMetadata.set(oldMetadata);
+				}
 			}
 		}
 	}
@@ -184,11 +157,23 @@ class CrudMethodMetadataPostProcessor implements RepositoryProxyPostProcessor, B
 	 */
 	private static class DefaultCrudMethodMetadata implements CrudMethodMetadata {
 
+		/**
+		 * Metadata of no method, without any annotations.
+		 */
+		static final CrudMethodMetadata NONE = new DefaultCrudMethodMetadata();
+
 		private final Method method;
 		private final ScanConsistency scanConsistency;
 		private final String scope;
 		private final String collection;
 
+		private DefaultCrudMethodMetadata() {
+			this.method = null;
+			this.scanConsistency = null;
+			this.scope = null;
+			this.collection = null;
+		}
+
 		/**
 		 * Creates a new {@link DefaultCrudMethodMetadata} for the given {@link Method}. This collects data from implemented
 		 * methods (save(), findById() etc) that would be collected in query.setMeta() for unimplemented methods. There may
@@ -269,9 +254,7 @@ class CrudMethodMetadataPostProcessor implements RepositoryProxyPostProcessor, B
 		 */
 		@Override
 		public Object getTarget() {
-
-			MethodInvocation invocation = CrudMethodMetadataPopulatingMethodInterceptor.currentInvocation();
-			return TransactionSynchronizationManager.getResource(invocation.getMethod());
+			return CrudMethodMetadataPopulatingMethodInterceptor.currentMetadata();
 		}
 
 		/*
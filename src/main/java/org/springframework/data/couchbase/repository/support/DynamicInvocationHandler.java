@@ -15,52 +15,99 @@
  */
 package org.springframework.data.couchbase.repository.support;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.data.couchbase.core.CouchbaseTemplate;
 import org.springframework.data.couchbase.core.ReactiveCouchbaseTemplate;
 import org.springframework.data.couchbase.core.support.PseudoArgs;
 import org.springframework.data.couchbase.repository.CouchbaseRepository;
 import org.springframework.data.couchbase.repository.ReactiveCouchbaseRepository;
-import org.springframework.data.couchbase.repository.query.CouchbaseEntityInformation;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 
 import com.couchbase.client.java.CommonOptions;
 
 /**
  * Invocation Handler for scope/collection/options proxy for repositories
+ * <p>
+ * Repository methods are dispatched through a {@link MethodHandle} resolved once per method. The proxies for a scope
+ * and collection without options are built once per repository and reused, see
+ * {@link #view(Object, CommonOptions, String, String)}.
  *
  * @param <T>
  * @author Michael Reiche
  */
 public class DynamicInvocationHandler<T> implements InvocationHandler {
+
+	/**
+	 * Maximum number of scope and collection views kept per repository, views beyond are built on every call.
+	 */
+	static final int MAX_VIEWS = 256;
+
+	private static final Object[] NO_ARGS = new Object[0];
+	private static final MethodType DISPATCH_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+	private static final Map<Object, DynamicInvocationHandler<?>> ROOTS = new ConcurrentReferenceHashMap<>();
+	private static final Map<Method, MethodHandle> DISPATCH = new ConcurrentReferenceHashMap<>();
+
 	final T target;
 	final Class<?> repositoryClass;
-	// needed only to detect parameters of this type to look for methods with parameter of java.lang.Object
-	final CouchbaseEntityInformation<?, String> entityInformation;
 	final ReactiveCouchbaseTemplate reactiveTemplate;
 	CommonOptions<?> options;
 	String collection;
-	String scope;;
+	String scope;
+	// immutable, shared by all calls through this proxy
+	final PseudoArgs<?> pseudoArgs;
+	// views by scope and collection, shared by all handlers of the target
+	private final Map<List<String>, Object> views;
 
 	public DynamicInvocationHandler(T target, CommonOptions<?> options, String collection, String scope) {
+		this(target, options, collection, scope, new ConcurrentHashMap<>());
+	}
+
+	private DynamicInvocationHandler(T target, CommonOptions<?> options, String collection, String scope,
+			Map<List<String>, Object> views) {
 		this.target = target;
 		if (target instanceof CouchbaseRepository) {
 			reactiveTemplate = ((CouchbaseTemplate) ((CouchbaseRepository) target).getOperations()).reactive();
-			this.entityInformation = ((CouchbaseRepository<?, String>) target).getEntityInformation();
 		} else if (target instanceof ReactiveCouchbaseRepository) {
 			reactiveTemplate = (ReactiveCouchbaseTemplate) ((ReactiveCouchbaseRepository) target).getOperations();
-			this.entityInformation = ((ReactiveCouchbaseRepository<?, String>) target).getEntityInformation();
 		} else {
 			throw new RuntimeException("Unknown target type: " + target.getClass());
 		}
 		this.options = options;
 		this.collection = collection;
 		this.scope = scope;
+		this.pseudoArgs = new PseudoArgs<>(scope, collection, options);
 		this.repositoryClass = target.getClass();
+		this.views = views;
+	}
+
+	/**
+	 * The proxy of the repository using the given options, collection and scope.
+	 *
+	 * @param repository the repository, a {@link org.springframework.data.couchbase.repository.DynamicProxyable}
+	 * @param options the options, {@literal null} for none. Proxies with options are not reused.
+	 * @param collection the collection, {@literal null} for the default.
+	 * @param scope the scope, {@literal null} for the default.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <REPO> REPO view(Object repository, CommonOptions<?> options, String collection, String scope) {
+		DynamicInvocationHandler<?> root = ROOTS.computeIfAbsent(repository,
+				r -> new DynamicInvocationHandler<>(r, null, null, null));
+		return (REPO) root.derive(options, collection, scope);
 	}
 
 	@Override
@@ -74,50 +121,73 @@ public class DynamicInvocationHandler<T> implements InvocationHandler {
 		 */
 
 		if (method.getName().equals("withOptions")) {
-			return Proxy.newProxyInstance(repositoryClass.getClassLoader(), target.getClass().getInterfaces(),
-					new DynamicInvocationHandler<>(target, (CommonOptions) args[0], collection, scope));
+			return derive((CommonOptions) args[0], collection, scope);
 		}
 
 		if (method.getName().equals("withScope")) {
-			return Proxy.newProxyInstance(repositoryClass.getClassLoader(), target.getClass().getInterfaces(),
-					new DynamicInvocationHandler<>(target, options, collection, (String) args[0]));
+			return derive(options, collection, (String) args[0]);
 		}
 
 		if (method.getName().equals("withCollection")) {
-			return Proxy.newProxyInstance(repositoryClass.getClassLoader(), target.getClass().getInterfaces(),
-					new DynamicInvocationHandler<>(target, options, (String) args[0], scope));
-		}
-
-		Class<?>[] paramTypes = null;
-		if (args != null) {
-			// the CouchbaseRepository methods - save(entity) etc - will have a parameter type of Object instead of entityType
-			// so change the paramType to match
-			paramTypes = Arrays.stream(args)
-					.map(o -> o == null ? null : (o.getClass() == entityInformation.getJavaType() ? Object.class : o.getClass()))
-					.toArray(Class<?>[]::new);
-			// the CouchbaseRepository methods - findById(id) etc - will have a parameter type of Object instead of ID
-			if (method.getName().endsWith("ById") && args.length == 1) {
-				paramTypes[0] = Object.class;
-			}
+			return derive(options, (String) args[0], scope);
 		}
 
-		Method theMethod = repositoryClass.getMethod(method.getName(), paramTypes);
+		MethodHandle handle = DISPATCH.computeIfAbsent(method, DynamicInvocationHandler::dispatchHandle);
+		// invokeExact takes the static types of the arguments as the call type, which must be (Object, Object[])Object
+		Object[] arguments = args == null ? NO_ARGS : args;
 		Object result;
 
+		// the operations called by the method see the pseudoArgs while it runs (blocking repositories, reactive
+		// operations assembled right away) and through the Reactor context when subscribed to later, on any thread
+		PseudoArgs<?> previous = reactiveTemplate.getPseudoArgs();
+		reactiveTemplate.setPseudoArgs(pseudoArgs);
 		try {
-			setThreadLocal();
-			result = theMethod.invoke(target, args);
-		} catch (InvocationTargetException ite) {
-			throw ite.getCause();
+			result = (Object) handle.invokeExact((Object) target, arguments);
+		} finally {
+			reactiveTemplate.setPseudoArgs(previous);
+		}
+		if (result instanceof Mono) {
+			return ((Mono<?>) result).contextWrite(Context.of(PseudoArgs.CONTEXT_KEY, pseudoArgs));
+		}
+		if (result instanceof Flux) {
+			return ((Flux<?>) result).contextWrite(Context.of(PseudoArgs.CONTEXT_KEY, pseudoArgs));
 		}
 		return result;
 	}
 
-	private void setThreadLocal() {
-		if (reactiveTemplate.getPseudoArgs() != null) {
-			throw new RuntimeException("pseudoArgs not yet consumed by previous caller");
+	private Object derive(CommonOptions<?> options, String collection, String scope) {
+		if (options != null) {
+			return newProxy(options, collection, scope);
+		}
+		List<String> key = Arrays.asList(scope, collection);
+		Object view = views.get(key);
+		if (view == null) {
+			view = newProxy(null, collection, scope);
+			if (views.size() < MAX_VIEWS) {
+				Object existing = views.putIfAbsent(key, view);
+				view = existing != null ? existing : view;
+			}
+		}
+		return view;
+	}
+
+	private Object newProxy(CommonOptions<?> options, String collection, String scope) {
+		return Proxy.newProxyInstance(repositoryClass.getClassLoader(), repositoryClass.getInterfaces(),
+				new DynamicInvocationHandler<>(target, options, collection, scope, views));
+	}
+
+	/**
+	 * A handle invoking the method on any implementation of its interface, taking the target and the arguments as
+	 * {@code (Object, Object[])Object}.
+	 */
+	private static MethodHandle dispatchHandle(Method method) {
+		ReflectionUtils.makeAccessible(method);
+		try {
+			return MethodHandles.lookup().unreflect(method).asFixedArity()
+					.asSpreader(Object[].class, method.getParameterCount()).asType(DISPATCH_TYPE);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot dispatch to " + method, e);
 		}
-		reactiveTemplate.setPseudoArgs(new PseudoArgs(this.scope, this.collection, this.options));
 	}
 
 }
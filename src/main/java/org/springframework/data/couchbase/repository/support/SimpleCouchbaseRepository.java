@@ -18,13 +18,19 @@ package org.springframework.data.couchbase.repository.support;
 
 import static org.springframework.data.couchbase.repository.support.Util.hasNonZeroVersionProperty;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.data.couchbase.core.CouchbaseOperations;
+import org.springframework.data.couchbase.core.MutationResult;
 import org.springframework.data.couchbase.core.query.Query;
 import org.springframework.data.couchbase.repository.CouchbaseRepository;
 import org.springframework.data.couchbase.repository.query.CouchbaseEntityInformation;
@@ -35,6 +41,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.util.StreamUtils;
 import org.springframework.data.util.Streamable;
 import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
 
 import com.couchbase.client.java.query.QueryScanConsistency;
 
@@ -49,11 +56,18 @@ import com.couchbase.client.java.query.QueryScanConsistency;
 public class SimpleCouchbaseRepository<T, ID> extends CouchbaseRepositoryBase<T, ID>
 		implements CouchbaseRepository<T, ID> {
 
+	private static final int SAVE_ALL_CONCURRENCY = 128;
+
 	/**
 	 * Holds the reference to the {@link org.springframework.data.couchbase.core.CouchbaseTemplate}.
 	 */
 	private final CouchbaseOperations operations;
 
+	/**
+	 * Whether a subclass overrides {@link #save(Object)}, so that {@link #saveAll(Iterable)} has to go through it.
+	 */
+	private final boolean saveOverridden;
+
 	/**
 	 * Create a new Repository.
 	 *
@@ -65,6 +79,8 @@ public class SimpleCouchbaseRepository<T, ID> extends CouchbaseRepositoryBase<T,
 			CouchbaseOperations couchbaseOperations, Class<?> repositoryInterface) {
 		super(entityInformation, repositoryInterface);
 		this.operations = couchbaseOperations;
+		Method save = ReflectionUtils.findMethod(getClass(), "save", Object.class);
+		this.saveOverridden = save != null && save.getDeclaringClass() != SimpleCouchbaseRepository.class;
 	}
 
 	@Override
@@ -81,10 +97,64 @@ public class SimpleCouchbaseRepository<T, ID> extends CouchbaseRepositoryBase<T,
 		return result;
 	}
 
+	/**
+	 * Saves the entities with up to {@link #getSaveAllConcurrency()} mutations in flight. Entities with a non-zero
+	 * version are replaced, all others are upserted, just like {@link #save(Object)}. If any entity fails to save, the
+	 * remaining ones are still saved and the first failure is rethrown.
+	 * <p>
+	 * If a subclass overrides {@link #save(Object)}, the entities are saved one after the other through it instead, so
+	 * that its behavior applies to every entity.
+	 */
 	@Override
+	@SuppressWarnings("unchecked")
 	public <S extends T> Iterable<S> saveAll(Iterable<S> entities) {
 		Assert.notNull(entities, "The given Iterable of entities must not be null!");
-		return Streamable.of(entities).stream().map((e) -> save(e)).collect(StreamUtils.toUnmodifiableList());
+		if (saveOverridden) {
+			return Streamable.of(entities).stream().map((e) -> save(e)).collect(StreamUtils.toUnmodifiableList());
+		}
+		List<S> toSave = Streamable.of(entities).toList();
+		boolean[] replace = new boolean[toSave.size()];
+		List<S> toReplace = new ArrayList<>();
+		List<S> toUpsert = new ArrayList<>();
+		for (int i = 0; i < replace.length; i++) {
+			S entity = toSave.get(i);
+			Assert.notNull(entity, "Entity must not be null!");
+			replace[i] = hasNonZeroVersionProperty(entity, operations.getConverter());
+			(replace[i] ? toReplace : toUpsert).add(entity);
+		}
+
+		Iterator<MutationResult<T>> replaced = toReplace.isEmpty() ? Collections.emptyIterator()
+				: operations.replaceById(getJavaType()).inScope(getScope()).inCollection(getCollection())
+						.batch(toReplace, getSaveAllConcurrency()).iterator();
+		Iterator<MutationResult<T>> upserted = toUpsert.isEmpty() ? Collections.emptyIterator()
+				: operations.upsertById(getJavaType()).inScope(getScope()).inCollection(getCollection())
+						.batch(toUpsert, getSaveAllConcurrency()).iterator();
+
+		List<S> saved = new ArrayList<>(replace.length);
+		Throwable failure = null;
+		for (boolean isReplace : replace) {
+			MutationResult<T> result = isReplace ? replaced.next() : upserted.next();
+			if (result.isSuccessful()) {
+				saved.add((S) result.getResult());
+			} else if (failure == null) {
+				failure = result.getError();
+			}
+		}
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		} else if (failure instanceof Error) {
+			throw (Error) failure;
+		} else if (failure != null) {
+			throw new DataAccessResourceFailureException(failure.getMessage(), failure);
+		}
+		return Collections.unmodifiableList(saved);
+	}
+
+	/**
+	 * The maximum number of mutations {@link #saveAll(Iterable)} keeps in flight.
+	 */
+	protected int getSaveAllConcurrency() {
+		return SAVE_ALL_CONCURRENCY;
 	}
 
 	@Override
@@ -17,14 +17,13 @@
 package org.springframework.data.couchbase.repository.support;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
-import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.couchbase.core.query.View;
 import org.springframework.data.repository.core.RepositoryInformation;
@@ -42,8 +41,7 @@ public enum ViewPostProcessor implements RepositoryProxyPostProcessor {
 
 	INSTANCE;
 
-	private static final ThreadLocal<Map<Object, Object>> VIEW_METADATA = new NamedThreadLocal<Map<Object, Object>>(
-			"View Metadata");
+	private static final Map<Method, Optional<View>> VIEW_METADATA = new ConcurrentHashMap<>();
 
 	/* 
 	 * (non-Javadoc)
@@ -53,7 +51,6 @@ public enum ViewPostProcessor implements RepositoryProxyPostProcessor {
 	public void postProcess(ProxyFactory factory, RepositoryInformation repositoryInformation) {
 
 		factory.addAdvice(ExposeInvocationInterceptor.INSTANCE);
-		factory.addAdvice(ViewInterceptor.INSTANCE);
 	}
 
 	public ViewMetadataProvider getViewMetadataProvider() {
@@ -61,42 +58,9 @@ public enum ViewPostProcessor implements RepositoryProxyPostProcessor {
 	}
 
 	/**
-	 * {@link MethodInterceptor} to inspect the currently invoked {@link Method} for a {@link View} annotation.
-	 * <p/>
-	 * If a View annotation is found, it will bind it to a locally held ThreadLocal for later lookup in the
-	 * SimpleCouchbaseRepository class.
-	 *
-	 * @author David Harrigan.
-	 */
-	static enum ViewInterceptor implements MethodInterceptor {
-
-		INSTANCE;
-
-		@Override
-		public Object invoke(final MethodInvocation invocation) throws Throwable {
-
-			final View view = AnnotationUtils.getAnnotation(invocation.getMethod(), View.class);
-			if (view != null) {
-				Map<Object, Object> map = VIEW_METADATA.get();
-				if (map == null) {
-					map = new HashMap<Object, Object>();
-					VIEW_METADATA.set(map);
-				}
-				map.put(invocation.getMethod(), view);
-			}
-			try {
-				return invocation.proceed();
-			} finally {
-				VIEW_METADATA.remove();
-			}
-
-		}
-
-	}
-
-	/**
-	 * {@link ViewMetadataProvider} that looks up a bound View from a locally held ThreadLocal, using the current method
-	 * invocationas as the key. If not bound View is found, a null is returned.
+	 * {@link ViewMetadataProvider} that looks up the {@link View} annotation of the method of the current invocation, as
+	 * exposed by the {@link ExposeInvocationInterceptor}. The lookup is done once per method. If no View is found, a null
+	 * is returned.
 	 *
 	 * @author David Harrigan.
 	 */
@@ -107,8 +71,8 @@ public enum ViewPostProcessor implements RepositoryProxyPostProcessor {
 		@Override
 		public View getView() {
 			final MethodInvocation invocation = ExposeInvocationInterceptor.currentInvocation();
-			final Map<Object, Object> map = VIEW_METADATA.get();
-			return (map == null) ? null : (View) map.get(invocation.getMethod());
+			return VIEW_METADATA.computeIfAbsent(invocation.getMethod(),
+					method -> Optional.ofNullable(AnnotationUtils.getAnnotation(method, View.class))).orElse(null);
 		}
 
 	}
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.support.NullValue;
+import org.springframework.lang.Nullable;
+
+import com.couchbase.client.java.codec.Transcoder;
+
+class CouchbaseCacheTests {
+
+	private final MapCacheWriter writer = new MapCacheWriter();
+	private final CouchbaseCache cache = new CouchbaseCache("cache", writer,
+			CouchbaseCacheConfiguration.defaultCacheConfig());
+
+	@Test
+	void concurrentMissesShareOneLoad() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		Map<Thread, Object> results = new ConcurrentHashMap<>();
+		for (int i = 0; i < 8; i++) {
+			Thread thread = new Thread(() -> results.put(Thread.currentThread(), cache.get("key", () -> {
+				loads.incrementAndGet();
+				release.await();
+				return "value";
+			})));
+			threads.add(thread);
+			thread.start();
+		}
+		awaitWaiting(threads);
+		release.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(1, loads.get());
+		assertEquals(8, results.size());
+		results.values().forEach(value -> assertEquals("value", value));
+		assertEquals("value", writer.entries.get("cache::key"));
+	}
+
+	@Test
+	void errorOfLoaderIsPassedToWaiters() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicReference<Throwable> ownerError = new AtomicReference<>();
+		AtomicReference<Throwable> waiterError = new AtomicReference<>();
+
+		Thread owner = new Thread(() -> {
+			try {
+				cache.get("key", () -> {
+					started.countDown();
+					release.await();
+					throw new AssertionError("loader failed");
+				});
+			} catch (Throwable ex) {
+				ownerError.set(ex);
+			}
+		});
+		owner.start();
+		started.await();
+		Thread waiter = new Thread(() -> {
+			try {
+				cache.get("key", () -> "other");
+			} catch (Throwable ex) {
+				waiterError.set(ex);
+			}
+		});
+		waiter.start();
+		awaitWaiting(waiter);
+		release.countDown();
+
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+			owner.join();
+			waiter.join();
+		});
+		assertEquals(AssertionError.class, ownerError.get().getClass());
+		assertEquals(AssertionError.class, waiterError.get().getClass());
+	}
+
+	@Test
+	void reentrantGetOfSameKeyDoesNotDeadlock() {
+		Object value = assertTimeoutPreemptively(Duration.ofSeconds(10),
+				() -> cache.get("key", () -> "outer-" + cache.get("key", () -> "inner")));
+
+		assertEquals("outer-inner", value);
+		assertEquals("outer-inner", writer.entries.get("cache::key"));
+	}
+
+	@Test
+	void retrievesHitsAndMisses() throws Exception {
+		CouchbaseCache cache = reactiveCache();
+		writer.entries.put("cache::hit", "value");
+
+		assertEquals("value", ((ValueWrapper) cache.retrieve("hit").get()).get());
+		assertNull(cache.retrieve("miss").get());
+		assertEquals("value", cache.retrieve("hit", () -> CompletableFuture.completedFuture("other")).get());
+		assertEquals("loaded", cache.retrieve("miss", () -> CompletableFuture.completedFuture("loaded")).get());
+		assertEquals("loaded", writer.entries.get("cache::miss"));
+	}
+
+	@Test
+	void retrievesStoredNullValue() throws Exception {
+		CouchbaseCache cache = reactiveCache();
+		writer.entries.put("cache::key", NullValue.INSTANCE);
+		AtomicInteger loads = new AtomicInteger();
+
+		ValueWrapper wrapper = (ValueWrapper) cache.retrieve("key").get();
+		assertNotNull(wrapper);
+		assertNull(wrapper.get());
+		assertNull(cache.retrieve("key", () -> {
+			loads.incrementAndGet();
+			return CompletableFuture.completedFuture("loaded");
+		}).get());
+		assertEquals(0, loads.get());
+	}
+
+	@Test
+	void concurrentRetrievesShareOneLoad() throws Exception {
+		CouchbaseCache cache = reactiveCache();
+		AtomicInteger loads = new AtomicInteger();
+		CompletableFuture<String> loaded = new CompletableFuture<>();
+		List<CompletableFuture<String>> results = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			results.add(cache.retrieve("key", () -> {
+				loads.incrementAndGet();
+				return loaded;
+			}));
+		}
+		loaded.complete("value");
+
+		for (CompletableFuture<String> result : results) {
+			assertEquals("value", result.get(10, TimeUnit.SECONDS));
+		}
+		assertEquals(1, loads.get());
+		assertEquals("value", cache.get("key", () -> "other"));
+	}
+
+	@Test
+	void retrieveDoesNotLoadValueStoredAfterMiss() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		MapReactiveCacheWriter reactiveWriter = new MapReactiveCacheWriter(writer) {
+			@Override
+			public Mono<Object> get(String collectionName, String key, @Nullable Transcoder transcoder) {
+				// the value is stored by someone else right after the first miss
+				return super.get(collectionName, key, transcoder)
+						.switchIfEmpty(Mono.fromRunnable(() -> writer.entries.put(key, "stored")));
+			}
+		};
+		CouchbaseCache cache = new CouchbaseCache("cache", writer, reactiveWriter,
+				CouchbaseCacheConfiguration.defaultCacheConfig());
+
+		assertEquals("stored", cache.retrieve("key", () -> {
+			loads.incrementAndGet();
+			return CompletableFuture.completedFuture("loaded");
+		}).get());
+		assertEquals(0, loads.get());
+	}
+
+	@Test
+	void clearByGenerationMovesToNextGeneration() {
+		CountingMapCacheWriter writer = new CountingMapCacheWriter();
+		CouchbaseCache cache = new CouchbaseCache("cache", writer, generationConfig(Duration.ofHours(1)));
+		cache.put("key", "old");
+		assertEquals("old", writer.entries.get("cache::0::key"));
+
+		cache.clear();
+
+		assertEquals(1, writer.getGeneration(null, "cache::" + CouchbaseCache.GENERATION_KEY));
+		assertNull(cache.get("key"));
+		cache.put("key", "new");
+		assertEquals("new", cache.get("key").get());
+		assertEquals("new", writer.entries.get("cache::1::key"));
+		// older generations are left to expire
+		assertEquals("old", writer.entries.get("cache::0::key"));
+	}
+
+	@Test
+	void clearByGenerationOfOtherCacheIsSeenAfterRefresh() {
+		CountingMapCacheWriter writer = new CountingMapCacheWriter();
+		CouchbaseCache refreshing = new CouchbaseCache("cache", writer, generationConfig(Duration.ZERO));
+		CouchbaseCache cached = new CouchbaseCache("cache", writer, generationConfig(Duration.ofHours(1)));
+		cached.put("key", "value");
+		assertEquals("value", refreshing.get("key").get());
+
+		refreshing.clear();
+
+		assertNull(refreshing.get("key"));
+		// the generation read before the clear is still current for the other cache
+		assertEquals("value", cached.get("key").get());
+	}
+
+	@Test
+	void clearByGenerationWithoutCounterFallsBackToClear() {
+		CouchbaseCache cache = new CouchbaseCache("cache", writer, generationConfig(Duration.ofHours(1)));
+		writer.entries.put("other::key", "other");
+		cache.put("key", "value");
+		assertEquals("value", writer.entries.get("cache::0::key"));
+
+		cache.clear();
+
+		assertEquals(0, writer.getGeneration(null, "cache::" + CouchbaseCache.GENERATION_KEY));
+		assertEquals(0, writer.nextGeneration(null, "cache::" + CouchbaseCache.GENERATION_KEY));
+		assertNull(cache.get("key"));
+		assertFalse(writer.entries.containsKey("cache::0::key"));
+		assertEquals("other", writer.entries.get("other::key"));
+	}
+
+	private static CouchbaseCacheConfiguration generationConfig(Duration refreshInterval) {
+		return CouchbaseCacheConfiguration.defaultCacheConfig().entryExpiry(Duration.ofMinutes(10))
+				.clearByGeneration(refreshInterval);
+	}
+
+	private CouchbaseCache reactiveCache() {
+		return new CouchbaseCache("cache", writer, new MapReactiveCacheWriter(writer),
+				CouchbaseCacheConfiguration.defaultCacheConfig());
+	}
+
+	private static void awaitWaiting(List<Thread> threads) {
+		for (Thread thread : threads) {
+			awaitWaiting(thread);
+		}
+	}
+
+	private static void awaitWaiting(Thread thread) {
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+			while (thread.getState() != Thread.State.WAITING) {
+				Thread.yield();
+			}
+		});
+	}
+
+	static class MapCacheWriter implements CouchbaseCacheWriter {
+
+		final Map<String, Object> entries = new ConcurrentHashMap<>();
+
+		@Override
+		public void put(String collectionName, String key, Object value, @Nullable Duration expiry,
+				@Nullable Transcoder transcoder) {
+			entries.put(key, value);
+		}
+
+		@Override
+		public Object putIfAbsent(String collectionName, String key, Object value, @Nullable Duration expiry,
+				@Nullable Transcoder transcoder) {
+			return entries.putIfAbsent(key, value);
+		}
+
+		@Override
+		public Object get(String collectionName, String key, @Nullable Transcoder transcoder) {
+			return entries.get(key);
+		}
+
+		@Override
+		public boolean remove(String collectionName, String key) {
+			return entries.remove(key) != null;
+		}
+
+		@Override
+		public long clear(String pattern) {
+			long size = entries.size();
+			entries.keySet().removeIf(key -> key.startsWith(pattern));
+			return size - entries.size();
+		}
+
+	}
+
+	static class CountingMapCacheWriter extends MapCacheWriter {
+
+		final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+		@Override
+		public long getGeneration(String collectionName, String key) {
+			AtomicLong generation = generations.get(key);
+			return generation != null ? generation.get() : 0;
+		}
+
+		@Override
+		public long nextGeneration(String collectionName, String key) {
+			return generations.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+		}
+
+	}
+
+	static class MapReactiveCacheWriter implements ReactiveCouchbaseCacheWriter {
+
+		private final MapCacheWriter writer;
+
+		MapReactiveCacheWriter(MapCacheWriter writer) {
+			this.writer = writer;
+		}
+
+		@Override
+		public Mono<Void> put(String collectionName, String key, Object value, @Nullable Duration expiry,
+				@Nullable Transcoder transcoder) {
+			return Mono.fromRunnable(() -> writer.put(collectionName, key, value, expiry, transcoder));
+		}
+
+		@Override
+		public Mono<Object> putIfAbsent(String collectionName, String key, Object value, @Nullable Duration expiry,
+				@Nullable Transcoder transcoder) {
+			return Mono.fromSupplier(() -> writer.putIfAbsent(collectionName, key, value, expiry, transcoder));
+		}
+
+		@Override
+		public Mono<Object> get(String collectionName, String key, @Nullable Transcoder transcoder) {
+			return Mono.fromSupplier(() -> writer.get(collectionName, key, transcoder));
+		}
+
+		@Override
+		public Mono<Boolean> remove(String collectionName, String key) {
+			return Mono.fromSupplier(() -> writer.remove(collectionName, key));
+		}
+
+		@Override
+		public Mono<Long> clear(String pattern) {
+			return Mono.fromSupplier(() -> writer.clear(pattern));
+		}
+
+	}
+
+}
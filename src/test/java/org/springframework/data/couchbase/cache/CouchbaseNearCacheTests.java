@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.lang.Nullable;
+
+import com.couchbase.client.java.codec.Transcoder;
+
+class CouchbaseNearCacheTests {
+
+	@Test
+	void evictsOldestEntryOnceFull() {
+		CouchbaseNearCache nearCache = new CouchbaseNearCache(2, Duration.ofMinutes(1),
+				CouchbaseNearCache.Revalidator.NONE);
+		nearCache.put("a", 1);
+		nearCache.put("b", 2);
+		nearCache.put("a", 3);
+		nearCache.remove("b");
+		nearCache.put("c", 4);
+		nearCache.put("d", 5);
+
+		assertNull(nearCache.get("a"));
+		assertEquals(4, nearCache.get("c"));
+		assertEquals(5, nearCache.get("d"));
+		assertEquals(2, nearCache.size());
+		assertEquals(1, nearCache.getEvictionCount());
+	}
+
+	@Test
+	void dropsExpiredAndRejectedEntries() {
+		CouchbaseNearCache expiring = new CouchbaseNearCache(2, Duration.ofNanos(1), CouchbaseNearCache.Revalidator.NONE);
+		expiring.put("a", 1);
+		assertNull(expiring.get("a"));
+		assertEquals(0, expiring.size());
+		assertEquals(1, expiring.getEvictionCount());
+
+		CouchbaseNearCache revalidated = new CouchbaseNearCache(2, Duration.ofMinutes(1),
+				(key, value, age) -> !"b".equals(key));
+		revalidated.put("a", 1);
+		revalidated.put("b", 2);
+		assertEquals(1, revalidated.get("a"));
+		assertNull(revalidated.get("b"));
+		assertEquals(1, revalidated.getHitCount());
+		assertEquals(1, revalidated.getMissCount());
+	}
+
+	@Test
+	void fillIsDroppedIfKeyWasWrittenOrRemovedMeanwhile() {
+		CouchbaseNearCache nearCache = new CouchbaseNearCache(10, Duration.ofMinutes(1),
+				CouchbaseNearCache.Revalidator.NONE);
+
+		Object reservation = nearCache.reserve("written");
+		nearCache.put("written", "new");
+		nearCache.fill("written", reservation, "old");
+		nearCache.release("written", reservation);
+		assertEquals("new", nearCache.get("written"));
+
+		reservation = nearCache.reserve("removed");
+		nearCache.remove("removed");
+		nearCache.fill("removed", reservation, "old");
+		nearCache.release("removed", reservation);
+		assertNull(nearCache.get("removed"));
+
+		reservation = nearCache.reserve("read");
+		nearCache.fill("read", reservation, "value");
+		nearCache.release("read", reservation);
+		assertEquals("value", nearCache.get("read"));
+		assertEquals(2, nearCache.size());
+	}
+
+	@Test
+	void writeDuringReadFromCouchbaseIsNotOverwrittenByReadValue() {
+		AtomicBoolean racing = new AtomicBoolean(true);
+		CouchbaseCache[] cache = new CouchbaseCache[1];
+		CouchbaseCacheTests.MapCacheWriter writer = new CouchbaseCacheTests.MapCacheWriter() {
+			@Override
+			public Object get(String collectionName, String key, @Nullable Transcoder transcoder) {
+				Object value = super.get(collectionName, key, transcoder);
+				if (racing.getAndSet(false)) {
+					cache[0].put("key", "new");
+				}
+				return value;
+			}
+		};
+		writer.entries.put("cache::key", "old");
+		cache[0] = new CouchbaseCache("cache", writer,
+				CouchbaseCacheConfiguration.defaultCacheConfig().enableNearCache(10, Duration.ofMinutes(1)));
+
+		assertEquals("old", cache[0].get("key").get());
+		assertEquals("new", cache[0].get("key").get());
+		assertEquals(1, cache[0].getNearCache().getHitCount());
+	}
+
+}
@@ -112,6 +112,45 @@ class CouchbaseTemplateKeyValueIntegrationTests extends JavaIntegrationTests {
 
 	}
 
+	@Test
+	void findByIdBatch() {
+		User user1 = new User(UUID.randomUUID().toString(), "user1", "user1");
+		User user2 = new User(UUID.randomUUID().toString(), "user2", "user2");
+		String missing = UUID.randomUUID().toString();
+		couchbaseTemplate.upsertById(User.class).all(Arrays.asList(user1, user2));
+		try {
+			List<FindByIdResult<User>> results = couchbaseTemplate.findById(User.class)
+					.batch(Arrays.asList(user2.getId(), missing, user1.getId()), 2, true);
+			assertEquals(3, results.size());
+			assertEquals(user2.getId(), results.get(0).getId());
+			assertEquals(user2, results.get(0).getEntity());
+			assertEquals(missing, results.get(1).getId());
+			assertFalse(results.get(1).isFound());
+			assertFalse(results.get(1).isFailed());
+			assertEquals(user1, results.get(2).getEntity());
+		} finally {
+			couchbaseTemplate.removeById().all(Arrays.asList(user1.getId(), user2.getId()));
+		}
+	}
+
+	@Test
+	void insertByIdBatch() {
+		User user1 = new User(UUID.randomUUID().toString(), "user1", "user1");
+		User user2 = new User(UUID.randomUUID().toString(), "user2", "user2");
+		couchbaseTemplate.insertById(User.class).one(user2);
+		try {
+			List<MutationResult<User>> results = couchbaseTemplate.insertById(User.class)
+					.batch(Arrays.asList(user1, user2), 2);
+			assertEquals(2, results.size());
+			assertTrue(results.get(0).isSuccessful());
+			assertEquals(user1, results.get(0).getResult());
+			assertFalse(results.get(1).isSuccessful());
+			assertTrue(results.get(1).getError() instanceof DuplicateKeyException);
+		} finally {
+			couchbaseTemplate.removeById().all(Arrays.asList(user1.getId(), user2.getId()));
+		}
+	}
+
 	@Test
 	void upsertAndFindById() {
 		User user = new User(UUID.randomUUID().toString(), "firstname", "lastname");
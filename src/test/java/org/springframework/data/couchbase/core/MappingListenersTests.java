@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.couchbase.core.mapping.event.AbstractCouchbaseEventListener;
+import org.springframework.data.couchbase.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.couchbase.core.mapping.event.BeforeConvertCallback;
+import org.springframework.data.couchbase.core.mapping.event.BeforeConvertEvent;
+import org.springframework.data.couchbase.core.mapping.event.BeforeSaveEvent;
+
+class MappingListenersTests {
+
+	@Test
+	void resolvesListenersPerEventAndDomainTypeOnceRefreshed() {
+		GenericApplicationContext context = new GenericApplicationContext();
+		MappingListeners listeners = new MappingListeners(context);
+		context.registerBean(PersonListener.class);
+		context.registerBean(AfterSaveListener.class);
+
+		assertTrue(listeners.hasListeners(BeforeSaveEvent.class, Airline.class));
+
+		context.refresh();
+
+		assertTrue(listeners.hasListeners(BeforeSaveEvent.class, Person.class));
+		assertFalse(listeners.hasListeners(BeforeSaveEvent.class, Airline.class));
+		assertTrue(listeners.hasListeners(AfterSaveEvent.class, Airline.class));
+		assertFalse(listeners.hasCallbacks(BeforeConvertCallback.class, Person.class));
+	}
+
+	@Test
+	void refreshFindsListenersAddedLater() {
+		GenericApplicationContext context = new GenericApplicationContext();
+		MappingListeners listeners = new MappingListeners(context);
+		context.refresh();
+
+		assertFalse(listeners.hasListeners(BeforeConvertEvent.class, Person.class));
+
+		context.addApplicationListener(new PersonListener());
+		listeners.refresh();
+
+		assertTrue(listeners.hasListeners(BeforeConvertEvent.class, Person.class));
+	}
+
+	@Test
+	void doesNotCreateListenerBeansThatAreNotSingletons() {
+		GenericApplicationContext context = new GenericApplicationContext();
+		MappingListeners listeners = new MappingListeners(context);
+		context.registerBean(PrototypeListener.class, bd -> bd.setScope(BeanDefinition.SCOPE_PROTOTYPE));
+		context.registerBean(SessionListener.class, bd -> bd.setScope("session"));
+		context.refresh();
+		PrototypeListener.created.set(0);
+
+		assertTrue(listeners.hasListeners(BeforeSaveEvent.class, Person.class));
+		assertFalse(listeners.hasListeners(BeforeSaveEvent.class, Airline.class));
+		assertTrue(listeners.hasListeners(AfterSaveEvent.class, Airline.class));
+		assertFalse(listeners.hasListeners(BeforeConvertEvent.class, Airline.class));
+		assertEquals(0, PrototypeListener.created.get());
+	}
+
+	static class Person {}
+
+	static class Airline {}
+
+	static class PersonListener extends AbstractCouchbaseEventListener<Person> {}
+
+	static class PrototypeListener extends AbstractCouchbaseEventListener<Person> {
+
+		static final AtomicInteger created = new AtomicInteger();
+
+		PrototypeListener() {
+			created.incrementAndGet();
+		}
+	}
+
+	static class SessionListener implements ApplicationListener<AfterSaveEvent<?>> {
+
+		@Override
+		public void onApplicationEvent(AfterSaveEvent<?> event) {}
+	}
+
+	static class AfterSaveListener implements ApplicationListener<AfterSaveEvent<?>> {
+
+		@Override
+		public void onApplicationEvent(AfterSaveEvent<?> event) {}
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import reactor.core.publisher.Mono;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.couchbase.core.query.Query;
+
+import com.couchbase.client.core.msg.kv.MutationToken;
+import com.couchbase.client.java.json.JsonObject;
+import com.couchbase.client.java.query.QueryOptions;
+import com.couchbase.client.java.query.QueryScanConsistency;
+
+class MutationSessionTests {
+
+	@Test
+	void bindsSessionToThreadAndReactorContext() {
+		MutationSession session = new MutationSession();
+
+		assertNull(MutationSession.current());
+		assertSame(session, session.execute(MutationSession::current));
+		assertNull(MutationSession.current());
+		assertSame(session, Mono.deferContextual(ctx -> Mono.justOrEmpty(MutationSession.current(ctx)))
+				.contextWrite(session::putIn).block());
+	}
+
+	@Test
+	void queriesWaitForRecordedMutationsUnlessRequestPlus() {
+		MutationSession session = new MutationSession();
+		assertTrue(session.isEmpty());
+		session.record(new MutationToken((short) 12, 34, 56, "travel-sample"));
+		assertFalse(session.isEmpty());
+
+		JsonObject atPlus = params(new Query().buildQueryOptions(null, QueryScanConsistency.NOT_BOUNDED,
+				session.getMutationState()));
+		assertEquals("at_plus", atPlus.getString("scan_consistency"));
+		assertEquals(56L, atPlus.getObject("scan_vectors").getObject("travel-sample").getArray("12").getLong(0));
+
+		JsonObject requestPlus = params(new Query().buildQueryOptions(null, QueryScanConsistency.REQUEST_PLUS,
+				session.getMutationState()));
+		assertEquals("request_plus", requestPlus.getString("scan_consistency"));
+	}
+
+	private static JsonObject params(QueryOptions options) {
+		JsonObject params = JsonObject.create();
+		options.build().injectParams(params);
+		return params;
+	}
+
+}
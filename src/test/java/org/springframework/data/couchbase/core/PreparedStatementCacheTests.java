@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.couchbase.client.java.query.QueryOptions;
+
+class PreparedStatementCacheTests {
+
+	@Test
+	void preparesRepeatedStatements() {
+		PreparedStatementCache cache = new PreparedStatementCache(2);
+
+		assertTrue(isAdhoc(cache.prepareIfRepeated("SELECT 1", QueryOptions.queryOptions())));
+		assertFalse(isAdhoc(cache.prepareIfRepeated("SELECT 1", QueryOptions.queryOptions())));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	void forgetsLeastRecentlyUsedStatement() {
+		PreparedStatementCache cache = new PreparedStatementCache(2);
+		cache.prepareIfRepeated("SELECT 1", QueryOptions.queryOptions());
+		cache.prepareIfRepeated("SELECT 2", QueryOptions.queryOptions());
+		cache.prepareIfRepeated("SELECT 1", QueryOptions.queryOptions());
+		cache.prepareIfRepeated("SELECT 3", QueryOptions.queryOptions());
+
+		assertEquals(2, cache.size());
+		assertFalse(isAdhoc(cache.prepareIfRepeated("SELECT 1", QueryOptions.queryOptions())));
+		assertTrue(isAdhoc(cache.prepareIfRepeated("SELECT 2", QueryOptions.queryOptions())));
+	}
+
+	private static boolean isAdhoc(QueryOptions options) {
+		return (Boolean) ReflectionTestUtils.getField(options, "adhoc");
+	}
+
+}
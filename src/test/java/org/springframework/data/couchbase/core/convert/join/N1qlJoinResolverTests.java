@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core.convert.join;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.couchbase.CouchbaseClientFactory;
+import org.springframework.data.couchbase.core.ReactiveCouchbaseTemplate;
+import org.springframework.data.couchbase.core.convert.MappingCouchbaseConverter;
+import org.springframework.data.couchbase.core.mapping.CouchbaseMappingContext;
+import org.springframework.data.couchbase.core.query.FetchType;
+import org.springframework.data.couchbase.core.query.HashSide;
+import org.springframework.data.couchbase.core.query.N1qlJoin;
+import org.springframework.data.couchbase.domain.Address;
+import org.springframework.data.couchbase.domain.UserSubmission;
+import org.springframework.data.util.ClassTypeInformation;
+
+class N1qlJoinResolverTests {
+
+	ReactiveCouchbaseTemplate template;
+
+	@BeforeEach
+	void beforeEach() {
+		CouchbaseMappingContext context = new CouchbaseMappingContext();
+		MappingCouchbaseConverter converter = new MappingCouchbaseConverter(context);
+		CouchbaseClientFactory clientFactory = (CouchbaseClientFactory) Proxy.newProxyInstance(
+				getClass().getClassLoader(), new Class[] { CouchbaseClientFactory.class }, (proxy, method, args) -> null);
+		template = new ReactiveCouchbaseTemplate(clientFactory, converter) {
+			@Override
+			public String getBucketName() {
+				return "travel-sample";
+			}
+		};
+	}
+
+	@Test
+	void buildsOneStatementForAllIdsOfABatch() throws Exception {
+		String statement = N1qlJoinResolver.buildQuery(template, null, parameters("otherAddresses", "user1"));
+		assertEquals("SELECT META(lks).id AS __lks_id, META(rks).id AS __id, META(rks).cas AS __cas, (rks).*  "
+				+ "FROM `travel-sample` lks JOIN `travel-sample` rks ON meta(lks).id=rks.parentId AND lks.`_class` = \"user\" "
+				+ "AND rks.`_class` = \"org.springframework.data.couchbase.domain.Address\" WHERE META(lks).id IN $ids",
+				statement);
+		assertSame(statement, N1qlJoinResolver.buildQuery(template, null, parameters("otherAddresses", "user2")));
+	}
+
+	@Test
+	void appliesJoinHints() throws Exception {
+		String statement = N1qlJoinResolver.buildQuery(template, null, parameters("hinted", "user1"));
+		assertEquals("SELECT META(lks).id AS __lks_id, META(rks).id AS __id, META(rks).cas AS __cas, (rks).*  "
+				+ "FROM `travel-sample` lks USE INDEX(lks_idx) JOIN `travel-sample` rks USE INDEX(rks_idx) HASH(build) "
+				+ "ON meta(lks).id=rks.parentId AND lks.`_class` = \"user\" "
+				+ "AND rks.`_class` = \"org.springframework.data.couchbase.domain.Address\" "
+				+ "WHERE META(lks).id IN $ids AND rks.city = \"Paris\"", statement);
+	}
+
+	@Test
+	void leavesEntitiesWithoutEagerJoinsUntouched() {
+		Flux<Address> addresses = Flux.just(new Address());
+		assertSame(addresses, N1qlJoinResolver.resolveEager(template, Address.class, addresses));
+	}
+
+	private static N1qlJoinResolver.N1qlJoinResolverParameters parameters(String field, String lksId)
+			throws NoSuchFieldException {
+		N1qlJoin definition = Joins.class.getDeclaredField(field).getAnnotation(N1qlJoin.class);
+		return new N1qlJoinResolver.N1qlJoinResolverParameters(definition, lksId,
+				ClassTypeInformation.from(UserSubmission.class), ClassTypeInformation.from(Address.class));
+	}
+
+	static class Joins {
+		@N1qlJoin(on = "meta(lks).id=rks.parentId", fetchType = FetchType.IMMEDIATE) List<Address> otherAddresses;
+		@N1qlJoin(on = "meta(lks).id=rks.parentId", where = "rks.city = \"Paris\"", index = "lks_idx",
+				rightIndex = "rks_idx", hashside = HashSide.BUILD) List<Address> hinted;
+	}
+
+}
@@ -18,9 +18,14 @@ package org.springframework.data.couchbase.core.convert.translation;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.couchbase.core.mapping.CouchbaseDocument;
+import org.springframework.data.couchbase.core.mapping.CouchbaseList;
 
 /**
  * Verifies the functionality of a {@link JacksonTranslationService}.
@@ -45,6 +50,42 @@ public class JacksonTranslationServiceTests {
 		assertEquals(expected, service.encode(doc));
 	}
 
+	@Test
+	void shouldEncodeToBytes() {
+		CouchbaseDocument doc = new CouchbaseDocument("key");
+		doc.put("language", "русский");
+		doc.put("tags", new CouchbaseList().put("a").put(new CouchbaseDocument().put("b", 1)));
+		String expected = "{\"language\":\"русский\",\"tags\":[\"a\",{\"b\":1}]}";
+		assertEquals(expected, service.encode(doc));
+		assertEquals(expected, new String(service.encodeToBytes(doc), StandardCharsets.UTF_8));
+		assertEquals(expected, new String(service.encodeToBytes(doc), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void shouldEncodeSimpleValuesWithoutGeneratorMethod() {
+		CouchbaseDocument doc = new CouchbaseDocument("key");
+		doc.put("grade", 'A');
+		doc.put("loc", Locale.US);
+		doc.put("unit", TimeUnit.SECONDS);
+		String expected = "{\"grade\":\"A\",\"loc\":\"en_US\",\"unit\":\"SECONDS\"}";
+		assertEquals(expected, service.encode(doc));
+		assertEquals(expected, new String(service.encodeToBytes(doc), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void shouldEncodeWithoutAfterPropertiesSet() {
+		TranslationService uninitialized = new JacksonTranslationService();
+		CouchbaseDocument doc = new CouchbaseDocument("key");
+		doc.put("grade", 'A');
+		doc.put("tags", new CouchbaseList().put(TimeUnit.SECONDS).put(new CouchbaseDocument().put("b", 'B')));
+		doc.put("nested", new CouchbaseDocument().put("loc", Locale.US).put("unit", TimeUnit.DAYS));
+		String expected = "{\"grade\":\"A\",\"tags\":[\"SECONDS\",{\"b\":\"B\"}],"
+				+ "\"nested\":{\"loc\":\"en_US\",\"unit\":\"DAYS\"}}";
+		assertEquals(expected, uninitialized.encode(doc));
+		assertEquals(expected, new String(uninitialized.encodeToBytes(doc), StandardCharsets.UTF_8));
+		assertEquals("french", uninitialized.decodeFragment("{\"language\":\"french\"}", LanguageFragment.class).language);
+	}
+
 	@Test
 	void shouldDecodeNonASCII() {
 		String source = "{\"language\":\"русский\"}";
@@ -53,6 +94,15 @@ public class JacksonTranslationServiceTests {
 		assertEquals("русский", target.get("language"));
 	}
 
+	@Test
+	void shouldDecodeNonASCIIBytes() {
+		byte[] source = "{\"language\":\"русский\",\"tags\":[\"a\",{\"b\":1}]}".getBytes(StandardCharsets.UTF_8);
+		CouchbaseDocument target = new CouchbaseDocument();
+		service.decode(source, target);
+		assertEquals("русский", target.get("language"));
+		assertEquals(2, ((CouchbaseList) target.get("tags")).size());
+	}
+
 	@Test
 	void shouldDecodeAdHocFragment() {
 		String source = "{\"language\":\"french\"}";
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.couchbase.core.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class CouchbaseDocumentTests {
+
+	@Test
+	void keepsInsertionOrder() {
+		CouchbaseDocument doc = new CouchbaseDocument("key");
+		doc.put("zebra", 1).put("apple", 2).put("mango", 3).put("apple", 4);
+
+		assertThat(doc.getContent().keySet()).containsExactly("zebra", "apple", "mango");
+		assertEquals(4, doc.get("apple"));
+		assertThat(doc.export().keySet()).containsExactly("apple", "mango", "zebra");
+	}
+
+	@Test
+	void supportsLookupAndRemovalBeyondIndexThreshold() {
+		CouchbaseDocument doc = new CouchbaseDocument();
+		int fields = CouchbaseFieldMap.INDEX_THRESHOLD * 3;
+		for (int i = 0; i < fields; i++) {
+			doc.put("field" + i, i);
+		}
+		assertEquals(fields, doc.size());
+		assertEquals(17, doc.get("field17"));
+
+		Iterator<Map.Entry<String, Object>> entries = doc.getContent().entrySet().iterator();
+		while (entries.hasNext()) {
+			if ((Integer) entries.next().getValue() % 2 == 0) {
+				entries.remove();
+			}
+		}
+		assertEquals(fields / 2, doc.size());
+		assertFalse(doc.containsKey("field2"));
+		assertEquals(17, doc.get("field17"));
+		assertEquals(3, doc.getContent().remove("field3"));
+		assertNull(doc.get("field3"));
+		assertEquals(19, doc.get("field19"));
+	}
+
+	@Test
+	void exportViewDoesNotCopy() {
+		CouchbaseDocument nested = new CouchbaseDocument().put("city", "Vienna");
+		CouchbaseList list = new CouchbaseList().put("a").put(new CouchbaseDocument().put("b", true));
+		CouchbaseDocument doc = new CouchbaseDocument("key").put("address", nested).put("tags", list);
+
+		Map<String, Object> view = doc.exportView();
+		nested.put("zip", "1010");
+
+		assertEquals(doc.export(), view);
+		assertEquals("1010", ((Map<?, ?>) view.get("address")).get("zip"));
+		List<Object> tags = new ArrayList<>((List<?>) view.get("tags"));
+		assertEquals(true, ((Map<?, ?>) tags.get(1)).get("b"));
+		assertThrows(UnsupportedOperationException.class, () -> view.put("other", 1));
+	}
+
+}
@@ -26,6 +26,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.TypeAlias;
@@ -41,6 +42,7 @@ import org.springframework.data.couchbase.domain.Config;
 import org.springframework.data.couchbase.domain.Person;
 import org.springframework.data.couchbase.domain.User;
 import org.springframework.data.mapping.MappingException;
+import org.springframework.mock.env.MockEnvironment;
 
 /**
  * @author Michael Nitschinger
@@ -126,6 +128,49 @@ public class MappingCouchbaseConverterTests {
 		assertThat(converted.attr0).isEqualTo("foobar");
 	}
 
+	@Test
+	void readsPropertiesWithoutSpel() {
+		CouchbaseDocument source = new CouchbaseDocument("mockid");
+		source.put("attr0", "foobar");
+		source.put("attr1", 42);
+
+		SettableEntity converted = converter.read(SettableEntity.class, source);
+		assertThat(converted.attr0).isEqualTo("foobar");
+		assertThat(converted.attr1).isEqualTo(42);
+	}
+
+	@Test
+	void readsPropertiesWithSpel() {
+		CouchbaseDocument source = new CouchbaseDocument("mockid");
+		source.put("attr0", "foobar");
+		source.put("attr1", 42);
+
+		SpelEntity converted = converter.read(SpelEntity.class, source);
+		assertThat(converted.attr0).isEqualTo("foobar");
+		assertThat(converted.copy).isEqualTo("foobar");
+		assertThat(converted.attr1).isEqualTo(42);
+	}
+
+	@Test
+	void readsPropertiesThroughOverriddenGetValueInternal() {
+		MappingCouchbaseConverter overriding = new MappingCouchbaseConverter() {
+			@Override
+			protected Object getValueInternal(CouchbasePersistentProperty property, CouchbaseDocument source,
+					Object parent, org.springframework.data.mapping.PersistentEntity entity) {
+				Object value = super.getValueInternal(property, source, parent, entity);
+				return value instanceof String ? value + "!" : value;
+			}
+		};
+		overriding.afterPropertiesSet();
+		CouchbaseDocument source = new CouchbaseDocument("mockid");
+		source.put("attr0", "foobar");
+		source.put("attr1", 42);
+
+		SettableEntity converted = overriding.read(SettableEntity.class, source);
+		assertThat(converted.attr0).isEqualTo("foobar!");
+		assertThat(converted.attr1).isEqualTo(42);
+	}
+
 	@Test
 	void writesNumber() {
 		CouchbaseDocument converted = new CouchbaseDocument();
@@ -676,6 +721,22 @@ public class MappingCouchbaseConverterTests {
 		}
 	}
 
+	static class SettableEntity extends BaseEntity {
+		private String attr0;
+		private int attr1;
+	}
+
+	static class SpelEntity extends BaseEntity {
+		private final String attr0;
+		private final String copy;
+		private int attr1;
+
+		SpelEntity(String attr0, @Value("#root.get('attr0')") String copy) {
+			this.attr0 = attr0;
+			this.copy = copy;
+		}
+	}
+
 	static class NumberEntity extends BaseEntity {
 		private long attr0;
 
@@ -834,6 +895,12 @@ public class MappingCouchbaseConverterTests {
 		}
 	}
 
+	@Document(expiryExpression = "${entity.expiry}")
+	static class ExpiryExpressionEntity extends BaseEntity {}
+
+	@Document(expiry = 30)
+	static class ExpiryEntity extends BaseEntity {}
+
 	static class DateEntity extends BaseEntity {
 		private Date created;
 		private Calendar modified;
@@ -984,6 +1051,70 @@ public class MappingCouchbaseConverterTests {
 		assertThat(converted.getId()).isEqualTo(entity.prefix1 + '.' + entity.someId + '.' + entity.suffix);
 	}
 
+	@Test
+	void idPartsAreNotCarriedOverToTheNextWrite() {
+		class Entity {
+			@GeneratedValue(strategy = GenerationStrategy.USE_ATTRIBUTES) @Id public String id;
+			@IdAttribute(order = 1) public String someId;
+			@IdAttribute(order = 2) public String otherId;
+			@IdPrefix public String prefix;
+		}
+		Entity first = new Entity();
+		first.someId = "abc";
+		first.otherId = "def";
+		first.prefix = "111";
+		Entity second = new Entity();
+		second.otherId = "ghi";
+		converter.write(first, new CouchbaseDocument());
+		CouchbaseDocument converted = new CouchbaseDocument();
+		converter.write(second, converted);
+		assertThat(first.id).isEqualTo("111.abc.def");
+		assertThat(converted.getId()).isEqualTo("ghi");
+		assertThat(converted.containsKey("prefix")).isFalse();
+	}
+
+	@Test
+	void idIsGeneratedUniqueBetweenPrefixAndSuffix() {
+		class Entity {
+			@GeneratedValue(strategy = GenerationStrategy.UNIQUE, delimiter = "::") @Id public String id;
+			@IdAttribute public String someId = "abc";
+			@IdPrefix public String prefix = "111";
+			@IdSuffix public String suffix = "999";
+		}
+		Entity first = new Entity();
+		Entity second = new Entity();
+		converter.write(first, new CouchbaseDocument());
+		converter.write(second, new CouchbaseDocument());
+		assertThat(first.id).matches("111::[0-9a-f-]{36}::999");
+		assertThat(second.id).matches("111::[0-9a-f-]{36}::999").isNotEqualTo(first.id);
+	}
+
+	@Test
+	void resolvesExpiryExpressionForEveryWrite() {
+		MappingCouchbaseConverter converter = new MappingCouchbaseConverter();
+		converter.afterPropertiesSet();
+		MockEnvironment environment = new MockEnvironment().withProperty("entity.expiry", "10");
+		((BasicCouchbasePersistentEntity<?>) converter.getMappingContext()
+				.getRequiredPersistentEntity(ExpiryExpressionEntity.class)).setEnvironment(environment);
+
+		CouchbaseDocument converted = new CouchbaseDocument();
+		converter.write(new ExpiryExpressionEntity(), converted);
+		assertThat(converted.getExpiration()).isEqualTo(10);
+
+		environment.setProperty("entity.expiry", "20");
+		converted = new CouchbaseDocument();
+		converter.write(new ExpiryExpressionEntity(), converted);
+		assertThat(converted.getExpiration()).isEqualTo(20);
+	}
+
+	@Test
+	void writesConstantExpiry() {
+		CouchbaseDocument converted = new CouchbaseDocument();
+		converter.write(new ExpiryEntity(), converted);
+		converter.write(new ExpiryEntity(), converted);
+		assertThat(converted.getExpiration()).isEqualTo(30);
+	}
+
 	@Test
 	void idHasIdFieldOnly() {
 		class Entity {
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class KeysetPageRequestTests {
+
+	Sort sort = Sort.by("lastname");
+	KeysetPageRequest first = KeysetPageRequest.of(10, sort);
+	KeysetPageRequest after = KeysetPageRequest.of(10, sort, KeysetPosition.of("u1", "Twist"));
+
+	@Test
+	void staysOnTheFirstPage() {
+		assertSame(after, after.previous());
+		assertSame(after, after.previousOrFirst());
+		assertSame(after, after.withPage(0));
+		assertNull(after.first().getPosition());
+	}
+
+	@Test
+	void onlyMovesForward() {
+		KeysetPageRequest second = new KeysetPageRequest(1, 10, sort, KeysetPosition.of("u2", "Zhang"), null, false);
+
+		assertThrows(UnsupportedOperationException.class, second::previous);
+		assertThrows(UnsupportedOperationException.class, second::previousOrFirst);
+		assertThrows(UnsupportedOperationException.class, () -> second.withPage(2));
+		assertThrows(UnsupportedOperationException.class, () -> second.withSort(Sort.by("firstname")));
+		assertEquals(first, second.withPage(0));
+	}
+
+	@Test
+	void changesTheSortOfTheFirstPage() {
+		KeysetPageRequest sorted = first.withCount().withSort(Sort.Direction.DESC, "firstname");
+
+		assertEquals(Sort.by(Sort.Direction.DESC, "firstname"), sorted.getSort());
+		assertTrue(sorted.isCounted());
+		assertThrows(UnsupportedOperationException.class, () -> after.withSort(Sort.by("firstname")));
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.couchbase.core.mapping.CouchbaseDocument;
+
+import com.couchbase.client.core.msg.kv.DurabilityLevel;
+import com.couchbase.client.java.codec.JsonSerializer;
+import com.couchbase.client.java.codec.RawJsonTranscoder;
+import com.couchbase.client.java.codec.SerializableTranscoder;
+import com.couchbase.client.java.codec.TypeRef;
+import com.couchbase.client.java.env.ClusterEnvironment;
+import com.couchbase.client.java.kv.GetOptions;
+import com.couchbase.client.java.kv.PersistTo;
+import com.couchbase.client.java.kv.ReplicateTo;
+import com.couchbase.client.java.kv.UpsertOptions;
+
+class OptionsBuilderTests {
+
+	@Test
+	void buildsWriteOptionsOnACopy() {
+		UpsertOptions options = UpsertOptions.upsertOptions().timeout(Duration.ofSeconds(3));
+		CouchbaseDocument doc = new CouchbaseDocument("id");
+		doc.setExpiration(10);
+
+		UpsertOptions built = OptionsBuilder.buildUpsertOptions(options, PersistTo.NONE, ReplicateTo.NONE,
+				DurabilityLevel.MAJORITY, null, doc);
+		built.transcoder(RawJsonTranscoder.INSTANCE);
+
+		assertNotSame(options, built);
+		assertEquals(Optional.of(Duration.ofSeconds(3)), built.build().timeout());
+		assertEquals(Optional.of(DurabilityLevel.MAJORITY), built.build().durabilityLevel());
+		assertEquals(Optional.empty(), options.build().durabilityLevel());
+		assertNull(options.build().transcoder());
+		assertEquals(options.build().expiry().toString(), UpsertOptions.upsertOptions().build().expiry().toString());
+	}
+
+	@Test
+	void copiesOptionsWithTheirCollections() {
+		GetOptions options = GetOptions.getOptions().project("name").timeout(Duration.ofSeconds(3));
+
+		GetOptions copy = OptionsBuilder.copyOf(options);
+		copy.project("city").timeout(Duration.ofSeconds(5));
+
+		assertNotSame(options, copy);
+		assertEquals(Arrays.asList("name"), options.build().projections());
+		assertEquals(Optional.of(Duration.ofSeconds(3)), options.build().timeout());
+		assertEquals(Arrays.asList("name", "city"), copy.build().projections());
+		assertNull(OptionsBuilder.copyOf(null));
+	}
+
+	@Test
+	void writesRawJsonWithTheSerializersOfTheSdkOnly() {
+		ClusterEnvironment defaults = ClusterEnvironment.create();
+		ClusterEnvironment custom = ClusterEnvironment.builder().jsonSerializer(new UpperCaseSerializer()).build();
+		try {
+			assertTrue(OptionsBuilder.writesRawJson(null, defaults));
+			assertTrue(OptionsBuilder.writesRawJson(RawJsonTranscoder.INSTANCE, defaults));
+			assertFalse(OptionsBuilder.writesRawJson(SerializableTranscoder.INSTANCE, defaults));
+			assertFalse(OptionsBuilder.writesRawJson(null, custom));
+			assertTrue(OptionsBuilder.writesRawJson(RawJsonTranscoder.INSTANCE, custom));
+		} finally {
+			defaults.shutdown();
+			custom.shutdown();
+		}
+	}
+
+	static class UpperCaseSerializer implements JsonSerializer {
+
+		@Override
+		public byte[] serialize(Object input) {
+			return input.toString().toUpperCase().getBytes();
+		}
+
+		@Override
+		public <T> T deserialize(Class<T> target, byte[] input) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public <T> T deserialize(TypeRef<T> target, byte[] input) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+}
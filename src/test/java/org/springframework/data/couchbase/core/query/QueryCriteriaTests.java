@@ -27,6 +27,7 @@ import static org.springframework.data.couchbase.repository.query.support.N1qlUt
 import org.junit.jupiter.api.Test;
 
 import com.couchbase.client.java.json.JsonArray;
+import com.couchbase.client.java.json.JsonObject;
 
 import java.util.Arrays;
 
@@ -89,6 +90,17 @@ class QueryCriteriaTests {
 				+ "(not( (`state` in ( [\"Alabama\",\"Florida\"] )) ))", c.export());
 	}
 
+	@Test
+	void testBindParametersInExportOrder() {
+		QueryCriteria c = where(i("name")).is("Bubba").or(where(i("age")).gt(12).or(i("country")).is("Austria"))
+				.and(where(i("state")).notIn(new String[] { "Alabama", "Florida" }));
+		JsonArray exported = JsonArray.create();
+		c.export(new int[1], exported, null);
+		JsonArray bound = JsonArray.create();
+		c.bindParameters(bound, null);
+		assertEquals(exported, bound);
+	}
+
 	@Test
 	void testLt() {
 		QueryCriteria c = where(i("name")).lt("Couch");
@@ -221,6 +233,22 @@ class QueryCriteriaTests {
 		assertEquals("`name` between \"Davis\" and \"Gump\"", c.export());
 	}
 
+	@Test
+	void testBetweenAndStartingWithParameters() {
+		QueryCriteria c = where(i("name")).between("Davis", "Gump").and(i("city")).startingWith("Cou");
+		JsonArray parameters = JsonArray.create();
+		assertEquals("`name` between $1 and $2 and `city` like ($3||\"%\")", c.export(new int[1], parameters, null));
+		assertEquals("[\"Davis\",\"Gump\",\"Cou\"]", parameters.toString());
+	}
+
+	@Test
+	void testBetweenWithNamedParameters() {
+		QueryCriteria c = where(i("age")).between(10, 20).and(i("name")).is("Gump");
+		JsonObject parameters = JsonObject.create().put("p1", "taken");
+		assertEquals("`age` between $p2 and $p3 and `name` = $p4", c.export(new int[] { -1 }, parameters, null));
+		assertEquals(JsonObject.create().put("p1", "taken").put("p2", 10).put("p3", 20).put("p4", "Gump"), parameters);
+	}
+
 	@Test
 	void testIn() {
 		String[] args = new String[] { "gump", "davis" };
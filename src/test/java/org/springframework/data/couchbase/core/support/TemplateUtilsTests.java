@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.core.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.couchbase.core.convert.translation.JacksonTranslationService;
+import org.springframework.data.couchbase.core.mapping.CouchbaseDocument;
+import org.springframework.data.couchbase.core.mapping.CouchbaseMappingContext;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
+import org.springframework.data.couchbase.domain.User;
+
+import com.couchbase.client.core.error.CouchbaseException;
+
+class TemplateUtilsTests {
+
+	private static JacksonTranslationService translationService;
+	private static CouchbasePersistentEntity<?> user;
+
+	@BeforeAll
+	static void beforeAll() {
+		translationService = new JacksonTranslationService();
+		translationService.afterPropertiesSet();
+		user = new CouchbaseMappingContext().getRequiredPersistentEntity(User.class);
+	}
+
+	@Test
+	void decodesRowWithMeta() {
+		CouchbaseDocument document = new CouchbaseDocument();
+		long cas = TemplateUtils.decodeRow(translationService,
+				bytes("{\"__id\":\"user1\",\"__cas\":42,\"firstname\":\"Dave\"}"), true, "SELECT", user, document);
+
+		assertEquals(42, cas);
+		assertEquals("user1", document.getId());
+		assertEquals("Dave", document.get("firstname"));
+		assertEquals(42L, ((Number) document.get("version")).longValue());
+		assertFalse(document.containsKey("__id"));
+		assertFalse(document.containsKey("__cas"));
+	}
+
+	@Test
+	void decodesRowWithoutMeta() {
+		CouchbaseDocument document = new CouchbaseDocument();
+		long cas = TemplateUtils.decodeRow(translationService, bytes("{\"firstname\":\"Dave\"}"), false, "SELECT", user,
+				document);
+
+		assertEquals(0, cas);
+		assertEquals("", document.getId());
+		assertFalse(document.containsKey("version"));
+	}
+
+	@Test
+	void rejectsRowWithoutCas() {
+		CouchbaseException ex = assertThrows(CouchbaseException.class, () -> TemplateUtils.decodeRow(translationService,
+				bytes("{\"__id\":\"user1\"}"), true, "SELECT firstname", user, new CouchbaseDocument()));
+		assertEquals("query did not project __cas. Either use #{#n1ql.selectEntity} or project __id and __cas : "
+				+ "SELECT firstname", ex.getMessage());
+	}
+
+	@Test
+	void rejectsAnalyticsRowWithoutId() {
+		CouchbaseException ex = assertThrows(CouchbaseException.class, () -> TemplateUtils.decodeAnalyticsRow(
+				translationService, bytes("{\"__cas\":42}"), "SELECT firstname", user, new CouchbaseDocument()));
+		assertEquals("analytics query did not project __id. Either use #{#n1ql.selectEntity} or project __id and __cas : "
+				+ "SELECT firstname", ex.getMessage());
+	}
+
+	private static byte[] bytes(String json) {
+		return json.getBytes(StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.couchbase.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.couchbase.config.AbstractCouchbaseConfiguration;
+import org.springframework.data.couchbase.core.CouchbaseTemplate;
+import org.springframework.data.couchbase.domain.ReactiveUserRepository;
+import org.springframework.data.couchbase.domain.User;
+import org.springframework.data.couchbase.domain.UserRepository;
+import org.springframework.data.couchbase.repository.config.EnableCouchbaseRepositories;
+import org.springframework.data.couchbase.repository.config.EnableReactiveCouchbaseRepositories;
+import org.springframework.data.couchbase.util.ClusterAwareIntegrationTests;
+import org.springframework.data.couchbase.util.ClusterType;
+import org.springframework.data.couchbase.util.IgnoreWhen;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/**
+ * Throughput of the blocking repository API with one virtual thread per request, compared with the reactive repository
+ * API blocked on a pool of platform threads. A benchmark rather than a functional test, tagged {@code benchmark} and
+ * so left out of the integration tests unless run with {@code -Dfailsafe.excludedGroups=}. Skipped on JVMs without
+ * virtual threads.
+ */
+@SpringJUnitConfig(CouchbaseRepositoryVirtualThreadsIntegrationTests.Config.class)
+@IgnoreWhen(clusterTypes = ClusterType.MOCKED)
+@Tag("benchmark")
+public class CouchbaseRepositoryVirtualThreadsIntegrationTests extends ClusterAwareIntegrationTests {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CouchbaseRepositoryVirtualThreadsIntegrationTests.class);
+
+	private static final int REQUESTS = 10_000;
+
+	private static final int PLATFORM_THREADS = 200;
+
+	@Autowired UserRepository userRepository;
+	@Autowired ReactiveUserRepository reactiveUserRepository;
+	@Autowired CouchbaseTemplate couchbaseTemplate;
+
+	@Test
+	void saveAndFindByIdOnVirtualThreads() throws Exception {
+		ExecutorService virtualThreads = newVirtualThreadPerTaskExecutor();
+		assumeTrue(virtualThreads != null, "virtual threads are not available on this JVM");
+
+		long baselineMillis = run("block() on " + PLATFORM_THREADS + " platform threads",
+				Executors.newFixedThreadPool(PLATFORM_THREADS), id -> {
+					reactiveUserRepository.save(new User(id, "f", "l")).block();
+					return reactiveUserRepository.findById(id).block() != null;
+				});
+		long virtualMillis = run(REQUESTS + " virtual threads", virtualThreads, id -> {
+			userRepository.save(new User(id, "f", "l"));
+			return userRepository.findById(id).isPresent();
+		});
+
+		LOG.info("virtual threads took {} ms, block() on platform threads {} ms", virtualMillis, baselineMillis);
+	}
+
+	/**
+	 * Runs {@link #REQUESTS} save + findById round trips on the executor, one task per request.
+	 *
+	 * @return the elapsed time in milliseconds.
+	 */
+	private long run(String name, ExecutorService executor, Predicate<String> saveAndFind) throws Exception {
+		String run = UUID.randomUUID().toString();
+		List<String> ids = new ArrayList<>(REQUESTS);
+		AtomicInteger found = new AtomicInteger();
+		long start = System.nanoTime();
+		try {
+			List<Future<?>> tasks = new ArrayList<>(REQUESTS);
+			for (int i = 0; i < REQUESTS; i++) {
+				String id = run + "-" + i;
+				ids.add(id);
+				tasks.add(executor.submit(() -> {
+					if (saveAndFind.test(id)) {
+						found.incrementAndGet();
+					}
+				}));
+			}
+			for (Future<?> task : tasks) {
+				task.get(5, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdown();
+		}
+		long elapsedMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1);
+
+		LOG.info("{}: {} save + findById in {} ms, {} round trips/s", name, REQUESTS, elapsedMillis,
+				2L * REQUESTS * 1000 / elapsedMillis);
+		assertEquals(REQUESTS, found.get());
+
+		couchbaseTemplate.removeById(User.class).all(ids);
+		return elapsedMillis;
+	}
+
+	private static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException ex) {
+			return null;
+		}
+	}
+
+	@Configuration
+	@EnableCouchbaseRepositories("org.springframework.data.couchbase")
+	@EnableReactiveCouchbaseRepositories("org.springframework.data.couchbase")
+	static class Config extends AbstractCouchbaseConfiguration {
+
+		@Override
+		public String getConnectionString() {
+			return connectionString();
+		}
+
+		@Override
+		public String getUserName() {
+			return config().adminUsername();
+		}
+
+		@Override
+		public String getPassword() {
+			return config().adminPassword();
+		}
+
+		@Override
+		public String getBucketName() {
+			return bucketName();
+		}
+
+	}
+
+}
@@ -16,8 +16,11 @@
 package org.springframework.data.couchbase.repository.query;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.springframework.data.couchbase.config.BeanNames.COUCHBASE_TEMPLATE;
+import static org.springframework.data.couchbase.core.query.N1QLExpression.i;
 
 import java.lang.reflect.Method;
 import java.util.Properties;
@@ -34,11 +37,16 @@ import org.springframework.data.couchbase.core.convert.MappingCouchbaseConverter
 import org.springframework.data.couchbase.core.mapping.CouchbaseMappingContext;
 import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
 import org.springframework.data.couchbase.core.mapping.CouchbasePersistentProperty;
+import org.springframework.data.couchbase.core.query.KeysetPageRequest;
+import org.springframework.data.couchbase.core.query.KeysetPosition;
+import org.springframework.data.couchbase.core.query.N1qlStatementCache;
 import org.springframework.data.couchbase.core.query.Query;
+import org.springframework.data.couchbase.core.query.QueryCriteria;
 import org.springframework.data.couchbase.domain.User;
 import org.springframework.data.couchbase.domain.UserRepository;
 import org.springframework.data.couchbase.repository.config.EnableCouchbaseRepositories;
 import org.springframework.data.couchbase.util.ClusterAwareIntegrationTests;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.data.repository.core.NamedQueries;
@@ -48,9 +56,14 @@ import org.springframework.data.repository.query.DefaultParameters;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
+import org.springframework.data.repository.query.parser.PartTree;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
+import com.couchbase.client.java.json.JsonArray;
+import com.couchbase.client.java.json.JsonObject;
+
 /**
  * @author Michael Nitschinger
  * @author Michael Reiche
@@ -145,6 +158,48 @@ class StringN1qlQueryCreatorMockedTests extends ClusterAwareIntegrationTests {
 		fail("should have failed with IllegalArgumentException: query has no inline Query or named Query not found");
 	}
 
+	@Test
+	void reusesCachedStatementOfDerivedQuery() throws Exception {
+		String input = "findByFirstname";
+		PartTree tree = new PartTree(input, User.class);
+		Method method = UserRepository.class.getMethod(input, String.class);
+		QueryMethod queryMethod = new QueryMethod(method, new DefaultRepositoryMetadata(UserRepository.class),
+				new SpelAwareProxyProjectionFactory());
+		N1qlStatementCache statements = new N1qlStatementCache();
+
+		Query first = new N1qlQueryCreator(tree, getAccessor(getParameters(method), "Oliver"), queryMethod, converter,
+				"travel-sample").createQuery().cacheStatementsIn(statements).limit(10);
+		Query second = new N1qlQueryCreator(tree, getAccessor(getParameters(method), "Charles"), queryMethod, converter,
+				"travel-sample").createQuery().cacheStatementsIn(statements).limit(20);
+		String statement = first.toN1qlSelectString(couchbaseTemplate.reactive(), User.class, false);
+
+		assertSame(statement, second.toN1qlSelectString(couchbaseTemplate.reactive(), User.class, false));
+		assertEquals(1, statements.size());
+		assertEquals(JsonArray.from("Oliver", 10), args(first));
+		assertEquals(JsonArray.from("Charles", 20), args(second));
+		assertFalse(second.isAdhoc());
+	}
+
+	private static JsonArray args(Query query) {
+		JsonObject params = JsonObject.create();
+		query.buildQueryOptions(null, null).build().injectParams(params);
+		return params.getArray("args");
+	}
+
+	@Test
+	void seeksKeysetPosition() {
+		Query query = new Query(QueryCriteria.where(i("firstname")).is("Oliver"))
+				.with(KeysetPageRequest.of(10, Sort.by(Sort.Direction.DESC, "lastname"), KeysetPosition.of("u1", "Twist")));
+
+		String b = "`" + bucketName() + "`";
+		assertEquals("SELECT META(" + b + ").id AS __id, META(" + b + ").cas AS __cas, " + b + ".* FROM " + b
+				+ " WHERE `_class` = \"org.springframework.data.couchbase.domain.User\" AND `firstname` = $1"
+				+ " AND ((lastname < $2) OR (lastname = $2 AND META(" + b + ").id > $3))"
+				+ " ORDER BY lastname DESC,META(" + b + ").id ASC LIMIT 10",
+				query.toN1qlSelectString(couchbaseTemplate.reactive(), User.class, false));
+		assertEquals(JsonArray.from("Oliver", "Twist", "u1"), args(query));
+	}
+
 	private ParameterAccessor getAccessor(Parameters<?, ?> params, Object... values) {
 		return new ParametersParameterAccessor(params, values);
 	}
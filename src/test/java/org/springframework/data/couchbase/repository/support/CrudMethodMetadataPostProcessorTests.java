@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.repository.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.couchbase.repository.Collection;
+import org.springframework.data.repository.core.RepositoryInformation;
+
+class CrudMethodMetadataPostProcessorTests {
+
+	CrudMethodMetadata metadata;
+	Repository repository;
+
+	@BeforeEach
+	void beforeEach() {
+		RepositoryInformation information = (RepositoryInformation) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class[] { RepositoryInformation.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getRepositoryInterface":
+							return Repository.class;
+						case "isQueryMethod":
+							return false;
+						default:
+							throw new UnsupportedOperationException(method.getName());
+					}
+				});
+		CrudMethodMetadataPostProcessor processor = new CrudMethodMetadataPostProcessor();
+		metadata = processor.getCrudMethodMetadata();
+		ProxyFactory factory = new ProxyFactory(new RepositoryImpl());
+		factory.addInterface(Repository.class);
+		processor.postProcess(factory, information);
+		repository = (Repository) factory.getProxy();
+	}
+
+	@Test
+	void exposesMetadataOfRunningMethodOnly() {
+		assertEquals("annotated", repository.annotated());
+		assertNull(metadata.getMethod());
+		assertNull(metadata.getCollection());
+	}
+
+	@Test
+	void restoresMetadataOfCallerAfterNestedCall() {
+		assertEquals("annotated", repository.nested());
+		assertNull(metadata.getMethod());
+	}
+
+	@Test
+	void keepsMetadataOfConcurrentCallsApart() throws Exception {
+		Thread other = new Thread(() -> {
+			for (int i = 0; i < 1000; i++) {
+				assertEquals("annotated", repository.annotated());
+			}
+		});
+		other.start();
+		for (int i = 0; i < 1000; i++) {
+			assertEquals("plain", repository.plain());
+		}
+		other.join();
+	}
+
+	interface Repository {
+
+		@Collection("annotated")
+		String annotated();
+
+		String plain();
+
+		@Collection("annotated")
+		String nested();
+	}
+
+	class RepositoryImpl implements Repository {
+
+		@Override
+		public String annotated() {
+			return metadata.getCollection();
+		}
+
+		@Override
+		public String plain() {
+			return metadata.getMethod().getName();
+		}
+
+		@Override
+		public String nested() {
+			repository.plain();
+			return metadata.getCollection();
+		}
+	}
+
+}
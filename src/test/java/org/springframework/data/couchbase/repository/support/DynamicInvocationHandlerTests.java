@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.repository.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.couchbase.CouchbaseClientFactory;
+import org.springframework.data.couchbase.core.ReactiveCouchbaseTemplate;
+import org.springframework.data.couchbase.core.convert.MappingCouchbaseConverter;
+import org.springframework.data.couchbase.core.mapping.CouchbaseMappingContext;
+import org.springframework.data.couchbase.core.support.PseudoArgs;
+import org.springframework.data.couchbase.repository.ReactiveCouchbaseRepository;
+
+import com.couchbase.client.java.query.QueryOptions;
+
+class DynamicInvocationHandlerTests {
+
+	ReactiveCouchbaseTemplate template;
+	ReactiveCouchbaseRepository<Object, Object> repository;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void beforeEach() {
+		CouchbaseClientFactory clientFactory = (CouchbaseClientFactory) Proxy.newProxyInstance(
+				getClass().getClassLoader(), new Class[] { CouchbaseClientFactory.class }, (proxy, method, args) -> null);
+		template = new ReactiveCouchbaseTemplate(clientFactory,
+				new MappingCouchbaseConverter(new CouchbaseMappingContext()));
+		// findById sees the pseudoArgs when subscribed to, save when called
+		repository = (ReactiveCouchbaseRepository<Object, Object>) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class[] { ReactiveCouchbaseRepository.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getOperations":
+							return template;
+						case "findById":
+							return Mono.deferContextual(
+									ctx -> Mono.just(new PseudoArgs<>(template, ctx, null, null, null, Object.class)));
+						case "findAll":
+							return Flux.deferContextual(
+									ctx -> Flux.just(new PseudoArgs<>(template, ctx, null, null, null, Object.class)));
+						case "save":
+							return Mono.justOrEmpty(template.getPseudoArgs());
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return proxy == args[0];
+						default:
+							throw new UnsupportedOperationException(method.getName());
+					}
+				});
+	}
+
+	@Test
+	void propagatesPseudoArgsIntoDeferredPipelines() {
+		QueryOptions options = QueryOptions.queryOptions().timeout(Duration.ofSeconds(3));
+		ReactiveCouchbaseRepository<Object, Object> view = DynamicInvocationHandler.view(repository, options,
+				"collection", "scope");
+
+		Mono<?> found = view.findById("id");
+		Flux<?> all = view.findAll();
+
+		assertNull(template.getPseudoArgs());
+		PseudoArgs<?> args = (PseudoArgs<?>) found.subscribeOn(Schedulers.parallel()).block();
+		assertEquals("scope", args.getScope());
+		assertEquals("collection", args.getCollection());
+		QueryOptions used = (QueryOptions) args.getOptions();
+		assertNotSame(options, used);
+		assertEquals(Optional.of(Duration.ofSeconds(3)), used.build().timeout());
+		assertEquals("collection", ((PseudoArgs<?>) all.publishOn(Schedulers.parallel()).blockLast()).getCollection());
+	}
+
+	@Test
+	void bindsPseudoArgsWhileMethodRuns() {
+		ReactiveCouchbaseRepository<Object, Object> view = DynamicInvocationHandler.view(repository, null, "collection",
+				"scope");
+
+		PseudoArgs<?> args = (PseudoArgs<?>) view.save(new Object()).block();
+
+		assertEquals("collection", args.getCollection());
+		assertNull(template.getPseudoArgs());
+		assertNull(repository.save(new Object()).block());
+	}
+
+	@Test
+	void concurrentCallsSeeTheirOwnPseudoArgs() {
+		ReactiveCouchbaseRepository<Object, Object> first = DynamicInvocationHandler.view(repository, null, "first",
+				"one");
+		ReactiveCouchbaseRepository<Object, Object> second = DynamicInvocationHandler.view(repository, null, "second",
+				"two");
+
+		List<String> keyspaces = Flux.range(0, 500)
+				.flatMap(i -> Mono.defer(() -> (i % 2 == 0 ? first : second).findById(i))
+						.subscribeOn(Schedulers.parallel()).map(args -> (PseudoArgs<?>) args)
+						.map(args -> i % 2 + ":" + args.getScope() + "." + args.getCollection()))
+				.distinct().sort().collectList().block();
+
+		assertEquals(2, keyspaces.size());
+		assertEquals("0:one.first", keyspaces.get(0));
+		assertEquals("1:two.second", keyspaces.get(1));
+		assertNull(template.getPseudoArgs());
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.repository.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.couchbase.core.CouchbaseOperations;
+import org.springframework.data.couchbase.core.mapping.CouchbaseMappingContext;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
+import org.springframework.data.couchbase.domain.User;
+import org.springframework.data.couchbase.domain.UserRepository;
+
+class SimpleCouchbaseRepositoryTests {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void saveAllGoesThroughOverriddenSave() {
+		CouchbaseOperations operations = (CouchbaseOperations) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class[] { CouchbaseOperations.class }, (proxy, method, args) -> {
+					throw new UnsupportedOperationException(method.getName());
+				});
+		CouchbasePersistentEntity<User> entity = (CouchbasePersistentEntity<User>) new CouchbaseMappingContext()
+				.getRequiredPersistentEntity(User.class);
+		List<User> saved = new ArrayList<>();
+		SimpleCouchbaseRepository<User, String> repository = new SimpleCouchbaseRepository<User, String>(
+				new MappingCouchbaseEntityInformation<>(entity), operations, UserRepository.class) {
+			@Override
+			public <S extends User> S save(S entity) {
+				saved.add(entity);
+				return entity;
+			}
+		};
+		User first = new User("u1", "Dave", "Wilson");
+		User second = new User("u2", "Oliver", "Twist");
+
+		assertEquals(Arrays.asList(first, second), repository.saveAll(Arrays.asList(first, second)));
+		assertEquals(Arrays.asList(first, second), saved);
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012-2021 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.couchbase.repository.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.couchbase.core.query.View;
+
+class ViewPostProcessorTests {
+
+	ViewMetadataProvider provider = ViewPostProcessor.INSTANCE.getViewMetadataProvider();
+
+	@Test
+	void looksUpViewOfInvokedMethod() {
+		ProxyFactory factory = new ProxyFactory(new RepositoryImpl());
+		factory.addInterface(Repository.class);
+		ViewPostProcessor.INSTANCE.postProcess(factory, null);
+		Repository repository = (Repository) factory.getProxy();
+
+		assertEquals("byName", repository.annotated());
+		assertEquals("byName", repository.annotated());
+		assertNull(repository.plain());
+	}
+
+	interface Repository {
+
+		@View(designDocument = "users", viewName = "byName")
+		String annotated();
+
+		String plain();
+	}
+
+	class RepositoryImpl implements Repository {
+
+		@Override
+		public String annotated() {
+			return provider.getView().viewName();
+		}
+
+		@Override
+		public String plain() {
+			return provider.getView() == null ? null : "unexpected";
+		}
+	}
+
+}